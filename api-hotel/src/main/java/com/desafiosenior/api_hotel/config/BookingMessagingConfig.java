@@ -0,0 +1,33 @@
+package com.desafiosenior.api_hotel.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Exchange dos eventos de reserva publicados pelo OutboxRelay, com o tipo do evento como routing key. A fila duravel de
+ * reservas recebe todos os tipos; consumidores especificos ligam filas proprias apenas aos tipos que tratam.
+ */
+@Configuration
+public class BookingMessagingConfig {
+
+	@Bean
+	public TopicExchange bookingEventsExchange(@Value("${broker.exchange.booking.name}") String exchangeName) {
+		return new TopicExchange(exchangeName);
+	}
+
+	@Bean
+	public Queue bookingEventsQueue(@Value("${broker.queue.booking.name}") String queueName) {
+		return QueueBuilder.durable(queueName).build();
+	}
+
+	@Bean
+	public Binding bookingEventsBinding(TopicExchange bookingEventsExchange, Queue bookingEventsQueue) {
+		return BindingBuilder.bind(bookingEventsQueue).to(bookingEventsExchange).with("#");
+	}
+}
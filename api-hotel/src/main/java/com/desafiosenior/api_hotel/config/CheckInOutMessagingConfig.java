@@ -0,0 +1,77 @@
+package com.desafiosenior.api_hotel.config;
+
+import java.time.Duration;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.service.CheckInOutEventConsumer;
+
+/*
+ * Fila de checkin/checkout com DLQ, ligada ao exchange de reservas pelos tipos BookingCheckedIn e BookingCheckedOut, e o
+ * container em lotes do CheckInOutEventConsumer. O lote inteiro e confirmado com um
+ * unico ack ao fim do listener; prefetch deve ser >= batch-size para o lote encher sem esperar o receive-timeout.
+ * A fila <fila>.retry nao tem consumidor: a mensagem expira depois de retry.delay e volta para a fila principal.
+ */
+@Configuration
+public class CheckInOutMessagingConfig {
+
+	@Bean
+	public Queue checkInOutQueue(@Value("${broker.queue.checkinout.name}") String queueName) {
+		// Mensagens rejeitadas pelo container (sem requeue) tambem caem na DLQ
+		return QueueBuilder.durable(queueName).deadLetterExchange("")
+				.deadLetterRoutingKey(queueName + CheckInOutEventConsumer.DEAD_LETTER_SUFFIX).build();
+	}
+
+	@Bean
+	public Declarables checkInOutBindings(TopicExchange bookingEventsExchange, Queue checkInOutQueue) {
+		return new Declarables(
+				BindingBuilder.bind(checkInOutQueue).to(bookingEventsExchange).with(BookingEventType.CHECKED_IN.getType()),
+				BindingBuilder.bind(checkInOutQueue).to(bookingEventsExchange).with(BookingEventType.CHECKED_OUT.getType()));
+	}
+
+	@Bean
+	public Queue checkInOutRetryQueue(@Value("${broker.queue.checkinout.name}") String queueName,
+			@Value("${api.checkinout.consumer.retry.delay:PT5S}") Duration retryDelay) {
+		return QueueBuilder.durable(queueName + CheckInOutEventConsumer.RETRY_SUFFIX).ttl((int) retryDelay.toMillis())
+				.deadLetterExchange("").deadLetterRoutingKey(queueName).build();
+	}
+
+	@Bean
+	public Queue checkInOutDeadLetterQueue(@Value("${broker.queue.checkinout.name}") String queueName) {
+		return QueueBuilder.durable(queueName + CheckInOutEventConsumer.DEAD_LETTER_SUFFIX).build();
+	}
+
+	@Bean(name = CheckInOutEventConsumer.CONTAINER_FACTORY)
+	public SimpleRabbitListenerContainerFactory checkInOutListenerContainerFactory(
+			SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+			@Value("${api.checkinout.consumer.concurrency:2}") int concurrency,
+			@Value("${api.checkinout.consumer.max-concurrency:8}") int maxConcurrency,
+			@Value("${api.checkinout.consumer.prefetch:50}") int prefetch,
+			@Value("${api.checkinout.consumer.batch-size:25}") int batchSize,
+			@Value("${api.checkinout.consumer.batch-receive-timeout:PT0.2S}") Duration batchReceiveTimeout) {
+		var factory = new SimpleRabbitListenerContainerFactory();
+		configurer.configure(factory, connectionFactory);
+		factory.setConcurrentConsumers(concurrency);
+		factory.setMaxConcurrentConsumers(maxConcurrency);
+		factory.setPrefetchCount(Math.max(prefetch, batchSize));
+		factory.setBatchListener(true);
+		factory.setConsumerBatchEnabled(true);
+		factory.setBatchSize(batchSize);
+		factory.setReceiveTimeout(batchReceiveTimeout.toMillis());
+		factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+
+		return factory;
+	}
+}
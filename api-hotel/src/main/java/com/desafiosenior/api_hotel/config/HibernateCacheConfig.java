@@ -0,0 +1,64 @@
+package com.desafiosenior.api_hotel.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.desafiosenior.api_hotel.model.Room;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/*
+ * Cache de segundo nivel do Hibernate (JCache sobre Caffeine, local ao processo) para Room e para o cache de consultas.
+ * As regioes sao criadas aqui com limite de tamanho e TTL. Como o cache e local, so entram entidades com invalidacao
+ * entre instancias (RoomCatalog); User fica fora, pois outra instancia leria senha e perfil antigos ate o TTL.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(@Value("${api.jpa.cache.max-entries:10000}") long maxEntries,
+			@Value("${api.jpa.cache.ttl:PT10M}") Duration ttl) {
+		var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+		createIfAbsent(cacheManager, Room.CACHE_REGION, regionConfiguration(maxEntries, ttl));
+		createIfAbsent(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+				regionConfiguration(maxEntries, ttl));
+		// Os timestamps por tabela invalidam as consultas em cache: nao podem expirar antes dos resultados
+		createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+				regionConfiguration(maxEntries, null));
+
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, Duration ttl) {
+		var configuration = new CaffeineConfiguration<Object, Object>();
+		configuration.setMaximumSize(OptionalLong.of(maxEntries));
+		configuration.setExpireAfterWrite(ttl == null ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+		// O Hibernate ja guarda o estado desmontado (imutavel): copiar a cada leitura seria custo sem ganho
+		configuration.setStoreByValue(false);
+		configuration.setStatisticsEnabled(true);
+
+		return configuration;
+	}
+
+	private static void createIfAbsent(CacheManager cacheManager, String region,
+			CaffeineConfiguration<Object, Object> configuration) {
+		if (cacheManager.getCache(region) == null)
+			cacheManager.createCache(region, configuration);
+	}
+}
@@ -0,0 +1,35 @@
+package com.desafiosenior.api_hotel.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.desafiosenior.api_hotel.service.RoomCatalog;
+
+/*
+ * Cada instancia da API recebe as invalidacoes do catalogo de quartos em uma fila propria, exclusiva e removida ao
+ * encerrar a conexao, ligada a um exchange fanout.
+ */
+@Configuration
+public class RoomCatalogMessagingConfig {
+
+	@Bean
+	public FanoutExchange roomCatalogInvalidationExchange() {
+		return new FanoutExchange(RoomCatalog.INVALIDATION_EXCHANGE);
+	}
+
+	@Bean
+	public Queue roomCatalogInvalidationQueue() {
+		return new AnonymousQueue();
+	}
+
+	@Bean
+	public Binding roomCatalogInvalidationBinding(FanoutExchange roomCatalogInvalidationExchange,
+			Queue roomCatalogInvalidationQueue) {
+		return BindingBuilder.bind(roomCatalogInvalidationQueue).to(roomCatalogInvalidationExchange);
+	}
+}
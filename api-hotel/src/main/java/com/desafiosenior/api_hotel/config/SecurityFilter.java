@@ -7,7 +7,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.service.PrincipalCache;
 import com.desafiosenior.api_hotel.service.TokenService;
 
 import jakarta.servlet.FilterChain;
@@ -18,10 +20,12 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+	private final PrincipalCache principalCache;
 	private final UserRepository userRepository;
 	private final TokenService tokenService;
 
-	public SecurityFilter(UserRepository userRepository, TokenService tokenService) {
+	public SecurityFilter(UserRepository userRepository, TokenService tokenService, PrincipalCache principalCache) {
+		this.principalCache = principalCache;
 		this.userRepository = userRepository;
 		this.tokenService = tokenService;
 	}
@@ -32,11 +36,19 @@ public class SecurityFilter extends OncePerRequestFilter {
 		var token = this.recoverToken(request);
 
 		if (token != null) {
-			var login = tokenService.validateToken(token);
-			var user = userRepository.findByLogin(login);
+			try {
+				var login = tokenService.validateToken(token);
+				var user = principalCache.get(login, userRepository::findByLogin);
 
-			var authentication = new UsernamePasswordAuthenticationToken(user.get(), null, user.get().getAuthorities());
-			SecurityContextHolder.getContext().setAuthentication(authentication);
+				if (user.isPresent()) {
+					var authentication = new UsernamePasswordAuthenticationToken(user.get(), null,
+							user.get().getAuthorities());
+					SecurityContextHolder.getContext().setAuthentication(authentication);
+				}
+			} catch (JWTVerificationException ex) {
+				// Token invalido, expirado ou revogado: segue sem autenticacao e as rotas protegidas respondem 401
+				SecurityContextHolder.clearContext();
+			}
 		}
 
 		filterChain.doFilter(request, response);
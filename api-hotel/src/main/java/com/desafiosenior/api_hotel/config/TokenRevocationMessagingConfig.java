@@ -0,0 +1,34 @@
+package com.desafiosenior.api_hotel.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.desafiosenior.api_hotel.service.TokenRevocationService;
+
+/*
+ * Cada instancia da API recebe os tokens revogados pelas demais em uma fila propria, exclusiva e removida ao encerrar
+ * a conexao, ligada a um exchange fanout.
+ */
+@Configuration
+public class TokenRevocationMessagingConfig {
+
+	@Bean
+	public FanoutExchange tokenRevocationExchange() {
+		return new FanoutExchange(TokenRevocationService.REVOCATION_EXCHANGE);
+	}
+
+	@Bean
+	public Queue tokenRevocationQueue() {
+		return new AnonymousQueue();
+	}
+
+	@Bean
+	public Binding tokenRevocationBinding(FanoutExchange tokenRevocationExchange, Queue tokenRevocationQueue) {
+		return BindingBuilder.bind(tokenRevocationQueue).to(tokenRevocationExchange);
+	}
+}
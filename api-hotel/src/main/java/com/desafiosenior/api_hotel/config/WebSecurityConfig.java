@@ -1,8 +1,12 @@
 package com.desafiosenior.api_hotel.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,8 +15,11 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.desafiosenior.api_hotel.util.BCryptCostCalibrator;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
@@ -30,6 +37,7 @@ public class WebSecurityConfig {
 						.requestMatchers(HttpMethod.DELETE, "/bookings/{bookingId}").permitAll()
 						.requestMatchers(HttpMethod.DELETE, "/bookings").permitAll() //
 						.requestMatchers(HttpMethod.GET, "/bookings").permitAll()
+						.requestMatchers(HttpMethod.GET, "/bookings/export").permitAll()
 						.requestMatchers(HttpMethod.GET, "/bookings/{bookingId}").permitAll()
 						.requestMatchers(HttpMethod.GET, "/users/hosted/guests").permitAll()
 						.requestMatchers(HttpMethod.GET, "/users/unhosted/guests").permitAll()
@@ -40,16 +48,25 @@ public class WebSecurityConfig {
 						.requestMatchers(HttpMethod.PUT, "/bookings/checkout/{bookingId}").hasRole("USER_ATTENDANT")
 						.requestMatchers(HttpMethod.DELETE, "/rooms/{roomId}").permitAll()
 						.requestMatchers(HttpMethod.DELETE, "/rooms").permitAll()
+						.requestMatchers(HttpMethod.GET, "/rooms/availability").permitAll()
+						.requestMatchers(HttpMethod.GET, "/rooms/occupancy").permitAll()
+						.requestMatchers(HttpMethod.GET, "/rooms/export").permitAll()
 						.requestMatchers(HttpMethod.GET, "/rooms/{roomId}").permitAll()
 						.requestMatchers(HttpMethod.GET, "/rooms").permitAll()
 						.requestMatchers(HttpMethod.POST, "/rooms").permitAll()
 						.requestMatchers(HttpMethod.PUT, "/rooms/{roomId}").permitAll()
 						.requestMatchers(HttpMethod.DELETE, "/users/{userId}").permitAll()
 						.requestMatchers(HttpMethod.DELETE, "/users").permitAll()
+						.requestMatchers(HttpMethod.GET, "/users/export").permitAll()
+						.requestMatchers(HttpMethod.GET, "/users/suggest").hasRole("USER_ATTENDANT")
 						.requestMatchers(HttpMethod.GET, "/users/{userId}").permitAll()
 						.requestMatchers(HttpMethod.GET, "/users").permitAll()
 						.requestMatchers(HttpMethod.POST, "/users").permitAll()
 						.requestMatchers(HttpMethod.PUT, "/users/{userId}").permitAll()
+						.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+						.requestMatchers(HttpMethod.GET, "/actuator/metrics/**").hasRole("ADMIN")
+						.requestMatchers(HttpMethod.GET, "/admin/cache/statistics").hasRole("ADMIN")
+						.requestMatchers(HttpMethod.DELETE, "/admin/cache").hasRole("ADMIN")
 						// Abaixo foram feitos apenas para testes pessoais, se quiser, podem desconsiderar
 						.requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
 						.requestMatchers(HttpMethod.POST, "/auth/logout").permitAll()
@@ -57,6 +74,9 @@ public class WebSecurityConfig {
 						.requestMatchers(HttpMethod.GET, "/h2-console/**").permitAll()
 						.requestMatchers(HttpMethod.POST, "/h2-console/**").permitAll().anyRequest().authenticated())
 				.addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+				// Sem token valido a resposta e 401, nao o 403 padrao
+				.exceptionHandling(exceptions -> exceptions
+						.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
 				.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin())) // Para o uso pelo
 																										// browser do
 																										// h2-console
@@ -69,8 +89,11 @@ public class WebSecurityConfig {
 		return authenticationConfiguration.getAuthenticationManager();
 	}
 
+	// Hashes com custo menor que o calibrado sao refeitos no proximo login (AuthenticationService.updatePassword)
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${api.security.password.target-hash-time:PT0.25S}") Duration targetHashTime,
+			@Value("${api.security.password.min-cost:10}") int minCost,
+			@Value("${api.security.password.max-cost:14}") int maxCost) {
+		return new BCryptPasswordEncoder(BCryptCostCalibrator.calibrate(targetHashTime, minCost, maxCost));
 	}
 }
@@ -0,0 +1,33 @@
+package com.desafiosenior.api_hotel.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.desafiosenior.api_hotel.model.CacheStatisticsDto;
+import com.desafiosenior.api_hotel.service.SecondLevelCacheService;
+
+@RestController
+@RequestMapping("/admin/cache")
+public class AdminCacheController {
+	private final SecondLevelCacheService secondLevelCacheService;
+
+	public AdminCacheController(SecondLevelCacheService secondLevelCacheService) {
+		this.secondLevelCacheService = secondLevelCacheService;
+	}
+
+	@GetMapping("/statistics")
+	public ResponseEntity<CacheStatisticsDto> getStatistics() {
+		return ResponseEntity.status(HttpStatus.OK).body(secondLevelCacheService.getStatistics());
+	}
+
+	@DeleteMapping()
+	public ResponseEntity<Object> evictAll() {
+		secondLevelCacheService.evictAll();
+
+		return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+	}
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -39,7 +40,8 @@ public class AuthenticationController {
 	}
 	
     @PostMapping("/logout")
-    public ResponseEntity<Object> logout() {
+    public ResponseEntity<Object> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authenticationService.logout(authorization);
         SecurityContextHolder.clearContext();
 
         return ResponseEntity.status(HttpStatus.OK).body("Logout successful");
@@ -15,7 +15,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceConflictException;
@@ -23,9 +25,12 @@ import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
 import com.desafiosenior.api_hotel.model.Booking;
 import com.desafiosenior.api_hotel.model.BookingCreateDto;
 import com.desafiosenior.api_hotel.model.BookingUpdateDto;
-import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.BookingView;
+import com.desafiosenior.api_hotel.model.KeysetPage;
+import com.desafiosenior.api_hotel.model.RoomView;
 import com.desafiosenior.api_hotel.service.BookingService;
 import com.desafiosenior.api_hotel.service.RoomService;
+import com.desafiosenior.api_hotel.util.NdjsonStreamer;
 
 import jakarta.validation.Valid;
 
@@ -35,10 +40,12 @@ import jakarta.validation.Valid;
 public class BookingController {
 
 	private final BookingService bookingService;
+	private final NdjsonStreamer ndjsonStreamer;
 	private final RoomService roomService;
 
-	public BookingController(BookingService bookingService, RoomService roomService) {
+	public BookingController(BookingService bookingService, RoomService roomService, NdjsonStreamer ndjsonStreamer) {
 		this.bookingService = bookingService;
+		this.ndjsonStreamer = ndjsonStreamer;
 		this.roomService = roomService;
 	}
 
@@ -125,7 +132,7 @@ public class BookingController {
 
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> findOneBooking(@PathVariable UUID bookingId) {
-		var bookingDb = bookingService.findByBookingId(bookingId);
+		var bookingDb = bookingService.findViewByBookingId(bookingId);
 
 		if (bookingDb.isEmpty()) {
 			throw new ResourceNotFoundException("Reserva não encontrado para o ID: " + bookingId);
@@ -134,9 +141,22 @@ public class BookingController {
 		return ResponseEntity.status(HttpStatus.OK).body(bookingDb.get());
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		return ResponseEntity.status(HttpStatus.OK).contentType(NdjsonStreamer.APPLICATION_NDJSON)
+				.body(ndjsonStreamer.stream(bookingService::exportAll));
+	}
+
 	@GetMapping()
-	public ResponseEntity<List<Booking>> listAll() {
-		return ResponseEntity.status(HttpStatus.OK).body(bookingService.findAll());
+	public ResponseEntity<List<BookingView>> listAll(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		var page = bookingService.findPage(cursor, size);
+		var response = ResponseEntity.status(HttpStatus.OK);
+
+		if (page.nextCursor() != null)
+			response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+
+		return response.body(page.content());
 	}
 
 	@PostMapping()
@@ -147,15 +167,19 @@ public class BookingController {
 			Integer numberRoom = bookingCreateDto.roomDto().number();
 			
 			if (numberRoom == null) {
-				Optional<Room> room = roomService.findByRoomId(bookingCreateDto.roomDto().roomId());
-				numberRoom = room.get().getNumber();
+				Optional<RoomView> room = roomService.findCachedByRoomId(bookingCreateDto.roomDto().roomId());
+				numberRoom = room.get().number();
 			}
 			
 			throw new ResourceConflictException("Reserva já existe para o período de: " + bookingCreateDto.dateCheckin()
 					+ " para o quarto: " + numberRoom);
 		}
 
-		return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+		// O quarto da reserva e uma referencia nao carregada: o numero vem do catalogo
+		var roomNumber = booking.getRoom() == null ? null
+				: roomService.findCachedByRoomId(booking.getRoom().getRoomId()).map(RoomView::number).orElse(null);
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(BookingView.from(booking, roomNumber));
 	}
 
 	@PutMapping("/{bookingId}")
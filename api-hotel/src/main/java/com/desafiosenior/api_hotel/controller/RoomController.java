@@ -1,8 +1,12 @@
 package com.desafiosenior.api_hotel.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,14 +17,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceConflictException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.Room;
 import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomOccupancyDto;
+import com.desafiosenior.api_hotel.model.RoomView;
 import com.desafiosenior.api_hotel.service.RoomService;
+import com.desafiosenior.api_hotel.util.NdjsonStreamer;
 
 import jakarta.validation.Valid;
 
@@ -28,9 +38,11 @@ import jakarta.validation.Valid;
 @RestController
 @RequestMapping("/rooms")
 public class RoomController {
+	private final NdjsonStreamer ndjsonStreamer;
 	private final RoomService roomService;
 
-	public RoomController(RoomService roomService) {
+	public RoomController(RoomService roomService, NdjsonStreamer ndjsonStreamer) {
+		this.ndjsonStreamer = ndjsonStreamer;
 		this.roomService = roomService;
 	}
 
@@ -52,9 +64,21 @@ public class RoomController {
 		return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
 	}
 
+	@GetMapping("/availability")
+	public ResponseEntity<List<RoomDto>> findAvailableRooms(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+		return ResponseEntity.status(HttpStatus.OK).body(roomService.findAvailable(from, to));
+	}
+
+	@GetMapping("/occupancy")
+	public ResponseEntity<List<RoomOccupancyDto>> getOccupancyGrid(@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+		return ResponseEntity.status(HttpStatus.OK).body(roomService.getOccupancyGrid(from, to));
+	}
+
 	@GetMapping("/{roomId}")
 	public ResponseEntity<Object> findOneRoom(@PathVariable UUID roomId) {
-		var roomDb = roomService.findByRoomId(roomId);
+		var roomDb = roomService.findViewByRoomId(roomId);
 
 		if (roomDb.isEmpty()) {
 			throw new ResourceNotFoundException("Quarto não encontrado para o ID: " + roomId);
@@ -63,9 +87,22 @@ public class RoomController {
 		return ResponseEntity.status(HttpStatus.OK).body(roomDb.get());
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		return ResponseEntity.status(HttpStatus.OK).contentType(NdjsonStreamer.APPLICATION_NDJSON)
+				.body(ndjsonStreamer.stream(roomService::exportAll));
+	}
+
 	@GetMapping()
-	public ResponseEntity<List<Room>> listAll() {
-		return ResponseEntity.status(HttpStatus.OK).body(roomService.findAll());
+	public ResponseEntity<List<RoomView>> listAll(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		var page = roomService.findPage(cursor, size);
+		var response = ResponseEntity.status(HttpStatus.OK);
+
+		if (page.nextCursor() != null)
+			response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+
+		return response.body(page.content());
 	}
 
 	@PostMapping()
@@ -76,7 +113,7 @@ public class RoomController {
 			throw new ResourceConflictException("Número de quarto já existente na DB: " + roomDto.number());
 		}
 
-		return ResponseEntity.status(HttpStatus.CREATED).body(room);
+		return ResponseEntity.status(HttpStatus.CREATED).body(RoomView.from(room));
 	}
 
 	@PutMapping("/{roomId}")
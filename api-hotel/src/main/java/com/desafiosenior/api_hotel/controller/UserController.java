@@ -1,7 +1,6 @@
 package com.desafiosenior.api_hotel.controller;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
@@ -9,20 +8,27 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
-import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.model.GuestBookingView;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.UserDto;
 import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
 import com.desafiosenior.api_hotel.model.UserRole;
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.model.UserView;
 import com.desafiosenior.api_hotel.service.UserService;
+import com.desafiosenior.api_hotel.util.NdjsonStreamer;
 
 import jakarta.validation.Valid;
 
@@ -31,9 +37,11 @@ import jakarta.validation.Valid;
 @RequestMapping("/users")
 public class UserController {
 
+	private final NdjsonStreamer ndjsonStreamer;
 	private final UserService userService;
 
-	public UserController(UserService userService) {
+	public UserController(UserService userService, NdjsonStreamer ndjsonStreamer) {
+		this.ndjsonStreamer = ndjsonStreamer;
 		this.userService = userService;
 	}
 
@@ -56,10 +64,13 @@ public class UserController {
 	}
 	
 	@GetMapping("/hosted/guests")
-	public ResponseEntity<List<Optional<User>>> findGuestsStayingAtHotel(@RequestBody @Valid UserFinderStandardParamsDto userHostedDto) {
+	public ResponseEntity<List<GuestBookingView>> findGuestsStayingAtHotel(
+			@ModelAttribute @Valid UserFinderStandardParamsDto queryParams,
+			@RequestBody(required = false) @Valid UserFinderStandardParamsDto bodyParams) {
+		var userHostedDto = guestFinderParams(queryParams, bodyParams);
 		var guestsDb = userService.findByGuestStayingAtHotel(userHostedDto, UserRole.GUEST.getRole());
 
-		if (guestsDb.get(0).isEmpty()) {
+		if (guestsDb.isEmpty()) {
 			throw new ResourceNotFoundException("Hóspede não encontrado: " + userHostedDto.toString());
 		}
 
@@ -67,20 +78,34 @@ public class UserController {
 	}
 	
 	@GetMapping("/unhosted/guests")
-	public ResponseEntity<List<Optional<User>>> findGuestsWhithBookingButNotIsHostedAtHotelYet(@RequestBody @Valid UserFinderStandardParamsDto userHostedDto) {
-		var guestsDb = userService.findByGuestWhithBookingButNotIsHostedAtHotelYet(userHostedDto, UserRole.GUEST.getRole());
-
-		if (guestsDb.get(0).isEmpty()) {
-			throw new ResourceNotFoundException("Hóspede não encontrado: " + userHostedDto.toString());
+	public ResponseEntity<List<GuestBookingView>> findGuestsWhithBookingButNotIsHostedAtHotelYet(
+			@ModelAttribute @Valid UserFinderStandardParamsDto queryParams,
+			@RequestBody(required = false) @Valid UserFinderStandardParamsDto bodyParams) {
+		var userUnhostedDto = guestFinderParams(queryParams, bodyParams);
+		var guestsDb = userService.findByGuestWhithBookingButNotIsHostedAtHotelYet(userUnhostedDto, UserRole.GUEST.getRole());
+
+		if (guestsDb.isEmpty()) {
+			throw new ResourceNotFoundException("Hóspede não encontrado: " + userUnhostedDto.toString());
 		}
 
 		return ResponseEntity.status(HttpStatus.OK).body(guestsDb);
 	}
-	
-	
+
+	// Query string e o formato preferido para GET; o corpo segue aceito por compatibilidade com os clientes atuais
+	private static UserFinderStandardParamsDto guestFinderParams(UserFinderStandardParamsDto queryParams,
+			UserFinderStandardParamsDto bodyParams) {
+		return bodyParams != null ? bodyParams : queryParams;
+	}
+
+	@GetMapping("/suggest")
+	public ResponseEntity<List<UserSuggestion>> suggestGuests(@RequestParam String q,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.status(HttpStatus.OK).body(userService.suggestGuests(q, limit));
+	}
+
 	@GetMapping("/{userId}")
 	public ResponseEntity<Object> findOneUser(@PathVariable UUID userId) {
-		var userDb = userService.findById(userId);
+		var userDb = userService.findViewByUserId(userId);
 
 		if (userDb.isEmpty()) {
 			throw new ResourceNotFoundException("User não encontrado para o ID: " + userId);
@@ -89,14 +114,27 @@ public class UserController {
 		return ResponseEntity.status(HttpStatus.OK).body(userDb.get());
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		return ResponseEntity.status(HttpStatus.OK).contentType(NdjsonStreamer.APPLICATION_NDJSON)
+				.body(ndjsonStreamer.stream(userService::exportAll));
+	}
+
 	@GetMapping()
-	public ResponseEntity<List<User>> listAll() {
-		return ResponseEntity.status(HttpStatus.OK).body(userService.findAll());
+	public ResponseEntity<List<UserView>> listAll(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		var page = userService.findPage(cursor, size);
+		var response = ResponseEntity.status(HttpStatus.OK);
+
+		if (page.nextCursor() != null)
+			response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+
+		return response.body(page.content());
 	}
 
 	@PostMapping()
 	public ResponseEntity<Object> save(@RequestBody @Valid UserDto userDto) {
-		return ResponseEntity.status(HttpStatus.CREATED).body(userService.save(userDto));
+		return ResponseEntity.status(HttpStatus.CREATED).body(UserView.from(userService.save(userDto)));
 	}
 
 	@PutMapping("/{userId}")
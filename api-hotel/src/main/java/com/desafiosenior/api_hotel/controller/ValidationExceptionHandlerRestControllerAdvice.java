@@ -9,6 +9,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -23,6 +24,7 @@ import com.desafiosenior.api_hotel.exception.ControllerValidationExceptionHandle
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceConflictException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
+import com.desafiosenior.api_hotel.exception.ServiceUnavailableException;
 
 import jakarta.validation.UnexpectedTypeException;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ValidationExceptionHandlerRestControllerAdvice implements ControllerValidationExceptionHandler {
 	
 	private static final String SQL_STATE_ERROR = "23505";
+	private static final String SQL_STATE_EXCLUSION_VIOLATION = "23P01";
 	private final MessageSource messageSource;
 	private String detailKey;
 	private String errorKey;
@@ -87,6 +90,13 @@ public class ValidationExceptionHandlerRestControllerAdvice implements Controlle
 						LocaleContextHolder.getLocale());
 				errorDetails.put(errorKey, errorMessage);
 
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
+			} else if (SQL_STATE_EXCLUSION_VIOLATION.equals(sqlState)) {
+				// Constraint bookings_room_stay_excl: reservas ativas sobrepostas para o mesmo quarto
+				errorMessage = messageSource.getMessage("error.postgresql.exclusion.violation.23P01.409.conflict", null,
+						LocaleContextHolder.getLocale());
+				errorDetails.put(errorKey, errorMessage);
+
 				return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
 			} else {
 				errorMessage = messageSource.getMessage(
@@ -205,6 +215,13 @@ public class ValidationExceptionHandlerRestControllerAdvice implements Controlle
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
 	}
 	
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+		Map<String, String> errorDetails = getMessageDetailsTemplate(ex);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(errorDetails);
+	}
+
 	@ExceptionHandler(RuntimeException.class)
 	public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
 		Map<String, String> errorDetails = getMessageDetailsTemplate(ex);
@@ -0,0 +1,85 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import org.postgresql.copy.CopyIn;
+
+/*
+ * Escreve linhas CSV em um COPY ... FROM STDIN aberto, em blocos de BUFFER_SIZE caracteres: o volume gerado nunca fica
+ * inteiro em memoria. Campo nulo vira vazio sem aspas (NULL no formato csv do Postgres).
+ */
+final class CopyWriter implements AutoCloseable {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+	private final CopyIn copyIn;
+	private boolean firstField = true;
+	private long rows;
+
+	CopyWriter(CopyIn copyIn) {
+		this.copyIn = copyIn;
+	}
+
+	CopyWriter field(Object value) {
+		if (!firstField)
+			buffer.append(',');
+
+		firstField = false;
+
+		if (value == null)
+			return this;
+
+		var text = value.toString();
+
+		if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0)
+			buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+		else
+			buffer.append(text);
+
+		return this;
+	}
+
+	void endRow() {
+		buffer.append('\n');
+		firstField = true;
+		rows++;
+
+		if (buffer.length() >= BUFFER_SIZE)
+			flush();
+	}
+
+	long rows() {
+		return rows;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (!copyIn.isActive())
+			return;
+
+		flush();
+		copyIn.endCopy();
+	}
+
+	void cancel() throws SQLException {
+		if (copyIn.isActive())
+			copyIn.cancelCopy();
+	}
+
+	// Chamado dentro dos Consumers do gerador, que nao declaram excecoes checadas
+	private void flush() {
+		if (buffer.isEmpty())
+			return;
+
+		var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+
+		try {
+			copyIn.writeToCopy(bytes, 0, bytes.length);
+		} catch (SQLException ex) {
+			throw new IllegalStateException("Falha ao enviar linhas para o COPY: " + ex.getMessage(), ex);
+		}
+
+		buffer.setLength(0);
+	}
+}
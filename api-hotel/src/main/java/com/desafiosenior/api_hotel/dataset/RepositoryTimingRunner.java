@@ -0,0 +1,269 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.UserRole;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Mede cada metodo declarado em BookingRepository e UserRepository contra o banco carregado (normalmente pela massa do
+ * SyntheticDatasetLoader, com 10k, 1M ou 10M reservas). Os argumentos vem de uma reserva com checkin feito, entao as
+ * buscas de hospedados e por quarto retornam linhas. Cada execucao roda em uma transacao propria (sem reaproveitar o
+ * contexto de persistencia); streams sao percorridos ate o fim. Ativado pelo profile "repository-timing":
+ *
+ *   java -jar api-hotel.jar --spring.profiles.active=dataset,repository-timing --api.dataset.bookings=1000000
+ */
+@Component
+@Profile("repository-timing")
+@Order(2)
+@Slf4j
+public class RepositoryTimingRunner implements ApplicationRunner {
+	private static final int PAGE_SIZE = 50;
+
+	private final BookingRepository bookingRepository;
+	private final Pattern include;
+	private final int repetitions;
+	private final TransactionTemplate transactionTemplate;
+	private final UserRepository userRepository;
+	private final int warmup;
+
+	public RepositoryTimingRunner(BookingRepository bookingRepository, UserRepository userRepository,
+			PlatformTransactionManager transactionManager, @Value("${api.repository-timing.warmup:3}") int warmup,
+			@Value("${api.repository-timing.repetitions:20}") int repetitions,
+			@Value("${api.repository-timing.include:.*}") String include) {
+		if (warmup < 0 || repetitions < 1)
+			throw new IllegalArgumentException("api.repository-timing.warmup deve ser >= 0 e repetitions >= 1, recebidos: "
+					+ warmup + " e " + repetitions);
+
+		this.bookingRepository = bookingRepository;
+		this.include = Pattern.compile(include);
+		this.repetitions = repetitions;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.userRepository = userRepository;
+		this.warmup = warmup;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		var sample = transactionTemplate.execute(status -> bookingRepository
+				.findFirstByStatus(BookingStatus.CHECKIN.getStatus()).map(Sample::of));
+
+		if (sample == null || sample.isEmpty()) {
+			log.warn("Nenhuma reserva com checkin feito para servir de amostra: carregue a massa com o profile dataset");
+			return;
+		}
+
+		var timings = new ArrayList<Timing>();
+
+		for (var probe : probes(sample.get())) {
+			if (include.matcher(probe.name()).find())
+				timings.add(time(probe));
+		}
+
+		var report = new StringBuilder(String.format("%n%-70s %10s %10s %10s %10s%n", "metodo", "linhas", "p50 ms",
+				"p95 ms", "max ms"));
+		timings.forEach(timing -> report.append(timing).append(System.lineSeparator()));
+		log.info("Tempos dos repositorios ({} execucoes apos {} de aquecimento):{}", repetitions, warmup, report);
+	}
+
+	private Timing time(Probe probe) {
+		var nanos = new long[repetitions];
+		long rows = 0;
+
+		try {
+			for (int i = 0; i < warmup; i++)
+				transactionTemplate.execute(status -> rows(probe.query().get()));
+
+			for (int i = 0; i < repetitions; i++) {
+				var start = System.nanoTime();
+				rows = transactionTemplate.execute(status -> rows(probe.query().get()));
+				nanos[i] = System.nanoTime() - start;
+			}
+		} catch (RuntimeException ex) {
+			log.warn("{} falhou: {}", probe.name(), ex.getMessage());
+			return Timing.failed(probe.name());
+		}
+
+		Arrays.sort(nanos);
+		return new Timing(probe.name(), rows, percentile(nanos, 0.50), percentile(nanos, 0.95),
+				nanos[nanos.length - 1] / 1_000_000.0);
+	}
+
+	private List<Probe> probes(Sample sample) {
+		var now = LocalDateTime.now();
+		var guest = UserRole.GUEST.getRole();
+		var checkin = BookingStatus.CHECKIN.getStatus();
+		var namePrefix = NameNormalizer.toPrefixPattern(sample.name().substring(0, Math.min(5, sample.name().length())));
+		var page = PageRequest.ofSize(PAGE_SIZE);
+
+		return List.of(
+				probe("BookingRepository.findByDateCheckin", () -> bookingRepository.findByDateCheckin(sample.dateCheckin())),
+				probe("BookingRepository.findByDateCheckinBeforeAndDateCheckoutIsNull",
+						() -> bookingRepository.findByDateCheckinBeforeAndDateCheckoutIsNull(now)),
+				probe("BookingRepository.findByDateCheckinBeforeAndDateCheckoutIsNullAndRoom_RoomId",
+						() -> bookingRepository.findByDateCheckinBeforeAndDateCheckoutIsNullAndRoom_RoomId(now,
+								sample.roomId())),
+				probe("BookingRepository.findByDateCheckinLessThanAndDateCheckoutGreaterThanEqual",
+						() -> bookingRepository.findByDateCheckinLessThanAndDateCheckoutGreaterThanEqual(now, now)),
+				probe("BookingRepository.findByDateCheckinLessThanAndDateCheckoutGreaterThanEqualAndRoom_RoomId",
+						() -> bookingRepository.findByDateCheckinLessThanAndDateCheckoutGreaterThanEqualAndRoom_RoomId(
+								now, now, sample.roomId())),
+				probe("BookingRepository.findByBookingId", () -> bookingRepository.findByBookingId(sample.bookingId())),
+				probe("BookingRepository.findByUser_UserIdAndDateCheckin",
+						() -> bookingRepository.findByUser_UserIdAndDateCheckin(sample.userId(), sample.dateCheckin())),
+				probe("BookingRepository.findByUser_UserIdAndDateCheckinAndDateCheckout",
+						() -> bookingRepository.findByUser_UserIdAndDateCheckinAndDateCheckout(sample.userId(),
+								sample.dateCheckin(), sample.dateCheckout())),
+				probe("BookingRepository.findByStatus", () -> bookingRepository.findByStatus(checkin)),
+				probe("BookingRepository.findByStatusAndRoom",
+						() -> bookingRepository.findByStatusAndRoom(checkin, sample.booking().getRoom())),
+				probe("BookingRepository.findByStatusAndDateCheckin",
+						() -> bookingRepository.findByStatusAndDateCheckin(checkin, sample.dateCheckin())),
+				probe("BookingRepository.findByDateCheckinAndRoom",
+						() -> bookingRepository.findByDateCheckinAndRoom(sample.dateCheckin(), sample.booking().getRoom())),
+				probe("BookingRepository.findByDateCheckinAndRoom_RoomId",
+						() -> bookingRepository.findByDateCheckinAndRoom_RoomId(sample.dateCheckin(), sample.roomId())),
+				probe("BookingRepository.findByUser_UserId", () -> bookingRepository.findByUser_UserId(sample.userId())),
+				probe("BookingRepository.findIntervalsByStatusIn",
+						() -> bookingRepository.findIntervalsByStatusIn(BookingStatus.ACTIVE_STATUSES)),
+				probe("BookingRepository.existsActiveOverlap",
+						() -> bookingRepository.existsActiveOverlap(sample.roomId(), sample.dateCheckin(),
+								sample.dateCheckout(), new UUID(0, 0))),
+				probe("BookingRepository.findViewByBookingId",
+						() -> bookingRepository.findViewByBookingId(sample.bookingId())),
+				probe("BookingRepository.findFirstPage", () -> bookingRepository.findFirstPage(page)),
+				probe("BookingRepository.findPageAfter", () -> bookingRepository
+						.findPageAfter(sample.booking().getDateRegister(), sample.bookingId(), page)),
+				probe("BookingRepository.streamAllOrdered", bookingRepository::streamAllOrdered),
+				probe("UserRepository.findByLogin", () -> userRepository.findByLogin(sample.login())),
+				probe("UserRepository.findByUserId", () -> userRepository.findByUserId(sample.userId())),
+				probe("UserRepository.findByPhoneDdiAndPhoneDddAndPhoneAndRole",
+						() -> userRepository.findByPhoneDdiAndPhoneDddAndPhoneAndRole(sample.phoneDdi(),
+								sample.phoneDdd(), sample.phone(), guest)),
+				probe("UserRepository.findByNormalizedNameAndRole",
+						() -> userRepository.findByNormalizedNameAndRole(NameNormalizer.normalize(sample.name()), guest)),
+				probe("UserRepository.findByDocumentAndRole",
+						() -> userRepository.findByDocumentAndRole(sample.document(), guest)),
+				probe("UserRepository.findHostedGuestsByDocument",
+						() -> userRepository.findHostedGuestsByDocument(sample.document(), guest, checkin, now)),
+				probe("UserRepository.findHostedGuestsByName",
+						() -> userRepository.findHostedGuestsByName(namePrefix, guest, checkin, now)),
+				probe("UserRepository.findHostedGuestsByPhone",
+						() -> userRepository.findHostedGuestsByPhone(sample.phoneDdi(), sample.phoneDdd(),
+								sample.phone(), guest, checkin, now)),
+				probe("UserRepository.findUnhostedGuestsByDocument",
+						() -> userRepository.findUnhostedGuestsByDocument(sample.document(), guest,
+								BookingStatus.SCHEDULED.getStatus(), now)),
+				probe("UserRepository.findUnhostedGuestsByName",
+						() -> userRepository.findUnhostedGuestsByName(namePrefix, guest,
+								BookingStatus.SCHEDULED.getStatus(), now)),
+				probe("UserRepository.findUnhostedGuestsByPhone",
+						() -> userRepository.findUnhostedGuestsByPhone(sample.phoneDdi(), sample.phoneDdd(),
+								sample.phone(), guest, BookingStatus.SCHEDULED.getStatus(), now)),
+				probe("UserRepository.findViewByUserId", () -> userRepository.findViewByUserId(sample.userId())),
+				probe("UserRepository.findFirstPage", () -> userRepository.findFirstPage(page)),
+				probe("UserRepository.findPageAfter",
+						() -> userRepository.findPageAfter(sample.userDateRegister(), sample.userId(), page)),
+				probe("UserRepository.streamAllOrdered", userRepository::streamAllOrdered),
+				probe("UserRepository.streamSuggestionsByRole", () -> userRepository.streamSuggestionsByRole(guest)));
+	}
+
+	private static Probe probe(String name, Supplier<Object> query) {
+		return new Probe(name, query);
+	}
+
+	// Linhas retornadas; streams sao consumidos aqui, dentro da transacao
+	private static long rows(Object result) {
+		if (result instanceof Stream<?> stream) {
+			try (stream) {
+				return stream.count();
+			}
+		}
+
+		if (result instanceof Collection<?> collection)
+			return collection.size();
+
+		if (result instanceof Optional<?> optional)
+			return optional.isPresent() ? 1 : 0;
+
+		return result == null ? 0 : 1;
+	}
+
+	private static double percentile(long[] sortedNanos, double percentile) {
+		var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+	}
+
+	private record Probe(String name, Supplier<Object> query) {
+	}
+
+	private record Sample(Booking booking, String name, String document, String login, String phoneDdi,
+			String phoneDdd, String phone, LocalDateTime userDateRegister) {
+
+		static Sample of(Booking booking) {
+			var user = booking.getUser();
+			booking.getRoom().getNumber();
+
+			return new Sample(booking, user.getName(), user.getDocument(), user.getLogin(), user.getPhoneDdi(),
+					user.getPhoneDdd(), user.getPhone(), user.getDateRegister());
+		}
+
+		UUID bookingId() {
+			return booking.getBookingId();
+		}
+
+		UUID roomId() {
+			return booking.getRoom().getRoomId();
+		}
+
+		UUID userId() {
+			return booking.getUser().getUserId();
+		}
+
+		LocalDateTime dateCheckin() {
+			return booking.getDateCheckin();
+		}
+
+		LocalDateTime dateCheckout() {
+			return booking.getDateCheckout();
+		}
+	}
+
+	private record Timing(String name, long rows, double p50, double p95, double max) {
+
+		static Timing failed(String name) {
+			return new Timing(name, -1, Double.NaN, Double.NaN, Double.NaN);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-70s %10d %10.2f %10.2f %10.2f", name, rows, p50, p95, max);
+		}
+	}
+}
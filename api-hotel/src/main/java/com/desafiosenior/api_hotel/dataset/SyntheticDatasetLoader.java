@@ -0,0 +1,166 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.dataset.SyntheticHotelData.UserRow;
+import com.desafiosenior.api_hotel.service.RoomCatalog;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Carrega o SyntheticHotelData nas tabelas rooms, users e bookings via COPY FROM STDIN, antes dos indices em memoria
+ * serem carregados (ApplicationReadyEvent). Ativado pelo profile "dataset", por exemplo:
+ *
+ *   java -jar api-hotel.jar --spring.profiles.active=dataset --api.dataset.bookings=1000000 --api.dataset.truncate=true
+ *
+ * Com truncate=false a carga exige rooms e bookings vazias (os numeros de quarto e documentos gerados colidiriam).
+ * api.dataset.rooms vai ate RoomCatalog.MAX_NUMBER: quartos com numero maior nao seriam encontrados pela API.
+ * Os hospedes gerados e o atendente SyntheticHotelData.ATTENDANT_LOGIN entram com a senha SyntheticHotelData.PASSWORD.
+ */
+@Component
+@Profile("dataset")
+@Order(1)
+@Slf4j
+public class SyntheticDatasetLoader implements ApplicationRunner {
+	private final long bookings;
+	private final DataSource dataSource;
+	private final int guests;
+	private final int rooms;
+	private final long seed;
+	private final boolean truncate;
+
+	public SyntheticDatasetLoader(DataSource dataSource, @Value("${api.dataset.seed:42}") long seed,
+			@Value("${api.dataset.rooms:300}") int rooms, @Value("${api.dataset.guests:20000}") int guests,
+			@Value("${api.dataset.bookings:10000}") long bookings,
+			@Value("${api.dataset.truncate:false}") boolean truncate) {
+		if (rooms < 1 || rooms > RoomCatalog.MAX_NUMBER)
+			throw new IllegalArgumentException(
+					"api.dataset.rooms deve estar entre 1 e " + RoomCatalog.MAX_NUMBER + ", recebido: " + rooms);
+
+		this.bookings = bookings;
+		this.dataSource = dataSource;
+		this.guests = guests;
+		this.rooms = rooms;
+		this.seed = seed;
+		this.truncate = truncate;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws SQLException {
+		var data = new SyntheticHotelData(seed, rooms, guests, bookings, LocalDateTime.now());
+		var start = System.nanoTime();
+
+		try (var connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			prepare(connection);
+
+			copy(connection, "rooms", "room_id, number, date_register, date_last_change", data::rooms,
+					(writer, room) -> writer.field(room.roomId()).field(room.number()).field(room.dateRegister())
+							.field(room.dateRegister()));
+			copy(connection, "users", "user_id, name, normalized_name, document, email, login, password, phone_ddi, "
+					+ "phone_ddd, phone, role, date_register, date_last_change", data::guests,
+					(writer, guest) -> writer.field(guest.userId()).field(guest.name()).field(guest.normalizedName())
+							.field(guest.document()).field(guest.email()).field(guest.login()).field(guest.password())
+							.field(guest.phoneDdi()).field(guest.phoneDdd()).field(guest.phone()).field(guest.role())
+							.field(guest.dateRegister()).field(guest.dateRegister()));
+			insertAttendant(connection, data.attendant());
+			// A constraint bookings_room_stay_excl valida cada linha: uma sobreposicao gerada aborta a carga
+			copy(connection, "bookings", "booking_id, room_id, user_id, date_checkin, date_checkout, date_last_change, "
+					+ "date_register, status", data::bookings,
+					(writer, booking) -> writer.field(booking.bookingId()).field(booking.roomId())
+							.field(booking.userId()).field(booking.dateCheckin()).field(booking.dateCheckout())
+							.field(booking.dateLastChange()).field(booking.dateRegister()).field(booking.status()));
+
+			try (var statement = connection.createStatement()) {
+				statement.execute("ANALYZE rooms");
+				statement.execute("ANALYZE users");
+				statement.execute("ANALYZE bookings");
+			}
+		}
+
+		log.info("Massa sintetica (semente {}) carregada em {} s: {} quartos, {} hospedes, {} reservas", seed,
+				(System.nanoTime() - start) / 1_000_000_000, rooms, guests, data.bookingCount());
+	}
+
+	private void prepare(Connection connection) throws SQLException {
+		try (var statement = connection.createStatement()) {
+			if (truncate) {
+				statement.execute("TRUNCATE bookings, outbox_events, processed_checkinout_events");
+				statement.execute("DELETE FROM rooms");
+				statement.execute("DELETE FROM users WHERE role = 'G'");
+				connection.commit();
+				return;
+			}
+
+			try (var resultSet = statement.executeQuery(
+					"SELECT EXISTS (SELECT 1 FROM rooms) OR EXISTS (SELECT 1 FROM bookings)")) {
+				resultSet.next();
+
+				if (resultSet.getBoolean(1))
+					throw new IllegalStateException(
+							"rooms/bookings ja possuem dados: use api.dataset.truncate=true para substitui-los");
+			}
+		}
+	}
+
+	// O atendente nao e removido pelo truncate: so e inserido se o login ainda nao existir
+	private void insertAttendant(Connection connection, UserRow attendant) throws SQLException {
+		try (var statement = connection.prepareStatement("INSERT INTO users (user_id, name, normalized_name, document, "
+				+ "email, login, password, phone_ddi, phone_ddd, phone, role, date_register, date_last_change) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (login) DO NOTHING")) {
+			statement.setObject(1, attendant.userId());
+			statement.setString(2, attendant.name());
+			statement.setString(3, attendant.normalizedName());
+			statement.setString(4, attendant.document());
+			statement.setString(5, attendant.email());
+			statement.setString(6, attendant.login());
+			statement.setString(7, attendant.password());
+			statement.setString(8, attendant.phoneDdi());
+			statement.setString(9, attendant.phoneDdd());
+			statement.setString(10, attendant.phone());
+			statement.setString(11, attendant.role());
+			statement.setObject(12, attendant.dateRegister());
+			statement.setObject(13, attendant.dateRegister());
+			statement.executeUpdate();
+			connection.commit();
+		}
+	}
+
+	// Uma transacao por tabela; em caso de falha o COPY e cancelado e a tabela fica como estava
+	private <T> void copy(Connection connection, String table, String columns, Consumer<Consumer<T>> rows,
+			BiConsumer<CopyWriter, T> writeRow) throws SQLException {
+		var copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+				.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+		var writer = new CopyWriter(copyIn);
+		var start = System.nanoTime();
+
+		try {
+			rows.accept(row -> {
+				writeRow.accept(writer, row);
+				writer.endRow();
+			});
+			writer.close();
+			connection.commit();
+		} catch (RuntimeException | SQLException ex) {
+			writer.cancel();
+			connection.rollback();
+			throw ex;
+		}
+
+		log.info("{}: {} linhas em {} ms", table, writer.rows(), (System.nanoTime() - start) / 1_000_000);
+	}
+}
@@ -0,0 +1,256 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.UserRole;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+/*
+ * Gera quartos, hospedes e reservas sinteticos de forma deterministica: cada linha depende apenas da semente e do seu
+ * indice, entao a mesma semente produz o mesmo banco e nada precisa ficar em memoria alem da linha corrente.
+ *
+ * As reservas de cada quarto formam uma linha do tempo sem sobreposicao entre as ativas (respeitando a constraint
+ * bookings_room_stay_excl): estadias passadas encerradas (F), a estadia corrente com checkin feito (C, parte delas em
+ * aberto, sem checkout) e reservas futuras agendadas (S) ou canceladas (F). Checkin as 14h e checkout as 12h.
+ */
+public final class SyntheticHotelData {
+	public static final String ATTENDANT_LOGIN = "atendente";
+	public static final String PASSWORD = "dataset123";
+	// BCrypt de PASSWORD: calcular um hash por hospede tornaria a geracao de milhoes de linhas inviavel
+	static final String PASSWORD_HASH = "$2a$10$13BFQl0.3kqaEVi.jT82leDTX8mb1clO2z1YvgSwlhCkBEL25EMqa";
+
+	static final double OCCUPANCY = 0.7;
+	static final double OPEN_ENDED_SHARE = 0.1;
+	static final double FUTURE_SHARE = 0.2;
+	static final double CANCELLED_SHARE = 0.08;
+	static final double REPEAT_GUEST_SHARE = 0.3;
+
+	private static final LocalTime CHECKIN_TIME = LocalTime.of(14, 0);
+	private static final LocalTime CHECKOUT_TIME = LocalTime.of(12, 0);
+	private static final long REGISTER_SPAN_DAYS = 3 * 365;
+	// Noites por estadia: 1 a 14, concentradas em estadias curtas
+	private static final int[] NIGHTS = { 1, 2, 3, 4, 5, 6, 7, 10, 14 };
+	private static final int[] NIGHTS_WEIGHT = { 20, 25, 20, 12, 8, 5, 4, 4, 2 };
+	private static final String[] FIRST_NAMES = { "Ana", "Antônio", "Beatriz", "Bruno", "Camila", "Carlos", "Conceição",
+			"Daniel", "Eduarda", "Fábio", "Fernanda", "Gabriel", "Helena", "João", "José", "Júlia", "Lúcia", "Luiz",
+			"Marcos", "Maria", "Mônica", "Otávio", "Paula", "Pedro", "Rafael", "Sérgio", "Tânia", "Vinícius" };
+	private static final String[] SURNAMES = { "Almeida", "Araújo", "Barbosa", "Cardoso", "Castro", "Costa", "Dias",
+			"Fernandes", "Gomes", "Gonçalves", "Lima", "Martins", "Medeiros", "Melo", "Oliveira", "Pereira", "Ribeiro",
+			"Rocha", "Santos", "Silva", "Sousa", "Teixeira" };
+	private static final String[] DDDS = { "11", "21", "31", "41", "47", "48", "51", "61", "71", "81", "85" };
+
+	public record RoomRow(UUID roomId, int number, LocalDateTime dateRegister) {
+	}
+
+	public record UserRow(UUID userId, String name, String normalizedName, String document, String email, String login,
+			String password, String phoneDdi, String phoneDdd, String phone, String role, LocalDateTime dateRegister) {
+	}
+
+	public record BookingRow(UUID bookingId, UUID roomId, UUID userId, LocalDateTime dateCheckin,
+			LocalDateTime dateCheckout, LocalDateTime dateLastChange, LocalDateTime dateRegister, String status) {
+	}
+
+	private final long bookings;
+	private final int guests;
+	private final LocalDateTime now;
+	private final LocalDateTime registerStart;
+	private final int rooms;
+	private final long seed;
+
+	public SyntheticHotelData(long seed, int rooms, int guests, long bookings, LocalDateTime now) {
+		if (rooms < 1 || guests < 1 || bookings < 0)
+			throw new IllegalArgumentException("Sao necessarios ao menos 1 quarto e 1 hospede");
+
+		this.bookings = bookings;
+		this.guests = guests;
+		this.now = now.truncatedTo(ChronoUnit.SECONDS);
+		this.registerStart = this.now.minusDays(REGISTER_SPAN_DAYS);
+		this.rooms = rooms;
+		this.seed = seed;
+	}
+
+	public void rooms(Consumer<RoomRow> consumer) {
+		for (int index = 0; index < rooms; index++)
+			consumer.accept(new RoomRow(roomId(index), index + 1, roomRegister(index)));
+	}
+
+	public void guests(Consumer<UserRow> consumer) {
+		for (int index = 0; index < guests; index++) {
+			var random = random(Kind.GUEST, index);
+			var name = pick(random, FIRST_NAMES) + " " + pick(random, SURNAMES) + " " + pick(random, SURNAMES);
+			var login = "g" + String.format("%011d", index);
+
+			consumer.accept(new UserRow(guestId(index), name, NameNormalizer.normalize(name), document(index),
+					login + "@example.com", login, PASSWORD_HASH, "55", pick(random, DDDS),
+					"9" + String.format("%08d", random.nextInt(100_000_000)), UserRole.GUEST.getRole(),
+					guestRegister(index)));
+		}
+	}
+
+	// Atendente para os fluxos que exigem USER_ATTENDANT (checkin/checkout); documento de 14 digitos nao colide
+	public UserRow attendant() {
+		var name = "Atendente Recepcao";
+
+		return new UserRow(uuidV7(registerStart, Kind.ATTENDANT, 0), name, NameNormalizer.normalize(name),
+				"00000000000001", ATTENDANT_LOGIN + "@example.com", ATTENDANT_LOGIN, PASSWORD_HASH, "55", "11",
+				"900000000", UserRole.USER_ATTENDANT.getRole(), registerStart);
+	}
+
+	public void bookings(Consumer<BookingRow> consumer) {
+		for (int room = 0; room < rooms; room++)
+			roomTimeline(room, consumer);
+	}
+
+	public long bookingCount() {
+		return bookings;
+	}
+
+	public UUID roomId(int index) {
+		return uuidV7(roomRegister(index), Kind.ROOM, index);
+	}
+
+	public UUID guestId(int index) {
+		return uuidV7(guestRegister(index), Kind.GUEST, index);
+	}
+
+	// Reservas do quarto: a corrente (se houver), as passadas em direcao ao passado e as futuras a partir dela
+	private void roomTimeline(int room, Consumer<BookingRow> consumer) {
+		var count = bookings / rooms + (room < bookings % rooms ? 1 : 0);
+		var random = random(Kind.BOOKING, room);
+		var roomId = roomId(room);
+		var today = now.toLocalDate();
+		var sequence = 0L;
+
+		var occupied = count > 0 && random.nextDouble() < OCCUPANCY;
+		var openEnded = occupied && random.nextDouble() < OPEN_ENDED_SHARE;
+		var remaining = count - (occupied ? 1 : 0);
+		// Reserva em aberto ocupa o quarto indefinidamente: nao ha reservas futuras ativas depois dela
+		var futureCount = openEnded ? 0 : Math.round(remaining * FUTURE_SHARE);
+		var pastCount = remaining - futureCount;
+
+		// Sem hospede no quarto, a ultima estadia passada terminou ate ontem
+		var pastCursor = today.minusDays(1);
+		var futureCursor = today;
+
+		if (occupied) {
+			var checkinDay = today.minusDays(random.nextInt(5));
+			var nights = Math.max(nights(random), (int) ChronoUnit.DAYS.between(checkinDay, today) + 1);
+			var checkin = checkinDay.atTime(CHECKIN_TIME);
+
+			if (checkin.isAfter(now))
+				checkin = now.minusHours(1);
+
+			var checkout = openEnded ? null : checkinDay.plusDays(nights).atTime(CHECKOUT_TIME);
+			consumer.accept(booking(random, room, sequence++, roomId, checkin, checkout, BookingStatus.CHECKIN));
+
+			pastCursor = checkinDay;
+			futureCursor = checkinDay.plusDays(nights);
+		}
+
+		for (long i = 0; i < pastCount; i++) {
+			var checkoutDay = pastCursor.minusDays(random.nextInt(4));
+			var checkinDay = checkoutDay.minusDays(nights(random));
+			consumer.accept(booking(random, room, sequence++, roomId, checkinDay.atTime(CHECKIN_TIME),
+					checkoutDay.atTime(CHECKOUT_TIME), BookingStatus.FREE));
+			pastCursor = checkinDay;
+		}
+
+		for (long i = 0; i < futureCount; i++) {
+			var checkinDay = futureCursor.plusDays(random.nextInt(6) + (futureCursor.equals(today) ? 1 : 0));
+			var checkoutDay = checkinDay.plusDays(nights(random));
+			var status = random.nextDouble() < CANCELLED_SHARE ? BookingStatus.FREE : BookingStatus.SCHEDULED;
+			consumer.accept(booking(random, room, sequence++, roomId, checkinDay.atTime(CHECKIN_TIME),
+					checkoutDay.atTime(CHECKOUT_TIME), status));
+			futureCursor = checkoutDay;
+		}
+	}
+
+	private BookingRow booking(SplittableRandom random, int room, long sequence, UUID roomId, LocalDateTime checkin,
+			LocalDateTime checkout, BookingStatus status) {
+		var dateRegister = min(checkin.minusDays(1 + random.nextInt(60)).minusMinutes(random.nextInt(1440)), now);
+		var dateLastChange = switch (status) {
+		case CHECKIN -> min(checkin, now);
+		case FREE -> min(checkout == null ? checkin : checkout, now);
+		case SCHEDULED -> dateRegister;
+		};
+
+		return new BookingRow(uuidV7(dateRegister, Kind.BOOKING, ((long) room << 32) | sequence), roomId,
+				guestId(guestIndex(random)), checkin, checkout, max(dateLastChange, dateRegister), dateRegister,
+				status.getStatus());
+	}
+
+	// Parte das reservas vem de hospedes frequentes (os primeiros 10%)
+	private int guestIndex(SplittableRandom random) {
+		var frequentGuests = Math.max(1, guests / 10);
+		return random.nextDouble() < REPEAT_GUEST_SHARE ? random.nextInt(frequentGuests) : random.nextInt(guests);
+	}
+
+	private static int nights(SplittableRandom random) {
+		var draw = random.nextInt(100);
+
+		for (int i = 0; i < NIGHTS.length; i++) {
+			draw -= NIGHTS_WEIGHT[i];
+
+			if (draw < 0)
+				return NIGHTS[i];
+		}
+
+		return NIGHTS[NIGHTS.length - 1];
+	}
+
+	// 11 digitos distintos por hospede: 7919 e primo com 10^11, entao a multiplicacao modular e uma permutacao
+	static String document(int index) {
+		return String.format("%011d", Math.floorMod((index + 1) * 7919L + 12_345_678L, 100_000_000_000L));
+	}
+
+	private LocalDateTime roomRegister(int index) {
+		return registerStart.plusMinutes(index);
+	}
+
+	private LocalDateTime guestRegister(int index) {
+		return registerStart.plusSeconds(index * (REGISTER_SPAN_DAYS * 86_400 / guests));
+	}
+
+	private SplittableRandom random(Kind kind, long index) {
+		return new SplittableRandom(mix(seed ^ mix(kind.ordinal() * 0x9E3779B97F4A7C15L + index)));
+	}
+
+	// UUIDv7 com o timestamp do registro e bits aleatorios derivados da semente: deterministico e ordenado no indice
+	private UUID uuidV7(LocalDateTime dateRegister, Kind kind, long index) {
+		var bits = mix(seed ^ mix((kind.ordinal() + 7L) * 0xBF58476D1CE4E5B9L + index));
+		var millis = dateRegister.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+		return new UUID((millis << 16) | 0x7000L | (bits >>> 52), 0x8000000000000000L | (mix(bits) >>> 2));
+	}
+
+	// SplitMix64
+	private static long mix(long value) {
+		var z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+		return first.isBefore(second) ? first : second;
+	}
+
+	private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+		return first.isAfter(second) ? first : second;
+	}
+
+	private enum Kind {
+		ROOM, GUEST, BOOKING, ATTENDANT
+	}
+}
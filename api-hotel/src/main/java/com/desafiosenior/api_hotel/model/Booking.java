@@ -3,11 +3,14 @@ package com.desafiosenior.api_hotel.model;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.desafiosenior.api_hotel.util.IdGenerators;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
@@ -21,7 +24,10 @@ import lombok.NonNull;
 import lombok.Setter;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+		@Index(name = "idx_bookings_room_status_checkin", columnList = "room_id, status, date_checkin"),
+		@Index(name = "idx_bookings_user_status_checkin", columnList = "user_id, status, date_checkin"),
+		@Index(name = "idx_bookings_date_register_id", columnList = "date_register, booking_id") })
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "bookingId")
@@ -33,7 +39,7 @@ public class Booking {
 	@Setter
 	private UUID bookingId;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "room_id", referencedColumnName = "roomId")
 	@JsonIgnoreProperties({ "dateLastChange", "dateRegister", "number", "bookings" })
 	@Getter
@@ -41,14 +47,14 @@ public class Booking {
 	@NonNull
 	private Room room;
 	
-	@OneToOne
+	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "payment_id", referencedColumnName = "paymentId")
 	@JsonIgnoreProperties({ "dateLastChange", "dateRegister", "number" })
 	@Getter
 	@Setter
 	private Payment payment;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", referencedColumnName = "userId")
 	@JsonIgnoreProperties({
 	    "userId", "dateLastChange", "dateRegister", "email", "login", "password", 
@@ -95,7 +101,7 @@ public class Booking {
 	@PrePersist
 	public void generateUUID() {
 		if (this.bookingId == null) {
-			this.bookingId = UUID.randomUUID();
+			this.bookingId = IdGenerators.next();
 		}
 	}
 }
@@ -0,0 +1,19 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/*
+ * Corpo publicado em broker.queue.booking.name. eventId identifica o evento (reentregas repetem o mesmo id) e
+ * occurredAt e o momento da alteracao, nao o da publicacao.
+ */
+public record BookingEvent(UUID eventId, String type, UUID bookingId, UUID roomId, UUID userId, String status,
+		LocalDateTime dateCheckin, LocalDateTime dateCheckout, LocalDateTime occurredAt) {
+
+	public static BookingEvent of(UUID eventId, BookingEventType type, Booking booking, LocalDateTime occurredAt) {
+		return new BookingEvent(eventId, type.getType(), booking.getBookingId(),
+				booking.getRoom() == null ? null : booking.getRoom().getRoomId(),
+				booking.getUser() == null ? null : booking.getUser().getUserId(), booking.getStatus(),
+				booking.getDateCheckin(), booking.getDateCheckout(), occurredAt);
+	}
+}
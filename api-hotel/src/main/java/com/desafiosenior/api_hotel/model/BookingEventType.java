@@ -0,0 +1,23 @@
+package com.desafiosenior.api_hotel.model;
+
+import lombok.Getter;
+
+public enum BookingEventType {
+	CREATED("BookingCreated"),
+	UPDATED("BookingUpdated"), // alteracao de datas ou status pelo PUT
+	CANCELLED("BookingCancelled"), // cancelamento ou exclusao da reserva
+	CHECKED_IN("BookingCheckedIn"),
+	CHECKED_OUT("BookingCheckedOut");
+
+	@Getter
+	private String type;
+
+	BookingEventType(String type) {
+		this.type = type;
+	}
+
+	// Tipos ligados tambem a broker.queue.checkinout.name (CheckInOutMessagingConfig)
+	public static boolean isCheckInOut(String type) {
+		return CHECKED_IN.type.equals(type) || CHECKED_OUT.type.equals(type);
+	}
+}
@@ -0,0 +1,7 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BookingInterval(UUID bookingId, UUID roomId, LocalDateTime dateCheckin, LocalDateTime dateCheckout) {
+}
@@ -1,5 +1,7 @@
 package com.desafiosenior.api_hotel.model;
 
+import java.util.List;
+
 import lombok.Getter;
 
 public enum BookingStatus {
@@ -7,10 +9,17 @@ public enum BookingStatus {
 	FREE("F"), // reserva cancelada ou checkout
 	SCHEDULED("S");
 
+	// Status que ocupam o quarto no periodo da reserva
+	public static final List<String> ACTIVE_STATUSES = List.of(CHECKIN.status, SCHEDULED.status);
+
 	@Getter
 	private String status;
 
 	BookingStatus(String status) {
 		this.status = status;
 	}
+
+	public static boolean isActive(String status) {
+		return status != null && ACTIVE_STATUSES.contains(status.toUpperCase());
+	}
 }
@@ -0,0 +1,32 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projecao plana de leitura: serializar nao dispara cargas de Room, User ou Payment
+public record BookingView(UUID bookingId, UUID roomId, Integer roomNumber, UUID userId, String userName,
+		String userDocument, UUID paymentId, LocalDateTime dateCheckin, LocalDateTime dateCheckout,
+		LocalDateTime dateLastChange, LocalDateTime dateRegister, String status) {
+
+	public static final String SELECT = "SELECT new com.desafiosenior.api_hotel.model.BookingView(b.bookingId, r.roomId, "
+			+ "r.number, u.userId, u.name, u.document, p.paymentId, b.dateCheckin, b.dateCheckout, b.dateLastChange, "
+			+ "b.dateRegister, b.status) FROM Booking b JOIN b.room r JOIN b.user u LEFT JOIN b.payment p ";
+
+	public static BookingView from(Booking booking) {
+		var room = booking.getRoom();
+		return from(booking, room == null ? null : room.getNumber());
+	}
+
+	// Para reservas cujo quarto e uma referencia nao carregada (getReferenceById): o numero e informado por quem chama
+	public static BookingView from(Booking booking, Integer roomNumber) {
+		var room = booking.getRoom();
+		var user = booking.getUser();
+		var payment = booking.getPayment();
+
+		return new BookingView(booking.getBookingId(), room == null ? null : room.getRoomId(),
+				roomNumber, user == null ? null : user.getUserId(),
+				user == null ? null : user.getName(), user == null ? null : user.getDocument(),
+				payment == null ? null : payment.getPaymentId(), booking.getDateCheckin(), booking.getDateCheckout(),
+				booking.getDateLastChange(), booking.getDateRegister(), booking.getStatus());
+	}
+}
@@ -0,0 +1,10 @@
+package com.desafiosenior.api_hotel.model;
+
+public record CacheRegionStatisticsDto(String region, long hitCount, long missCount, long putCount, double hitRatio,
+		long elementCount) {
+
+	public static double hitRatio(long hitCount, long missCount) {
+		var total = hitCount + missCount;
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+}
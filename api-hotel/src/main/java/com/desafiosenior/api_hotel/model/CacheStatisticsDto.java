@@ -0,0 +1,9 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.util.List;
+
+// Estatisticas acumuladas do cache de segundo nivel desde o start da instancia
+public record CacheStatisticsDto(long hitCount, long missCount, long putCount, double hitRatio,
+		long queryCacheHitCount, long queryCacheMissCount, long queryCachePutCount, double queryCacheHitRatio,
+		List<CacheRegionStatisticsDto> regions) {
+}
@@ -0,0 +1,14 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Hospede junto da reserva que o qualifica como hospedado ou com reserva futura
+public record GuestBookingView(UUID userId, String name, String document, String phoneDdi, String phoneDdd,
+		String phone, UUID bookingId, UUID roomId, Integer roomNumber, LocalDateTime dateCheckin,
+		LocalDateTime dateCheckout, String status) {
+
+	public static final String SELECT = "SELECT new com.desafiosenior.api_hotel.model.GuestBookingView(u.userId, u.name, "
+			+ "u.document, u.phoneDdi, u.phoneDdd, u.phone, b.bookingId, r.roomId, r.number, b.dateCheckin, "
+			+ "b.dateCheckout, b.status) FROM User u JOIN u.bookings b JOIN b.room r WHERE u.role = :role AND b.status = :status ";
+}
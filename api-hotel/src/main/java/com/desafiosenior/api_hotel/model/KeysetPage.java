@@ -0,0 +1,18 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.desafiosenior.api_hotel.util.KeysetCursor;
+
+// nextCursor nulo indica que nao ha proxima pagina
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	public static <T> KeysetPage<T> of(List<T> content, int pageSize, Function<T, KeysetCursor> cursorOf) {
+		if (content.size() < pageSize)
+			return new KeysetPage<>(content, null);
+
+		return new KeysetPage<>(content, cursorOf.apply(content.get(content.size() - 1)).encode());
+	}
+}
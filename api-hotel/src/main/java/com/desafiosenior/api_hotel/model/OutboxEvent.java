@@ -0,0 +1,60 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * Evento gravado na mesma transacao da alteracao da reserva e removido pelo OutboxRelay apos a confirmacao do broker.
+ * O id sequencial define a ordem de publicacao.
+ */
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Getter
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, updatable = false)
+	private UUID eventId;
+
+	@Column(nullable = false, updatable = false)
+	private UUID aggregateId;
+
+	@Column(nullable = false, updatable = false, length = 30)
+	private String eventType;
+
+	@Column(nullable = false, updatable = false, length = 4000)
+	private String payload;
+
+	@Column(nullable = false, updatable = false, length = 29)
+	private LocalDateTime dateRegister;
+
+	public OutboxEvent(UUID eventId, UUID aggregateId, String eventType, String payload, LocalDateTime dateRegister) {
+		this.eventId = eventId;
+		this.aggregateId = aggregateId;
+		this.eventType = eventType;
+		this.payload = payload;
+		this.dateRegister = dateRegister;
+	}
+
+	// Evento ja persistido, com o id atribuido pelo banco
+	public OutboxEvent(Long id, UUID eventId, UUID aggregateId, String eventType, String payload,
+			LocalDateTime dateRegister) {
+		this(eventId, aggregateId, eventType, payload, dateRegister);
+		this.id = id;
+	}
+}
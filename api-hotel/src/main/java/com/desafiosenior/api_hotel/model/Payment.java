@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.desafiosenior.api_hotel.util.IdGenerators;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -56,7 +58,7 @@ public class Payment {
 	@PrePersist
 	public void generateUUID() {
 		if (this.paymentId == null) {
-			this.paymentId = UUID.randomUUID();
+			this.paymentId = IdGenerators.next();
 		}
 	}
 
@@ -0,0 +1,40 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+// Checkin/checkout ja tratado pelo consumidor: uma reserva faz no maximo um checkin e um checkout
+@Entity
+@Table(name = "processed_checkinout_events", indexes = {
+		@Index(name = "idx_processed_checkinout_events_date_register", columnList = "date_register") })
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "eventKey")
+public class ProcessedCheckInOutEvent {
+
+	@Id
+	@Column(updatable = false, nullable = false, length = 60)
+	@Getter
+	@NonNull
+	private String eventKey;
+
+	@Getter
+	@NonNull
+	@Column(length = 29)
+	private LocalDateTime dateRegister;
+
+	// bookingId + tipo do evento
+	public static String keyOf(BookingEvent event) {
+		return event.bookingId() + ":" + event.type();
+	}
+}
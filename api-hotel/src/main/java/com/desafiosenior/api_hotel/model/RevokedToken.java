@@ -0,0 +1,34 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+		@Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at") })
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "jti")
+public class RevokedToken {
+
+	@Id
+	@Column(updatable = false, nullable = false, length = 36)
+	@Getter
+	@NonNull
+	private String jti;
+
+	@Getter
+	@NonNull
+	@Column(length = 29)
+	private LocalDateTime expiresAt;
+}
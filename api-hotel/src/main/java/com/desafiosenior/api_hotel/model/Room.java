@@ -4,12 +4,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.desafiosenior.api_hotel.util.IdGenerators;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -21,11 +27,16 @@ import lombok.NonNull;
 import lombok.Setter;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+		@Index(name = "idx_rooms_date_register_id", columnList = "date_register, room_id") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Room.CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "roomId")
 public class Room {
+	public static final String CACHE_REGION = "rooms";
+
 	@Id
 	@Column(updatable = false, nullable = false)
 	@Getter
@@ -58,7 +69,7 @@ public class Room {
 	@PrePersist
 	public void generateUUID() {
 		if (this.roomId == null) {
-			this.roomId = UUID.randomUUID();
+			this.roomId = IdGenerators.next();
 		}
 	}
 
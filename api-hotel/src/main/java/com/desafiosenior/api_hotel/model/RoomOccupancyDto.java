@@ -0,0 +1,9 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// occupancy: um caractere por noite a partir de 'from', '1' = ocupada e '0' = livre
+public record RoomOccupancyDto(UUID roomId, Integer number, LocalDate from, LocalDate to, String occupancy,
+		int occupiedNights) {
+}
@@ -0,0 +1,14 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RoomView(UUID roomId, Integer number, LocalDateTime dateLastChange, LocalDateTime dateRegister) {
+
+	public static final String SELECT = "SELECT new com.desafiosenior.api_hotel.model.RoomView(r.roomId, r.number, "
+			+ "r.dateLastChange, r.dateRegister) FROM Room r ";
+
+	public static RoomView from(Room room) {
+		return new RoomView(room.getRoomId(), room.getNumber(), room.getDateLastChange(), room.getDateRegister());
+	}
+}
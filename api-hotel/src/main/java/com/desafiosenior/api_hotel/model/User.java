@@ -9,12 +9,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.desafiosenior.api_hotel.util.IdGenerators;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -26,7 +28,8 @@ import lombok.NonNull;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+		@Index(name = "idx_users_date_register_id", columnList = "date_register, user_id") })
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "userId")
@@ -78,6 +81,12 @@ public class User implements UserDetails {
 	@Column(length = 60)
 	private String name;
 
+	// Mantido por UserService a partir de name (NameNormalizer); usado nas buscas por nome
+	@Getter
+	@Setter
+	@Column(name = "normalized_name", length = 60)
+	private String normalizedName;
+
 	@Getter
 	@Setter
 	@Column(length = 70)
@@ -114,7 +123,7 @@ public class User implements UserDetails {
 	@PrePersist
 	public void generateUUID() {
 		if (this.userId == null) {
-			this.userId = UUID.randomUUID();
+			this.userId = IdGenerators.next();
 		}
 	}
 
@@ -0,0 +1,16 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.util.UUID;
+
+// Item do typeahead de hospedes: apenas o necessario para a recepcao identificar o hospede
+public record UserSuggestion(UUID userId, String name, String document, String phoneDdi, String phoneDdd,
+		String phone) {
+
+	public static final String SELECT = "SELECT new com.desafiosenior.api_hotel.model.UserSuggestion(u.userId, "
+			+ "u.name, u.document, u.phoneDdi, u.phoneDdd, u.phone) FROM User u ";
+
+	public static UserSuggestion from(User user) {
+		return new UserSuggestion(user.getUserId(), user.getName(), user.getDocument(), user.getPhoneDdi(),
+				user.getPhoneDdd(), user.getPhone());
+	}
+}
@@ -0,0 +1,19 @@
+package com.desafiosenior.api_hotel.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Nao expoe password nem as reservas do usuario
+public record UserView(UUID userId, String name, String document, String email, String login, String phone,
+		String phoneDdd, String phoneDdi, String role, LocalDateTime dateLastChange, LocalDateTime dateRegister) {
+
+	public static final String SELECT = "SELECT new com.desafiosenior.api_hotel.model.UserView(u.userId, u.name, "
+			+ "u.document, u.email, u.login, u.phone, u.phoneDdd, u.phoneDdi, u.role, u.dateLastChange, u.dateRegister) "
+			+ "FROM User u ";
+
+	public static UserView from(User user) {
+		return new UserView(user.getUserId(), user.getName(), user.getDocument(), user.getEmail(), user.getLogin(),
+				user.getPhone(), user.getPhoneDdd(), user.getPhoneDdi(), user.getRole(), user.getDateLastChange(),
+				user.getDateRegister());
+	}
+}
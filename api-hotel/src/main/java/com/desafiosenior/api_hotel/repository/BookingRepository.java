@@ -1,16 +1,27 @@
 package com.desafiosenior.api_hotel.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingInterval;
+import com.desafiosenior.api_hotel.model.BookingView;
 import com.desafiosenior.api_hotel.model.Room;
 import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
@@ -34,6 +45,9 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 	
 	List<Optional<Booking>> findByStatus(String status);
 
+	// LIMIT 1: uma reserva qualquer com o status, sem carregar todas
+	Optional<Booking> findFirstByStatus(String status);
+
 	List<Booking> findByStatusAndRoom(String status, Room room);
 
 	Optional<Booking> findByStatusAndDateCheckin(String status, LocalDateTime dateCheckin);
@@ -43,4 +57,38 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 	List<Booking> findByDateCheckinAndRoom_RoomId(LocalDateTime dateCheckin, UUID roomId);
 
 	List<Booking> findByUser_UserId(UUID userId);  
+
+	@Query("SELECT new com.desafiosenior.api_hotel.model.BookingInterval(b.bookingId, b.room.roomId, b.dateCheckin, b.dateCheckout) "
+			+ "FROM Booking b WHERE b.status IN :statuses")
+	List<BookingInterval> findIntervalsByStatusIn(Collection<String> statuses);
+
+	/*
+	 * Mesma regra da constraint bookings_room_stay_excl, usando o seu indice GiST. Chamado com o advisory lock do quarto:
+	 * sem reservas do quarto sendo gravadas em paralelo, o resultado vale ate o commit. Checkout nulo e periodo em aberto.
+	 */
+	@Query(value = "SELECT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = :roomId AND b.status IN ('S', 'C') "
+			+ "AND b.booking_id <> :ignoredBookingId "
+			+ "AND b.stay && tsrange(CAST(:dateCheckin AS timestamp), CAST(:dateCheckout AS timestamp), '[)'))",
+			nativeQuery = true)
+	boolean existsActiveOverlap(UUID roomId, LocalDateTime dateCheckin, LocalDateTime dateCheckout,
+			UUID ignoredBookingId);
+
+	// Advisory lock do quarto ate o fim da transacao; o SELECT externo evita mapear o retorno void da funcao
+	@Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:namespace, :key)) AS l", nativeQuery = true)
+	Integer lockRoom(int namespace, int key);
+
+	@Query(BookingView.SELECT + "WHERE b.bookingId = :bookingId")
+	Optional<BookingView> findViewByBookingId(UUID bookingId);
+
+	@Query(BookingView.SELECT + "ORDER BY b.dateRegister, b.bookingId")
+	List<BookingView> findFirstPage(Pageable pageable);
+
+	// Comparacao por linha, e nao com OR, para o Postgres poder usar idx_bookings_date_register_id como intervalo
+	@Query(BookingView.SELECT + "WHERE (b.dateRegister, b.bookingId) > (:dateRegister, :bookingId) "
+			+ "ORDER BY b.dateRegister, b.bookingId")
+	List<BookingView> findPageAfter(LocalDateTime dateRegister, UUID bookingId, Pageable pageable);
+
+	@Query(BookingView.SELECT + "ORDER BY b.dateRegister, b.bookingId")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaStreams.FETCH_SIZE))
+	Stream<BookingView> streamAllOrdered();
 }
@@ -0,0 +1,25 @@
+package com.desafiosenior.api_hotel.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/*
+	 * Trava o lote mais antigo ate o fim da transacao do relay. Sem SKIP LOCKED de proposito: um segundo relay espera em
+	 * vez de pular para eventos mais novos da mesma reserva, o que quebraria a ordem por reserva.
+	 */
+	@Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+	List<OutboxEvent> lockOldest(int limit);
+
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+	int deleteByIds(List<Long> ids);
+}
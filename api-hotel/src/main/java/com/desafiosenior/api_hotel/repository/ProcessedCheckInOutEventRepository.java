@@ -0,0 +1,24 @@
+package com.desafiosenior.api_hotel.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.desafiosenior.api_hotel.model.ProcessedCheckInOutEvent;
+
+@Repository
+public interface ProcessedCheckInOutEventRepository extends JpaRepository<ProcessedCheckInOutEvent, String> {
+
+	// 1 na primeira entrega do evento, 0 nas repeticoes; sem excecao de chave duplicada abortando a transacao
+	@Modifying
+	@Query(value = "INSERT INTO processed_checkinout_events (event_key, date_register) VALUES (:eventKey, :dateRegister) "
+			+ "ON CONFLICT (event_key) DO NOTHING", nativeQuery = true)
+	int markProcessed(String eventKey, LocalDateTime dateRegister);
+
+	@Modifying
+	@Query("DELETE FROM ProcessedCheckInOutEvent e WHERE e.dateRegister < :dateRegister")
+	int deleteOlderThan(LocalDateTime dateRegister);
+}
@@ -0,0 +1,20 @@
+package com.desafiosenior.api_hotel.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.desafiosenior.api_hotel.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+	List<RevokedToken> findByExpiresAtAfter(LocalDateTime expiresAt);
+
+	@Modifying
+	@Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :expiresAt")
+	int deleteExpired(LocalDateTime expiresAt);
+}
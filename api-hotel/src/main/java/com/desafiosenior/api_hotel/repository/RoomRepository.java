@@ -1,16 +1,56 @@
 package com.desafiosenior.api_hotel.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomView;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, UUID> {
 	Optional<Room> findByRoomId(UUID roomId);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Room> findByNumber(Integer number);
+
+	@Query("SELECT new com.desafiosenior.api_hotel.model.RoomDto(r.roomId, r.number) FROM Room r ORDER BY r.number")
+	List<RoomDto> findAllRoomDtos();
+
+	@Query("SELECT new com.desafiosenior.api_hotel.model.RoomDto(r.roomId, r.number) FROM Room r WHERE NOT EXISTS ("
+			+ "SELECT b.bookingId FROM Booking b WHERE b.room = r AND b.status IN :statuses AND b.dateCheckin < :to "
+			+ "AND (b.dateCheckout IS NULL OR b.dateCheckout > :from)) ORDER BY r.number")
+	List<RoomDto> findAvailableRooms(LocalDateTime from, LocalDateTime to, Collection<String> statuses);
+
+	@Query(RoomView.SELECT + "ORDER BY r.number")
+	List<RoomView> findAllViews();
+
+	@Query(RoomView.SELECT + "WHERE r.roomId = :roomId")
+	Optional<RoomView> findViewByRoomId(UUID roomId);
+
+	@Query(RoomView.SELECT + "ORDER BY r.dateRegister, r.roomId")
+	List<RoomView> findFirstPage(Pageable pageable);
+
+	// Comparacao por linha, e nao com OR, para o Postgres poder usar idx_rooms_date_register_id como intervalo
+	@Query(RoomView.SELECT + "WHERE (r.dateRegister, r.roomId) > (:dateRegister, :roomId) "
+			+ "ORDER BY r.dateRegister, r.roomId")
+	List<RoomView> findPageAfter(LocalDateTime dateRegister, UUID roomId, Pageable pageable);
+
+	@Query(RoomView.SELECT + "ORDER BY r.dateRegister, r.roomId")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaStreams.FETCH_SIZE))
+	Stream<RoomView> streamAllOrdered();
 }
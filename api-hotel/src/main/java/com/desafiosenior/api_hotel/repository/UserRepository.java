@@ -1,27 +1,94 @@
 package com.desafiosenior.api_hotel.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import com.desafiosenior.api_hotel.model.GuestBookingView;
 import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.model.UserView;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+	// Hospedado: check-in feito e ainda sem check-out, ou com check-out previsto a partir de agora
+	String HOSTED = "AND ((b.dateCheckout IS NULL AND b.dateCheckin < :now) OR b.dateCheckout >= :now) ";
+	// Nao hospedado: reserva agendada com check-in futuro
+	String UNHOSTED = "AND b.dateCheckin > :now AND (b.dateCheckout IS NULL OR b.dateCheckout >= :now) ";
+	String BY_DOCUMENT = "AND u.document = :document ";
+	// Prefixo do nome normalizado (NameNormalizer.toPrefixPattern), atendido por idx_users_role_normalized_name
+	String BY_NAME = "AND u.normalizedName LIKE :namePrefix ESCAPE '\\' ";
+	String BY_PHONE = "AND u.phoneDdi = :phoneDdi AND u.phoneDdd = :phoneDdd AND u.phone = :phone ";
+	String ORDER_BY = "ORDER BY u.name, b.dateCheckin";
+
 	Optional<UserDetails> findByLogin(String login);
 
 	Optional<User> findByUserId(UUID userId);
 	
 	List<Optional<User>> findByPhoneDdiAndPhoneDddAndPhoneAndRole(String phoneDdi, String phoneDdd, String phone, String role);
 
-	@Query("SELECT u FROM User u WHERE LOWER(REPLACE(u.name, ' ', '')) = LOWER(REPLACE(:name, ' ', '')) AND u.role = :role")
-	List<Optional<User>> findByNameIgnoreCaseAndRoleIgnoringSpaces(String name, String role);
+	List<Optional<User>> findByNormalizedNameAndRole(String normalizedName, String role);
+
+	default List<Optional<User>> findByNameIgnoreCaseAndRoleIgnoringSpaces(String name, String role) {
+		return findByNormalizedNameAndRole(NameNormalizer.normalize(name), role);
+	}
 	
 	List<Optional<User>> findByDocumentAndRole(String document, String role);
-}
 
+	@Query(GuestBookingView.SELECT + BY_DOCUMENT + HOSTED + ORDER_BY)
+	List<GuestBookingView> findHostedGuestsByDocument(String document, String role, String status, LocalDateTime now);
+
+	@Query(GuestBookingView.SELECT + BY_NAME + HOSTED + ORDER_BY)
+	List<GuestBookingView> findHostedGuestsByName(String namePrefix, String role, String status, LocalDateTime now);
+
+	@Query(GuestBookingView.SELECT + BY_PHONE + HOSTED + ORDER_BY)
+	List<GuestBookingView> findHostedGuestsByPhone(String phoneDdi, String phoneDdd, String phone, String role,
+			String status, LocalDateTime now);
+
+	@Query(GuestBookingView.SELECT + BY_DOCUMENT + UNHOSTED + ORDER_BY)
+	List<GuestBookingView> findUnhostedGuestsByDocument(String document, String role, String status, LocalDateTime now);
+
+	@Query(GuestBookingView.SELECT + BY_NAME + UNHOSTED + ORDER_BY)
+	List<GuestBookingView> findUnhostedGuestsByName(String namePrefix, String role, String status, LocalDateTime now);
+
+	@Query(GuestBookingView.SELECT + BY_PHONE + UNHOSTED + ORDER_BY)
+	List<GuestBookingView> findUnhostedGuestsByPhone(String phoneDdi, String phoneDdd, String phone, String role,
+			String status, LocalDateTime now);
+
+	@Query(UserView.SELECT + "WHERE u.userId = :userId")
+	Optional<UserView> findViewByUserId(UUID userId);
+
+	@Query(UserView.SELECT + "ORDER BY u.dateRegister, u.userId")
+	List<UserView> findFirstPage(Pageable pageable);
+
+	// Comparacao por linha, e nao com OR, para o Postgres poder usar idx_users_date_register_id como intervalo
+	@Query(UserView.SELECT + "WHERE (u.dateRegister, u.userId) > (:dateRegister, :userId) "
+			+ "ORDER BY u.dateRegister, u.userId")
+	List<UserView> findPageAfter(LocalDateTime dateRegister, UUID userId, Pageable pageable);
+
+	@Query(UserView.SELECT + "ORDER BY u.dateRegister, u.userId")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaStreams.FETCH_SIZE))
+	Stream<UserView> streamAllOrdered();
+
+	// Registros anteriores a coluna normalized_name, preenchidos por NormalizedNameBackfill
+	@Query("SELECT u FROM User u WHERE u.normalizedName IS NULL AND u.name IS NOT NULL ORDER BY u.userId")
+	List<User> findWithoutNormalizedName(Pageable pageable);
+
+	@Query(UserSuggestion.SELECT + "WHERE u.role = :role")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaStreams.FETCH_SIZE))
+	Stream<UserSuggestion> streamSuggestionsByRole(String role);
+}
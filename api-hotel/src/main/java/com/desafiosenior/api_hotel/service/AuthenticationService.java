@@ -1,25 +1,38 @@
 package com.desafiosenior.api_hotel.service;
 
+import java.util.UUID;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.desafiosenior.api_hotel.exception.ServiceUnavailableException;
 import com.desafiosenior.api_hotel.model.AuthenticationDto;
 import com.desafiosenior.api_hotel.model.LoginResponseDto;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
 
 @Service
 public class AuthenticationService implements UserDetailsService {
 
+	private final PasswordEncoder passwordEncoder;
+	private final PasswordHashingService passwordHashingService;
+	private final PrincipalCache principalCache;
 	private final TokenService tokenService;
 	private final UserRepository userRepository;
 
-	public AuthenticationService(TokenService tokenService, UserRepository userRepository) {
+	public AuthenticationService(TokenService tokenService, UserRepository userRepository,
+			PrincipalCache principalCache, PasswordEncoder passwordEncoder,
+			PasswordHashingService passwordHashingService) {
+		this.passwordEncoder = passwordEncoder;
+		this.passwordHashingService = passwordHashingService;
+		this.principalCache = principalCache;
 		this.tokenService = tokenService;
 		this.userRepository = userRepository;
 	}
@@ -29,13 +42,43 @@ public class AuthenticationService implements UserDetailsService {
 		return userRepository.findByLogin(username).get();
 	}
 
+	/*
+	 * Chamado apos um login valido. Quando o hash guardado tem custo menor que o calibrado (upgradeEncoding so sobe o
+	 * custo), a senha e refeita no pool do PasswordHashingService; com o pool sobrecarregado o login segue e a troca fica
+	 * para o proximo.
+	 */
+	public void updatePassword(UUID userId, String rawPassword) {
+		var user = userRepository.findByUserId(userId);
+
+		if (user.isEmpty() || !passwordEncoder.upgradeEncoding(user.get().getPassword()))
+			return;
+
+		try {
+			user.get().setPassword(passwordHashingService.encode(rawPassword));
+		} catch (ServiceUnavailableException ex) {
+			return;
+		}
+
+		var userDb = userRepository.save(user.get());
+		TransactionHooks.afterCommit(() -> principalCache.invalidate(userDb.getLogin()));
+	}
+
 	public ResponseEntity<LoginResponseDto> login(AuthenticationDto authenticationDto,
 			AuthenticationManager authenticationManager) {
 		var loginPassword = new UsernamePasswordAuthenticationToken(authenticationDto.login(),
 				authenticationDto.password());
 		var auth = authenticationManager.authenticate(loginPassword);
-		var token = tokenService.generateToken((User) auth.getPrincipal());
+		var user = (User) auth.getPrincipal();
+		updatePassword(user.getUserId(), authenticationDto.password());
+		var token = tokenService.generateToken(user);
 
 		return ResponseEntity.ok(new LoginResponseDto(token));
 	}
+
+	public void logout(String authorization) {
+		if (authorization == null || !authorization.startsWith("Bearer "))
+			return;
+
+		tokenService.revokeToken(authorization.substring("Bearer ".length()));
+	}
 }
@@ -0,0 +1,14 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.util.List;
+
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+
+/*
+ * Publicacao dos eventos de reserva lidos do outbox. A implementacao publica na ordem recebida e so retorna depois que
+ * o broker confirmar todo o lote; qualquer falha (nack, timeout, conexao) e lancada e o lote inteiro e reenviado.
+ */
+public interface BookingEventPublisher {
+
+	void publishConfirmed(List<OutboxEvent> events);
+}
@@ -0,0 +1,48 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingEvent;
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+import com.desafiosenior.api_hotel.repository.OutboxEventRepository;
+import com.desafiosenior.api_hotel.util.IdGenerators;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Grava os eventos de reserva no outbox dentro da transacao do BookingService: o evento existe se e somente se a
+ * alteracao foi confirmada. A publicacao fica com o OutboxRelay.
+ */
+@Component
+public class BookingOutbox {
+	private final ObjectMapper objectMapper;
+	private final OutboxEventRepository outboxEventRepository;
+
+	public BookingOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.outboxEventRepository = outboxEventRepository;
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public OutboxEvent record(BookingEventType type, Booking booking) {
+		var occurredAt = LocalDateTime.now();
+		var event = BookingEvent.of(IdGenerators.next(), type, booking, occurredAt);
+
+		return outboxEventRepository.save(new OutboxEvent(event.eventId(), event.bookingId(), event.type(),
+				toJson(event), occurredAt));
+	}
+
+	private String toJson(BookingEvent event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Nao foi possivel serializar o evento " + event.type(), ex);
+		}
+	}
+}
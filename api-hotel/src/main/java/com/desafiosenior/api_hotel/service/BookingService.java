@@ -4,10 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -17,35 +19,49 @@ import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
 import com.desafiosenior.api_hotel.model.Booking;
 import com.desafiosenior.api_hotel.model.BookingCreateDto;
+import com.desafiosenior.api_hotel.model.BookingEventType;
 import com.desafiosenior.api_hotel.model.BookingStatus;
 import com.desafiosenior.api_hotel.model.BookingUpdateDto;
-import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.BookingView;
+import com.desafiosenior.api_hotel.model.KeysetPage;
+import com.desafiosenior.api_hotel.model.RoomView;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.model.UserRole;
 import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+import com.desafiosenior.api_hotel.util.KeysetCursor;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
 
 @Service
 public class BookingService {
+	// Em existsActiveOverlap, na criacao nao ha reserva a ignorar
+	private static final UUID NO_BOOKING = new UUID(0, 0);
+
+	private final BookingOutbox bookingOutbox;
 	private final BookingRepository bookingRepository;
+	private final GuestSearchCache guestSearchCache;
 	private final MessageSource messageSource;
+	private final RoomAvailabilityIndex roomAvailabilityIndex;
+	private final RoomOccupancyCalendar roomOccupancyCalendar;
 	private final RoomService roomService;
+	private final RoomWriteLock roomWriteLock;
 	private final UserService userService;
 
 	public BookingService(BookingRepository bookingRepository, UserService userService, RoomService roomService,
+			RoomAvailabilityIndex roomAvailabilityIndex, RoomOccupancyCalendar roomOccupancyCalendar,
+			GuestSearchCache guestSearchCache, BookingOutbox bookingOutbox, RoomWriteLock roomWriteLock,
 			MessageSource messageSource) {
+		this.bookingOutbox = bookingOutbox;
 		this.bookingRepository = bookingRepository;
+		this.guestSearchCache = guestSearchCache;
 		this.messageSource = messageSource;
+		this.roomAvailabilityIndex = roomAvailabilityIndex;
+		this.roomOccupancyCalendar = roomOccupancyCalendar;
 		this.roomService = roomService;
+		this.roomWriteLock = roomWriteLock;
 		this.userService = userService;
 	}
 
-	private List<Booking> bookingsByStatusFreeForThisRoomOnDb(Room room) {
-		var bookingsByStatusFreeForThisRoomOnDb = bookingRepository
-				.findByStatusAndRoom(BookingStatus.FREE.getStatus(), room);
-
-		return bookingsByStatusFreeForThisRoomOnDb;
-	}
-
 	@Transactional
 	public Optional<ResponseEntity<Object>> delete(UUID bookingId) {
 		var bookDb = bookingRepository.findByBookingId(bookingId);
@@ -53,13 +69,24 @@ public class BookingService {
 		if (bookDb.isEmpty())
 			return Optional.empty();
 
+		bookingOutbox.record(BookingEventType.CANCELLED, bookDb.get());
 		bookingRepository.delete(bookDb.get());
+		TransactionHooks.afterCommit(() -> {
+			roomAvailabilityIndex.unregister(bookingId);
+			roomOccupancyCalendar.unregister(bookingId);
+			guestSearchCache.invalidateAll();
+		});
 		return Optional.of(ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 	}
 
 	@Transactional
 	public void deleteAll() {
 		bookingRepository.deleteAll();
+		TransactionHooks.afterCommit(() -> {
+			roomAvailabilityIndex.clear();
+			roomOccupancyCalendar.clearBookings();
+			guestSearchCache.invalidateAll();
+		});
 	}
 	
 	@Transactional
@@ -70,6 +97,8 @@ public class BookingService {
 			return Optional.empty();
 
 		bookingDb.get().setStatus(BookingStatus.FREE.getStatus());
+		refreshRoomAvailability(bookingDb.get());
+		bookingOutbox.record(BookingEventType.CANCELLED, bookingDb.get());
 
 		return Optional.of(bookingRepository.save(bookingDb.get()));
 	}
@@ -85,8 +114,10 @@ public class BookingService {
 				&& bookingDb.get().getStatus().equals(BookingStatus.SCHEDULED.getStatus())) {
 			bookingDb.get().setDateCheckin(bookingUpdateDto.dateCheckin());
 			bookingDb.get().setStatus(BookingStatus.CHECKIN.getStatus());
+			refreshRoomAvailability(bookingDb.get());
+			bookingOutbox.record(BookingEventType.CHECKED_IN, bookingDb.get());
 
-			return Optional.of(bookingRepository.save(bookingDb.get()));
+			return Optional.of(bookingRepository.saveAndFlush(bookingDb.get()));
 		}
 
 		return null;
@@ -117,6 +148,8 @@ public class BookingService {
 		if (bookingDb.get().getStatus().equals(BookingStatus.CHECKIN.getStatus())) {
 			bookingDb.get().setDateCheckout(LocalDateTime.now());
 			bookingDb.get().setStatus(BookingStatus.FREE.getStatus());
+			refreshRoomAvailability(bookingDb.get());
+			bookingOutbox.record(BookingEventType.CHECKED_OUT, bookingDb.get());
 
 			return Optional.of(bookingRepository.save(bookingDb.get()));
 		}
@@ -128,6 +161,26 @@ public class BookingService {
 		return bookingRepository.findAll();
 	}
 
+	public KeysetPage<BookingView> findPage(String cursor, Integer size) {
+		var pageSize = KeysetCursor.pageSize(size);
+		var pageable = PageRequest.ofSize(pageSize);
+
+		if (cursor == null || cursor.isBlank())
+			return KeysetPage.of(bookingRepository.findFirstPage(pageable), pageSize,
+					booking -> new KeysetCursor(booking.dateRegister(), booking.bookingId()));
+
+		var keysetCursor = KeysetCursor.decode(cursor);
+		var bookings = bookingRepository.findPageAfter(keysetCursor.dateRegister(), keysetCursor.id(), pageable);
+
+		return KeysetPage.of(bookings, pageSize,
+				booking -> new KeysetCursor(booking.dateRegister(), booking.bookingId()));
+	}
+
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<BookingView> consumer) {
+		JpaStreams.forEach(bookingRepository.streamAllOrdered(), consumer);
+	}
+
 	public Optional<Booking> findByBookingId(UUID bookingId) {
 		var bookingDb = bookingRepository.findByBookingId(bookingId);
 
@@ -137,36 +190,54 @@ public class BookingService {
 		return bookingDb;
 	}
 
-	private boolean isThisBookingPermitedForThisRoomAndDates(LocalDateTime bookingDateCheckin,
-			LocalDateTime bookingDateCheckout, Room room) {
-		var bookingsByStatusFreeForThisRoomOnDb = bookingsByStatusFreeForThisRoomOnDb(room);
+	public Optional<BookingView> findViewByBookingId(UUID bookingId) {
+		return bookingRepository.findViewByBookingId(bookingId);
+	}
 
-		if (!bookingsByStatusFreeForThisRoomOnDb.isEmpty())
+	// Chamado com o RoomWriteLock do quarto. Com varias instancias o indice local pode nao ter as gravacoes das outras
+	// (nem a recusa dele vale: pode guardar uma reserva ja cancelada em outro no), entao decide apenas o banco, sob o
+	// advisory lock; em uma unica instancia o indice e atualizado antes da liberacao do lock e basta sozinho
+	private boolean isThisBookingPermitedForThisRoomAndDates(String bookingStatus, LocalDateTime bookingDateCheckin,
+			LocalDateTime bookingDateCheckout, UUID roomId, UUID ignoredBookingId) {
+		// Reserva livre (cancelada ou encerrada) nao ocupa o quarto, entao e sempre permitida
+		if (!BookingStatus.isActive(bookingStatus))
 			return true;
 
-		return isThisRoomWillBeAvailableForThisDesiredCheckinDate(bookingDateCheckin, bookingDateCheckout, room);
-	}
+		if (roomWriteLock.isDistributed())
+			return !bookingRepository.existsActiveOverlap(roomId, bookingDateCheckin, bookingDateCheckout,
+					ignoredBookingId == null ? NO_BOOKING : ignoredBookingId);
 
-	private boolean isThisRoomWillBeAvailableForThisDesiredCheckinDate(LocalDateTime bookingDateCheckin,
-			LocalDateTime bookingDateCheckout, Room room) {
-		var bookingDateByDateCheckinAndRoomsDb = bookingRepository.findByDateCheckinAndRoom_RoomId(bookingDateCheckin,
-				room.getRoomId());
-		var bookingDateByCheckinBeforeAndDateCheckoutIsNullDb = bookingRepository
-				.findByDateCheckinBeforeAndDateCheckoutIsNullAndRoom_RoomId(bookingDateCheckin, room.getRoomId());
-		var bookingDateByCheckinLessThanAndDateCheckoutGreaterThanEqualDb = bookingRepository
-				.findByDateCheckinLessThanAndDateCheckoutGreaterThanEqualAndRoom_RoomId(bookingDateCheckin,
-						bookingDateCheckout, room.getRoomId());
+		return roomAvailabilityIndex.isAvailable(roomId, bookingDateCheckin, bookingDateCheckout, ignoredBookingId);
+	}
 
-		return (bookingDateByDateCheckinAndRoomsDb.isEmpty()
-				&& bookingDateByCheckinBeforeAndDateCheckoutIsNullDb.isEmpty()
-				&& bookingDateByCheckinLessThanAndDateCheckoutGreaterThanEqualDb.isEmpty());
+	// Toda transicao de reserva passa por aqui: indices em memoria e buscas de hospedes em cache sao atualizados apos o commit
+	private void refreshRoomAvailability(Booking booking) {
+		var bookingId = booking.getBookingId();
+
+		if (BookingStatus.isActive(booking.getStatus())) {
+			var roomId = booking.getRoom().getRoomId();
+			var dateCheckin = booking.getDateCheckin();
+			var dateCheckout = booking.getDateCheckout();
+			TransactionHooks.afterCommit(() -> {
+				roomAvailabilityIndex.register(bookingId, roomId, dateCheckin, dateCheckout);
+				roomOccupancyCalendar.register(bookingId, roomId, dateCheckin, dateCheckout);
+				guestSearchCache.invalidateAll();
+			});
+		} else {
+			TransactionHooks.afterCommit(() -> {
+				roomAvailabilityIndex.unregister(bookingId);
+				roomOccupancyCalendar.unregister(bookingId);
+				guestSearchCache.invalidateAll();
+			});
+		}
 	}
 
 	@Transactional
 	public Booking save(BookingCreateDto bookingCreateDto) {
 		checkingIfIsValidUserFinderStandardParamsDto(bookingCreateDto);
+		checkingIfIsValidPeriod(bookingCreateDto.dateCheckin(), bookingCreateDto.dateCheckout());
 
-		Optional<Room> room = getRoom(bookingCreateDto);
+		Optional<RoomView> room = getRoom(bookingCreateDto);
 		List<Optional<User>> users = userService.getUsersByAttributeChecker(bookingCreateDto.userFinderStandardParamsDto(),
 				UserRole.GUEST.getRole());
 
@@ -176,25 +247,39 @@ public class BookingService {
 		if (users.isEmpty())
 			throw new ResourceNotFoundException("Hóspede não encontrado: " + bookingCreateDto.userFinderStandardParamsDto().toString());
 
-		if (isThisBookingPermitedForThisRoomAndDates(bookingCreateDto.dateCheckin(), bookingCreateDto.dateCheckout(), room.get())) {
-			var booking = new Booking(LocalDateTime.now());
+		var roomId = room.get().roomId();
+		var status = bookingCreateDto.status() == null || bookingCreateDto.status().isBlank()
+				? BookingStatus.SCHEDULED.getStatus()
+				: bookingCreateDto.status();
 
-			if (bookingCreateDto.status() == null || bookingCreateDto.status().isBlank()) {
-				booking.setStatus(BookingStatus.SCHEDULED.getStatus());
-			}
+		// Verificacao e gravacao serializadas por quarto: quartos diferentes seguem em paralelo
+		return roomWriteLock.executeLocked(roomId, () -> {
+			if (isThisBookingPermitedForThisRoomAndDates(status, bookingCreateDto.dateCheckin(),
+					bookingCreateDto.dateCheckout(), roomId, null)) {
+				var booking = new Booking(LocalDateTime.now());
 
-			String[] ignoredProperties = { "RoomDto", "UserFinderStandardParamsDto" };
-			BeanUtils.copyProperties(bookingCreateDto, booking, ignoredProperties);
-			booking.setRoom(room.get());
-			booking.setStatus(booking.getStatus().toUpperCase());
-			booking.setUser(users.get(0).get());
+				if (bookingCreateDto.status() == null || bookingCreateDto.status().isBlank()) {
+					booking.setStatus(BookingStatus.SCHEDULED.getStatus());
+				}
 
-			booking.setDateLastChange(LocalDateTime.now());
+				String[] ignoredProperties = { "RoomDto", "UserFinderStandardParamsDto" };
+				BeanUtils.copyProperties(bookingCreateDto, booking, ignoredProperties);
+				booking.setRoom(roomService.getReference(roomId));
+				booking.setStatus(booking.getStatus().toUpperCase());
+				booking.setUser(users.get(0).get());
 
-			return bookingRepository.save(booking);
-		}
+				booking.setDateLastChange(LocalDateTime.now());
 
-		return null;
+				// A constraint bookings_room_stay_excl e a garantia final contra reservas sobrepostas concorrentes
+				var bookingDb = bookingRepository.saveAndFlush(booking);
+				refreshRoomAvailability(booking);
+				bookingOutbox.record(BookingEventType.CREATED, bookingDb);
+
+				return bookingDb;
+			}
+
+			return null;
+		});
 	}
 
 	private void checkingIfIsValidUserFinderStandardParamsDto(BookingCreateDto bookingCreateDto) {
@@ -208,10 +293,18 @@ public class BookingService {
 		}
 	}
 
-	private Optional<Room> getRoom(BookingCreateDto bookingCreateDto) {
+	private void checkingIfIsValidPeriod(LocalDateTime dateCheckin, LocalDateTime dateCheckout) {
+		if (dateCheckout != null && dateCheckout.isBefore(dateCheckin)) {
+			var messageWarning = messageSource.getMessage("label.dateCheckout.before.dateCheckin", null, LocaleContextHolder.getLocale());
+			throw new InvalidRequestException(messageWarning);
+		}
+	}
+
+	// Catalogo em memoria: sem consulta ao banco para localizar o quarto
+	private Optional<RoomView> getRoom(BookingCreateDto bookingCreateDto) {
 		UUID roomId = bookingCreateDto.roomDto().roomId();
-		Optional<Room> room = roomId != null ? roomService.findByRoomId(roomId)
-				: roomService.findByNumber(bookingCreateDto.roomDto().number());
+		Optional<RoomView> room = roomId != null ? roomService.findCachedByRoomId(roomId)
+				: roomService.findCachedByNumber(bookingCreateDto.roomDto().number());
 		return room;
 	}
 	
@@ -222,15 +315,26 @@ public class BookingService {
 		if (bookingDb.isEmpty())
 			return Optional.empty();
 
-		if (isThisBookingPermitedForThisRoomAndDates(bookingUpdateDto.dateCheckin(), bookingUpdateDto.dateCheckout(),
-				bookingDb.get().getRoom())) {
-			updateBookingDbFromBookingUpdateDto(bookingUpdateDto, bookingDb.get());
-			bookingDb.get().setDateLastChange(LocalDateTime.now());
+		checkingIfIsValidPeriod(bookingUpdateDto.dateCheckin(), bookingUpdateDto.dateCheckout());
 
-			return Optional.of(bookingRepository.save(bookingDb.get()));
-		}
+		var roomId = bookingDb.get().getRoom().getRoomId();
+		var status = bookingUpdateDto.status() == null || bookingUpdateDto.status().isBlank()
+				? bookingDb.get().getStatus()
+				: bookingUpdateDto.status();
 
-		return null;
+		return roomWriteLock.executeLocked(roomId, () -> {
+			if (isThisBookingPermitedForThisRoomAndDates(status, bookingUpdateDto.dateCheckin(),
+					bookingUpdateDto.dateCheckout(), roomId, bookingId)) {
+				updateBookingDbFromBookingUpdateDto(bookingUpdateDto, bookingDb.get());
+				bookingDb.get().setDateLastChange(LocalDateTime.now());
+				refreshRoomAvailability(bookingDb.get());
+				bookingOutbox.record(BookingEventType.UPDATED, bookingDb.get());
+
+				return Optional.of(bookingRepository.saveAndFlush(bookingDb.get()));
+			}
+
+			return null;
+		});
 	}
 
 	private void updateBookingDbFromBookingUpdateDto(BookingUpdateDto bookingUpdateDto, Booking bookingDb) {
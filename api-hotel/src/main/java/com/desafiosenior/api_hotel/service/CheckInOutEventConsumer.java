@@ -0,0 +1,144 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.desafiosenior.api_hotel.model.BookingEvent;
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.model.ProcessedCheckInOutEvent;
+import com.desafiosenior.api_hotel.repository.ProcessedCheckInOutEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Consome os checkins/checkouts em lotes (ack unico por lote, ver CheckInOutMessagingConfig). Cada evento e tratado na
+ * propria transacao, junto com o registro de idempotencia por reserva e tipo: reentregas e retentativas do lote nao
+ * repetem o efeito. Uma falha nao espera no thread do listener: o evento vai para a fila <fila>.retry, que o devolve
+ * apos o atraso configurado. Esgotadas as tentativas, ou com mensagem invalida, o evento vai para a fila <fila>.dlq;
+ * em ambos os casos o restante do lote segue.
+ */
+@Component
+@Slf4j
+public class CheckInOutEventConsumer {
+	public static final String CONTAINER_FACTORY = "checkInOutListenerContainerFactory";
+	public static final String DEAD_LETTER_SUFFIX = ".dlq";
+	public static final String HEADER_ATTEMPT = "x-attempt";
+	public static final String HEADER_EXCEPTION_MESSAGE = "x-exception-message";
+	public static final String RETRY_SUFFIX = ".retry";
+
+	private final AmqpTemplate amqpTemplate;
+	private final String deadLetterQueue;
+	private final ObjectProvider<CheckInOutEventHandler> handlers;
+	private final Duration idempotencyRetention;
+	private final int maxAttempts;
+	private final ObjectMapper objectMapper;
+	private final ProcessedCheckInOutEventRepository processedCheckInOutEventRepository;
+	private final String retryQueue;
+	private final TransactionTemplate transactionTemplate;
+
+	public CheckInOutEventConsumer(ProcessedCheckInOutEventRepository processedCheckInOutEventRepository,
+			ObjectProvider<CheckInOutEventHandler> handlers, AmqpTemplate amqpTemplate,
+			PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			@Value("${broker.queue.checkinout.name}") String queueName,
+			@Value("${api.checkinout.consumer.retry.max-attempts:4}") int maxAttempts,
+			@Value("${api.checkinout.consumer.idempotency-retention:P30D}") Duration idempotencyRetention) {
+		this.amqpTemplate = amqpTemplate;
+		this.deadLetterQueue = queueName + DEAD_LETTER_SUFFIX;
+		this.handlers = handlers;
+		this.idempotencyRetention = idempotencyRetention;
+		this.maxAttempts = maxAttempts;
+		this.objectMapper = objectMapper;
+		this.processedCheckInOutEventRepository = processedCheckInOutEventRepository;
+		this.retryQueue = queueName + RETRY_SUFFIX;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@RabbitListener(queues = "${broker.queue.checkinout.name}", containerFactory = CONTAINER_FACTORY)
+	public void onBatch(List<Message> messages) {
+		messages.forEach(this::consume);
+	}
+
+	@Scheduled(fixedDelayString = "${api.checkinout.consumer.idempotency-purge-interval:PT1H}")
+	@Transactional
+	public void purgeProcessed() {
+		var deleted = processedCheckInOutEventRepository.deleteOlderThan(LocalDateTime.now().minus(idempotencyRetention));
+
+		if (deleted > 0)
+			log.info("{} registros de checkin/checkout processados removidos", deleted);
+	}
+
+	void consume(Message message) {
+		BookingEvent event;
+
+		try {
+			event = objectMapper.readValue(message.getBody(), BookingEvent.class);
+		} catch (IOException ex) {
+			deadLetter(message, ex);
+			return;
+		}
+
+		if (event.bookingId() == null || !BookingEventType.isCheckInOut(event.type())) {
+			deadLetter(message, new IllegalArgumentException("Evento de checkin/checkout invalido: " + event.type()));
+			return;
+		}
+
+		try {
+			transactionTemplate.execute(status -> process(event));
+		} catch (RuntimeException ex) {
+			retryOrDeadLetter(message, ex);
+		}
+	}
+
+	private boolean process(BookingEvent event) {
+		if (processedCheckInOutEventRepository.markProcessed(ProcessedCheckInOutEvent.keyOf(event),
+				LocalDateTime.now()) == 0) {
+			log.debug("Evento {} da reserva {} ja processado", event.type(), event.bookingId());
+			return false;
+		}
+
+		handlers.orderedStream().forEach(handler -> handler.handle(event));
+		return true;
+	}
+
+	// A tentativa atual segue no cabecalho da mensagem, entao a retentativa nao depende de estado no consumidor
+	private void retryOrDeadLetter(Message message, RuntimeException cause) {
+		var properties = message.getMessageProperties();
+		int attempt = properties.getHeader(HEADER_ATTEMPT) instanceof Number number ? number.intValue() : 1;
+
+		if (attempt >= maxAttempts) {
+			deadLetter(message, cause);
+			return;
+		}
+
+		log.debug("Evento {} enviado para {} (tentativa {} de {}): {}", properties.getMessageId(), retryQueue, attempt,
+				maxAttempts, cause.getMessage());
+
+		properties.setHeader(HEADER_ATTEMPT, attempt + 1);
+		properties.setHeader(HEADER_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()));
+		amqpTemplate.send("", retryQueue, message);
+	}
+
+	// Falha ao enviar para a DLQ ou para a fila de retentativa sobe para o container: o lote nao e confirmado e volta inteiro para a fila
+	private void deadLetter(Message message, Throwable cause) {
+		log.warn("Evento {} enviado para {}: {}", message.getMessageProperties().getMessageId(), deadLetterQueue,
+				cause == null ? null : cause.getMessage());
+
+		message.getMessageProperties().setHeader(HEADER_EXCEPTION_MESSAGE,
+				cause == null ? null : String.valueOf(cause.getMessage()));
+		amqpTemplate.send("", deadLetterQueue, message);
+	}
+}
@@ -0,0 +1,12 @@
+package com.desafiosenior.api_hotel.service;
+
+import com.desafiosenior.api_hotel.model.BookingEvent;
+
+/*
+ * Reacao assincrona a um checkin ou checkout (governanca, faturamento...). Roda na transacao do consumidor, uma vez por
+ * reserva e tipo de evento; lancar uma excecao desfaz a transacao e o evento e tentado de novo.
+ */
+public interface CheckInOutEventHandler {
+
+	void handle(BookingEvent event);
+}
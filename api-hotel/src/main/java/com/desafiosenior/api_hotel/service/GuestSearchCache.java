@@ -0,0 +1,80 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.model.GuestBookingView;
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class GuestSearchCache {
+	public static final String CACHE_NAME = "guestSearch";
+
+	public enum Stay {
+		HOSTED, UNHOSTED
+	}
+
+	private final Cache<Key, List<GuestBookingView>> guestsByParams;
+
+	/*
+	 * Resultado das buscas de hospedes da recepcao, que consulta as mesmas telas em polling. O TTL curto limita o
+	 * quanto o resultado pode ficar defasado em relacao ao horario corrente; as transicoes de reserva limpam o cache.
+	 */
+	public GuestSearchCache(MeterRegistry meterRegistry,
+			@Value("${api.guest-search.cache.max-size:2000}") long maxSize,
+			@Value("${api.guest-search.cache.ttl:PT15S}") Duration ttl) {
+		this.guestsByParams = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, guestsByParams, CACHE_NAME);
+	}
+
+	// Os parametros sao normalizados uma unica vez: a chave e a consulta do loader recebem exatamente os mesmos valores
+	public List<GuestBookingView> get(Stay stay, String role, UserFinderStandardParamsDto params,
+			BiFunction<UserFinderStandardParamsDto, String, List<GuestBookingView>> loader) {
+		var normalizedRole = role == null ? null : role.trim().toUpperCase(Locale.ROOT);
+		var normalizedParams = new UserFinderStandardParamsDto(trim(params.document()), params.name(),
+				trim(params.phone()), trim(params.phoneDdd()), trim(params.phoneDdi()));
+
+		return guestsByParams.get(Key.of(stay, normalizedRole, normalizedParams),
+				key -> List.copyOf(loader.apply(normalizedParams, normalizedRole)));
+	}
+
+	public void invalidateAll() {
+		guestsByParams.invalidateAll();
+	}
+
+	private static String trim(String value) {
+		return value == null ? null : value.trim();
+	}
+
+	/*
+	 * A chave considera apenas o atributo que a busca realmente usa (document, depois name, depois telefone), com o
+	 * nome normalizado (sem acentos, minusculas e sem espacos), como a consulta o compara.
+	 */
+	record Key(Stay stay, String role, String document, String name, String phoneDdi, String phoneDdd, String phone) {
+
+		static Key of(Stay stay, String role, UserFinderStandardParamsDto params) {
+			if (isPresent(params.document()))
+				return new Key(stay, role, params.document(), null, null, null, null);
+
+			if (isPresent(params.name()))
+				return new Key(stay, role, null, NameNormalizer.normalize(params.name()), null, null, null);
+
+			return new Key(stay, role, null, null, params.phoneDdi(), params.phoneDdd(), params.phone());
+		}
+
+		private static boolean isPresent(String value) {
+			return value != null && !value.isBlank();
+		}
+	}
+}
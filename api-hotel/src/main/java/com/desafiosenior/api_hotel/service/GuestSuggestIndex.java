@@ -0,0 +1,318 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.desafiosenior.api_hotel.model.UserRole;
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Indice de prefixos do typeahead de hospedes. Cada hospede entra com ate tres chaves: nome normalizado, documento e
+ * DDD + telefone. A base e um par de arrays ordenados (chave, hospede), imutavel e lido sem lock; as escritas desde a
+ * ultima compactacao ficam em um overlay ordenado, e os hospedes alterados ou removidos sao ocultados na base.
+ * Durante uma escrita uma busca concorrente pode deixar de ver o hospede por um instante, o que basta ao typeahead.
+ */
+@Component
+@Slf4j
+public class GuestSuggestIndex {
+	private static final char OVERLAY_SEPARATOR = '\u0000';
+	private static final Pattern PHONE_OR_DOCUMENT = Pattern.compile("[0-9().+\\-]+");
+	private static final Pattern NON_DIGITS = Pattern.compile("\\D");
+
+	private final UserRepository userRepository;
+	private final int compactionThreshold;
+	private final int maxResults;
+	private final int minQueryLength;
+	private final long searchBudgetNanos;
+
+	private volatile Segment base = Segment.EMPTY;
+	private volatile boolean loading;
+	// Incrementado a cada carga e clear (sob o lock), para descartar uma carga que ficou obsoleta durante a leitura
+	private long generation;
+	// Chave do overlay: chave + separador + userId, para permitir hospedes com a mesma chave
+	private final ConcurrentSkipListMap<String, UserSuggestion> overlay = new ConcurrentSkipListMap<>();
+	private final Map<UUID, Set<String>> overlayKeysByUserId = new ConcurrentHashMap<>();
+	private final Set<UUID> hiddenInBase = ConcurrentHashMap.newKeySet();
+
+	public GuestSuggestIndex(UserRepository userRepository,
+			@Value("${api.users.suggest.compaction-threshold:4096}") int compactionThreshold,
+			@Value("${api.users.suggest.max-results:10}") int maxResults,
+			@Value("${api.users.suggest.min-query-length:2}") int minQueryLength,
+			@Value("${api.users.suggest.search-budget:PT0.02S}") Duration searchBudget) {
+		this.userRepository = userRepository;
+		this.compactionThreshold = compactionThreshold;
+		this.maxResults = maxResults;
+		this.minQueryLength = minQueryLength;
+		this.searchBudgetNanos = searchBudget.toNanos();
+	}
+
+	/*
+	 * A carga percorre os hospedes por cursor fora do lock: escritas concorrentes vao para o overlay e continuam
+	 * valendo sobre a base carregada. Se um clear ou outra carga comecar durante a leitura, o resultado e descartado.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void reload() {
+		long loadGeneration;
+
+		synchronized (this) {
+			loadGeneration = ++generation;
+			loading = true;
+			overlay.clear();
+			overlayKeysByUserId.clear();
+			hiddenInBase.clear();
+		}
+
+		var entries = new ArrayList<Entry>();
+		Segment loaded = null;
+		boolean stale;
+
+		try {
+			JpaStreams.forEach(userRepository.streamSuggestionsByRole(UserRole.GUEST.getRole()),
+					suggestion -> keysOf(suggestion).forEach(key -> entries.add(new Entry(key, suggestion))));
+			entries.sort(Comparator.comparing(Entry::key));
+			loaded = Segment.of(entries);
+		} finally {
+			// Base e fim da carga trocados juntos, para uma compactacao nao fundir o overlay na base antiga
+			synchronized (this) {
+				stale = generation != loadGeneration;
+
+				if (!stale) {
+					if (loaded != null)
+						base = loaded;
+
+					loading = false;
+				}
+			}
+		}
+
+		if (stale)
+			log.debug("Carga do indice de sugestao de hospedes descartada: o indice mudou durante a leitura");
+		else
+			log.info("Indice de sugestao de hospedes carregado com {} chaves", entries.size());
+	}
+
+	public synchronized void clear() {
+		generation++;
+		loading = false;
+		base = Segment.EMPTY;
+		overlay.clear();
+		overlayKeysByUserId.clear();
+		hiddenInBase.clear();
+	}
+
+	public synchronized void upsert(UserSuggestion suggestion) {
+		removeFromOverlay(suggestion.userId());
+		hiddenInBase.add(suggestion.userId());
+
+		var keys = keysOf(suggestion);
+		keys.forEach(key -> overlay.put(overlayKey(key, suggestion.userId()), suggestion));
+		overlayKeysByUserId.put(suggestion.userId(), keys);
+
+		compactIfNeeded();
+	}
+
+	public synchronized void remove(UUID userId) {
+		removeFromOverlay(userId);
+		hiddenInBase.add(userId);
+
+		compactIfNeeded();
+	}
+
+	public List<UserSuggestion> suggest(String query, Integer limit) {
+		var prefix = toSearchKey(query);
+
+		if (prefix == null || prefix.length() < minQueryLength)
+			return List.of();
+
+		var maxSize = limit == null || limit < 1 ? maxResults : Math.min(limit, maxResults);
+		var deadline = System.nanoTime() + searchBudgetNanos;
+		var segment = base;
+		var found = new LinkedHashMap<UUID, UserSuggestion>();
+		var overlayEntries = overlay.tailMap(prefix).entrySet().iterator();
+		var nextOverlay = nextWithPrefix(overlayEntries, prefix);
+		int position = segment.lowerBound(prefix);
+		int steps = 0;
+
+		// Intercala base e overlay pela ordem das chaves, parando no limite de itens ou no orcamento de tempo
+		while (found.size() < maxSize) {
+			var baseMatches = position < segment.keys.length && segment.keys[position].startsWith(prefix);
+
+			if (!baseMatches && nextOverlay == null)
+				break;
+
+			if (baseMatches && (nextOverlay == null || segment.keys[position].compareTo(nextOverlay.getKey()) <= 0)) {
+				var suggestion = segment.suggestions[position++];
+
+				if (!hiddenInBase.contains(suggestion.userId()))
+					found.putIfAbsent(suggestion.userId(), suggestion);
+			} else {
+				found.putIfAbsent(nextOverlay.getValue().userId(), nextOverlay.getValue());
+				nextOverlay = nextWithPrefix(overlayEntries, prefix);
+			}
+
+			if ((++steps & 0xFF) == 0 && System.nanoTime() > deadline) {
+				log.debug("Orcamento da sugestao de hospedes esgotado para o prefixo {}", prefix);
+				break;
+			}
+		}
+
+		return List.copyOf(found.values());
+	}
+
+	int size() {
+		return base.keys.length + overlay.size();
+	}
+
+	static String toSearchKey(String query) {
+		if (query == null || query.isBlank())
+			return null;
+
+		var normalized = NameNormalizer.normalize(query);
+
+		// Documento e telefone costumam ser digitados com pontuacao: "11 4444-4444", "123.456.789-01"
+		return PHONE_OR_DOCUMENT.matcher(normalized).matches() ? NON_DIGITS.matcher(normalized).replaceAll("")
+				: normalized;
+	}
+
+	private static Set<String> keysOf(UserSuggestion suggestion) {
+		var keys = new LinkedHashSet<String>(4);
+		addKey(keys, NameNormalizer.normalize(suggestion.name()));
+		addKey(keys, digits(suggestion.document()));
+
+		if (suggestion.phone() != null)
+			addKey(keys, digits((suggestion.phoneDdd() == null ? "" : suggestion.phoneDdd()) + suggestion.phone()));
+
+		return keys;
+	}
+
+	private static void addKey(Set<String> keys, String key) {
+		if (key != null && !key.isEmpty())
+			keys.add(key);
+	}
+
+	private static String digits(String value) {
+		return value == null ? null : NON_DIGITS.matcher(value).replaceAll("");
+	}
+
+	private static String overlayKey(String key, UUID userId) {
+		return key + OVERLAY_SEPARATOR + userId;
+	}
+
+	private static Map.Entry<String, UserSuggestion> nextWithPrefix(
+			Iterator<Map.Entry<String, UserSuggestion>> entries, String prefix) {
+		if (!entries.hasNext())
+			return null;
+
+		var entry = entries.next();
+		return entry.getKey().startsWith(prefix) ? entry : null;
+	}
+
+	private void removeFromOverlay(UUID userId) {
+		var keys = overlayKeysByUserId.remove(userId);
+
+		if (keys != null)
+			keys.forEach(key -> overlay.remove(overlayKey(key, userId)));
+	}
+
+	// Funde base e overlay em uma nova base; com a carga inicial em andamento a fusao fica para a proxima escrita
+	private void compactIfNeeded() {
+		if (loading || (overlay.size() < compactionThreshold && hiddenInBase.size() < compactionThreshold))
+			return;
+
+		var current = base;
+		var merged = new ArrayList<Entry>(current.keys.length + overlay.size());
+		var overlayEntries = overlay.entrySet().iterator();
+		Map.Entry<String, UserSuggestion> nextOverlay = overlayEntries.hasNext() ? overlayEntries.next() : null;
+
+		for (int i = 0; i < current.keys.length; i++) {
+			while (nextOverlay != null && nextOverlay.getKey().compareTo(current.keys[i]) < 0) {
+				merged.add(new Entry(baseKey(nextOverlay.getKey()), nextOverlay.getValue()));
+				nextOverlay = overlayEntries.hasNext() ? overlayEntries.next() : null;
+			}
+
+			if (!hiddenInBase.contains(current.suggestions[i].userId()))
+				merged.add(new Entry(current.keys[i], current.suggestions[i]));
+		}
+
+		while (nextOverlay != null) {
+			merged.add(new Entry(baseKey(nextOverlay.getKey()), nextOverlay.getValue()));
+			nextOverlay = overlayEntries.hasNext() ? overlayEntries.next() : null;
+		}
+
+		base = Segment.of(merged);
+		overlay.clear();
+		overlayKeysByUserId.clear();
+		hiddenInBase.clear();
+	}
+
+	private static String baseKey(String overlayKey) {
+		return overlayKey.substring(0, overlayKey.indexOf(OVERLAY_SEPARATOR));
+	}
+
+	private record Entry(String key, UserSuggestion suggestion) {
+	}
+
+	static final class Segment {
+		static final Segment EMPTY = new Segment(new String[0], new UserSuggestion[0]);
+
+		private final String[] keys;
+		private final UserSuggestion[] suggestions;
+
+		private Segment(String[] keys, UserSuggestion[] suggestions) {
+			this.keys = keys;
+			this.suggestions = suggestions;
+		}
+
+		static Segment of(List<Entry> sortedEntries) {
+			var keys = new String[sortedEntries.size()];
+			var suggestions = new UserSuggestion[sortedEntries.size()];
+
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = sortedEntries.get(i).key();
+				suggestions[i] = sortedEntries.get(i).suggestion();
+			}
+
+			return new Segment(keys, suggestions);
+		}
+
+		// Primeira posicao com chave >= prefixo
+		int lowerBound(String prefix) {
+			int low = 0;
+			int high = keys.length - 1;
+
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+
+				if (keys[middle].compareTo(prefix) < 0)
+					low = middle + 1;
+				else
+					high = middle - 1;
+			}
+
+			return low;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.desafiosenior.api_hotel.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Preenche users.normalized_name dos registros anteriores a coluna com o mesmo NameNormalizer usado na gravacao e na busca.
+ * Roda na subida, em lotes; so le linhas com normalized_name nulo, entao depois do primeiro preenchimento nao grava nada.
+ */
+@Component
+@Slf4j
+public class NormalizedNameBackfill implements ApplicationRunner {
+	private final int batchSize;
+	private final TransactionTemplate transactionTemplate;
+	private final UserRepository userRepository;
+
+	public NormalizedNameBackfill(UserRepository userRepository, PlatformTransactionManager transactionManager,
+			@Value("${api.users.normalized-name-backfill.batch-size:500}") int batchSize) {
+		this.batchSize = batchSize;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.userRepository = userRepository;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int filled = backfill();
+
+		if (filled > 0)
+			log.info("normalized_name preenchido em {} usuarios", filled);
+	}
+
+	// Os registros preenchidos deixam de atender a consulta, entao cada lote le sempre a primeira pagina
+	public int backfill() {
+		int filled = 0;
+		int count;
+
+		do {
+			count = transactionTemplate.execute(status -> fillNextBatch());
+			filled += count;
+		} while (count == batchSize);
+
+		return filled;
+	}
+
+	private int fillNextBatch() {
+		var users = userRepository.findWithoutNormalizedName(PageRequest.of(0, batchSize));
+
+		if (users.isEmpty())
+			return 0;
+
+		for (var user : users)
+			user.setNormalizedName(NameNormalizer.normalize(user.getName()));
+
+		userRepository.saveAll(users);
+		return users.size();
+	}
+}
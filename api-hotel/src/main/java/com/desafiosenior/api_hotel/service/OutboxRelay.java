@@ -0,0 +1,77 @@
+package com.desafiosenior.api_hotel.service;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+import com.desafiosenior.api_hotel.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Esvazia o outbox em lotes: trava os eventos mais antigos, publica com confirmacao e os remove na mesma transacao.
+ * Se o broker falhar, a transacao e desfeita e o lote volta a ser publicado: a entrega e at-least-once.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+	private final int batchSize;
+	private final BookingEventPublisher bookingEventPublisher;
+	private final int maxBatchesPerRun;
+	private final OutboxEventRepository outboxEventRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public OutboxRelay(OutboxEventRepository outboxEventRepository, BookingEventPublisher bookingEventPublisher,
+			PlatformTransactionManager transactionManager,
+			@Value("${api.outbox.relay.batch-size:100}") int batchSize,
+			@Value("${api.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun) {
+		this.batchSize = batchSize;
+		this.bookingEventPublisher = bookingEventPublisher;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.outboxEventRepository = outboxEventRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	// Retorna o total de eventos publicados; para no primeiro lote incompleto, na falha ou no limite de lotes
+	@Scheduled(fixedDelayString = "${api.outbox.relay.interval:PT1S}")
+	public int relay() {
+		int published = 0;
+
+		for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+			int count;
+
+			try {
+				count = transactionTemplate.execute(status -> publishOldestBatch());
+			} catch (AmqpException ex) {
+				log.warn("Falha ao publicar eventos do outbox, nova tentativa na proxima execucao: {}", ex.getMessage());
+				break;
+			}
+
+			published += count;
+
+			if (count < batchSize)
+				break;
+		}
+
+		if (published > 0)
+			log.debug("{} eventos do outbox publicados", published);
+
+		return published;
+	}
+
+	private int publishOldestBatch() {
+		var events = outboxEventRepository.lockOldest(batchSize);
+
+		if (events.isEmpty())
+			return 0;
+
+		bookingEventPublisher.publishConfirmed(events);
+		outboxEventRepository.deleteByIds(events.stream().map(OutboxEvent::getId).toList());
+
+		return events.size();
+	}
+}
@@ -0,0 +1,82 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.desafiosenior.api_hotel.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class PasswordHashingService {
+	private final ExecutorService executor;
+	private final PasswordEncoder passwordEncoder;
+	private final Duration waitTimeout;
+
+	/*
+	 * O hash roda em um pool proprio e limitado: as threads do Tomcat apenas aguardam o resultado e, com a fila cheia,
+	 * a requisicao e recusada com 503 em vez de acumular trabalho de CPU.
+	 */
+	public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+			@Value("${api.security.password.hashing-threads:0}") int hashingThreads,
+			@Value("${api.security.password.queue-capacity:64}") int queueCapacity,
+			@Value("${api.security.password.wait-timeout:PT5S}") Duration waitTimeout) {
+		this.passwordEncoder = passwordEncoder;
+		this.waitTimeout = waitTimeout;
+
+		var threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+		var threadNumber = new AtomicInteger();
+		var threadPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					var thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "password.hashing");
+	}
+
+	public String encode(String rawPassword) {
+		Future<String> hash;
+
+		try {
+			hash = executor.submit(() -> passwordEncoder.encode(rawPassword));
+		} catch (RejectedExecutionException ex) {
+			throw new ServiceUnavailableException("Servico de hash de senhas sobrecarregado, tente novamente em instantes");
+		}
+
+		try {
+			return hash.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException ex) {
+			hash.cancel(true);
+			throw new ServiceUnavailableException("Servico de hash de senhas sobrecarregado, tente novamente em instantes");
+		} catch (InterruptedException ex) {
+			hash.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Hash de senha interrompido");
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException)
+				throw runtimeException;
+
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,55 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class PrincipalCache {
+	public static final String CACHE_NAME = "principals";
+
+	private final Cache<String, User> principalsByLogin;
+
+	public PrincipalCache(MeterRegistry meterRegistry,
+			@Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+			@Value("${api.security.principal-cache.ttl:PT5M}") Duration ttl) {
+		this.principalsByLogin = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+		// Expoe cache.gets{result=hit|miss}, cache.evictions e cache.size em /actuator/metrics
+		CaffeineCacheMetrics.monitor(meterRegistry, principalsByLogin, CACHE_NAME);
+	}
+
+	public Optional<User> get(String login, Function<String, Optional<UserDetails>> loader) {
+		return Optional.ofNullable(principalsByLogin.get(login,
+				key -> loader.apply(key).map(userDetails -> snapshot((User) userDetails)).orElse(null)));
+	}
+
+	public void invalidate(String login) {
+		if (login != null)
+			principalsByLogin.invalidate(login);
+	}
+
+	public void invalidateAll() {
+		principalsByLogin.invalidateAll();
+	}
+
+	// Mantem apenas o necessario para montar as authorities: sem password e sem reservas
+	private static User snapshot(User user) {
+		var principal = new User(user.getDateRegister());
+		principal.setUserId(user.getUserId());
+		principal.setLogin(user.getLogin());
+		principal.setRole(user.getRole());
+
+		return principal;
+	}
+}
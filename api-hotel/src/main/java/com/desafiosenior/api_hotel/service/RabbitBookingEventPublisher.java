@@ -0,0 +1,61 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+
+/*
+ * Publica o lote inteiro em um unico canal (RabbitTemplate.invoke), o que preserva a ordem ate a fila, e espera as
+ * confirmacoes de uma vez no final em vez de uma por mensagem. Requer spring.rabbitmq.publisher-confirm-type=simple.
+ * Todos os eventos vao para o exchange de reservas com o tipo como routing key; as filas escolhem os tipos nas ligacoes.
+ */
+@Component
+public class RabbitBookingEventPublisher implements BookingEventPublisher {
+	public static final String HEADER_AGGREGATE_ID = "bookingId";
+
+	private final String exchange;
+	private final long confirmTimeoutMillis;
+	private final RabbitTemplate rabbitTemplate;
+
+	public RabbitBookingEventPublisher(RabbitTemplate rabbitTemplate,
+			@Value("${broker.exchange.booking.name}") String exchange,
+			@Value("${api.outbox.relay.confirm-timeout:PT5S}") Duration confirmTimeout) {
+		this.exchange = exchange;
+		this.confirmTimeoutMillis = confirmTimeout.toMillis();
+		this.rabbitTemplate = rabbitTemplate;
+	}
+
+	@Override
+	public void publishConfirmed(List<OutboxEvent> events) {
+		rabbitTemplate.invoke(operations -> {
+			for (var event : events) {
+				operations.send(exchange, event.getEventType(),
+						new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), messageProperties(event)));
+			}
+
+			operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+			return null;
+		});
+	}
+
+	private static MessageProperties messageProperties(OutboxEvent event) {
+		var properties = new MessageProperties();
+		properties.setMessageId(event.getEventId().toString());
+		properties.setType(event.getEventType());
+		properties.setHeader(HEADER_AGGREGATE_ID, event.getAggregateId().toString());
+		properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		properties.setContentEncoding(StandardCharsets.UTF_8.name());
+		properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+
+		return properties;
+	}
+}
@@ -0,0 +1,189 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.model.BookingInterval;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class RoomAvailabilityIndex {
+	private static final long OPEN_END = Long.MAX_VALUE;
+
+	private final BookingRepository bookingRepository;
+	private final Map<UUID, UUID> roomIdByBookingId = new ConcurrentHashMap<>();
+	private final Map<UUID, RoomIntervals> intervalsByRoomId = new ConcurrentHashMap<>();
+
+	public RoomAvailabilityIndex(BookingRepository bookingRepository) {
+		this.bookingRepository = bookingRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void reload() {
+		roomIdByBookingId.clear();
+		intervalsByRoomId.clear();
+
+		var intervals = bookingRepository.findIntervalsByStatusIn(BookingStatus.ACTIVE_STATUSES);
+		intervals.forEach(interval -> register(interval.bookingId(), interval.roomId(), interval.dateCheckin(),
+				interval.dateCheckout()));
+
+		log.info("Indice de disponibilidade carregado com {} reservas ativas", intervals.size());
+	}
+
+	public synchronized void clear() {
+		roomIdByBookingId.clear();
+		intervalsByRoomId.clear();
+	}
+
+	// Checkout nulo representa uma reserva em aberto, que ocupa o quarto indefinidamente
+	public boolean isAvailable(UUID roomId, LocalDateTime dateCheckin, LocalDateTime dateCheckout,
+			UUID ignoredBookingId) {
+		var roomIntervals = intervalsByRoomId.get(roomId);
+
+		if (roomIntervals == null)
+			return true;
+
+		return !roomIntervals.overlaps(toKey(dateCheckin), toEndKey(dateCheckout), ignoredBookingId);
+	}
+
+	public synchronized void register(UUID bookingId, UUID roomId, LocalDateTime dateCheckin,
+			LocalDateTime dateCheckout) {
+		unregister(bookingId);
+
+		intervalsByRoomId.compute(roomId, (id, current) -> (current == null ? RoomIntervals.EMPTY : current)
+				.with(bookingId, toKey(dateCheckin), toEndKey(dateCheckout)));
+		roomIdByBookingId.put(bookingId, roomId);
+	}
+
+	public synchronized void unregister(UUID bookingId) {
+		var roomId = roomIdByBookingId.remove(bookingId);
+
+		if (roomId == null)
+			return;
+
+		intervalsByRoomId.computeIfPresent(roomId, (id, current) -> {
+			var updated = current.without(bookingId);
+			return updated.size() == 0 ? null : updated;
+		});
+	}
+
+	private static long toKey(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+	}
+
+	private static long toEndKey(LocalDateTime dateTime) {
+		return dateTime == null ? OPEN_END : toKey(dateTime);
+	}
+
+	/*
+	 * Intervalos [checkin, checkout) de um quarto ordenados pelo checkin, com o maior checkout acumulado ate cada
+	 * posicao, permitindo podar a busca. Instancias sao imutaveis: leituras nao precisam de lock.
+	 */
+	static final class RoomIntervals {
+		static final RoomIntervals EMPTY = new RoomIntervals(new UUID[0], new long[0], new long[0]);
+
+		private final UUID[] bookingIds;
+		private final long[] starts;
+		private final long[] ends;
+		private final long[] maxEnds;
+
+		private RoomIntervals(UUID[] bookingIds, long[] starts, long[] ends) {
+			this.bookingIds = bookingIds;
+			this.starts = starts;
+			this.ends = ends;
+			this.maxEnds = new long[ends.length];
+
+			long maxEnd = Long.MIN_VALUE;
+			for (int i = 0; i < ends.length; i++) {
+				maxEnd = Math.max(maxEnd, ends[i]);
+				maxEnds[i] = maxEnd;
+			}
+		}
+
+		int size() {
+			return starts.length;
+		}
+
+		boolean overlaps(long start, long end, UUID ignoredBookingId) {
+			// ultimo intervalo que comeca antes do fim desejado
+			int i = lastStartBefore(end);
+
+			for (; i >= 0 && maxEnds[i] > start; i--) {
+				if (ends[i] > start && !bookingIds[i].equals(ignoredBookingId))
+					return true;
+			}
+
+			return false;
+		}
+
+		RoomIntervals with(UUID bookingId, long start, long end) {
+			int position = lastStartBefore(start) + 1;
+			int length = starts.length;
+
+			var newBookingIds = new UUID[length + 1];
+			var newStarts = new long[length + 1];
+			var newEnds = new long[length + 1];
+
+			System.arraycopy(bookingIds, 0, newBookingIds, 0, position);
+			System.arraycopy(starts, 0, newStarts, 0, position);
+			System.arraycopy(ends, 0, newEnds, 0, position);
+			newBookingIds[position] = bookingId;
+			newStarts[position] = start;
+			newEnds[position] = end;
+			System.arraycopy(bookingIds, position, newBookingIds, position + 1, length - position);
+			System.arraycopy(starts, position, newStarts, position + 1, length - position);
+			System.arraycopy(ends, position, newEnds, position + 1, length - position);
+
+			return new RoomIntervals(newBookingIds, newStarts, newEnds);
+		}
+
+		RoomIntervals without(UUID bookingId) {
+			int position = Arrays.asList(bookingIds).indexOf(bookingId);
+
+			if (position < 0)
+				return this;
+
+			int length = starts.length;
+			var newBookingIds = new UUID[length - 1];
+			var newStarts = new long[length - 1];
+			var newEnds = new long[length - 1];
+
+			System.arraycopy(bookingIds, 0, newBookingIds, 0, position);
+			System.arraycopy(starts, 0, newStarts, 0, position);
+			System.arraycopy(ends, 0, newEnds, 0, position);
+			System.arraycopy(bookingIds, position + 1, newBookingIds, position, length - position - 1);
+			System.arraycopy(starts, position + 1, newStarts, position, length - position - 1);
+			System.arraycopy(ends, position + 1, newEnds, position, length - position - 1);
+
+			return new RoomIntervals(newBookingIds, newStarts, newEnds);
+		}
+
+		private int lastStartBefore(long value) {
+			int low = 0;
+			int high = starts.length - 1;
+
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+
+				if (starts[middle] < value)
+					low = middle + 1;
+				else
+					high = middle - 1;
+			}
+
+			return high;
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.model.RoomView;
+import com.desafiosenior.api_hotel.repository.RoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Catalogo de quartos em memoria: RoomDto limita o numero a 1..1000, entao a busca por numero e um acesso direto a um
+ * array e a busca por id um HashMap. Os snapshots sao imutaveis e trocados inteiros a cada alteracao (poucas centenas
+ * de quartos, alterados raramente), entao as leituras nao usam lock.
+ *
+ * As alteracoes feitas nesta instancia sao publicadas no exchange fanout INVALIDATION_EXCHANGE; as demais instancias
+ * recarregam o quarto informado. Uma recarga completa periodica cobre mensagens perdidas com o broker indisponivel.
+ * A recarga le o banco fora do lock; as alteracoes locais feitas durante a leitura sao reaplicadas sobre o resultado.
+ */
+@Component
+@Slf4j
+public class RoomCatalog {
+	public static final String INVALIDATION_EXCHANGE = "rooms.catalog.invalidation";
+	public static final int MAX_NUMBER = 1000;
+	private static final String ALL_ROOMS = "*";
+	private static final String SEPARATOR = "|";
+
+	private final AmqpTemplate amqpTemplate;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final RoomRepository roomRepository;
+	private final SecondLevelCacheService secondLevelCacheService;
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+	// Protegidos pelo lock da instancia
+	private final List<UnaryOperator<Snapshot>> changesDuringReload = new ArrayList<>();
+	private int reloadsInProgress;
+
+	public RoomCatalog(RoomRepository roomRepository, AmqpTemplate amqpTemplate,
+			SecondLevelCacheService secondLevelCacheService) {
+		this.amqpTemplate = amqpTemplate;
+		this.roomRepository = roomRepository;
+		this.secondLevelCacheService = secondLevelCacheService;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${api.rooms.catalog.refresh-interval:PT5M}",
+			initialDelayString = "${api.rooms.catalog.refresh-interval:PT5M}")
+	public void reload() {
+		int firstChange;
+
+		synchronized (this) {
+			reloadsInProgress++;
+			firstChange = changesDuringReload.size();
+		}
+
+		try {
+			var rooms = roomRepository.findAllViews();
+			var reloaded = Snapshot.of(rooms);
+
+			synchronized (this) {
+				for (var change : changesDuringReload.subList(firstChange, changesDuringReload.size()))
+					reloaded = change.apply(reloaded);
+
+				snapshot = reloaded;
+			}
+
+			log.debug("Catalogo de quartos carregado com {} quartos", rooms.size());
+		} finally {
+			synchronized (this) {
+				if (--reloadsInProgress == 0)
+					changesDuringReload.clear();
+			}
+		}
+	}
+
+	public Optional<RoomView> findByRoomId(UUID roomId) {
+		return Optional.ofNullable(snapshot.byId.get(roomId));
+	}
+
+	public Optional<RoomView> findByNumber(Integer number) {
+		if (number == null || number < 1 || number > MAX_NUMBER)
+			return Optional.empty();
+
+		return Optional.ofNullable(snapshot.byNumber[number]);
+	}
+
+	// Atualiza somente esta instancia: usado ao completar o catalogo a partir do banco
+	public void putLocal(RoomView room) {
+		apply(current -> current.with(room));
+	}
+
+	public void put(RoomView room) {
+		putLocal(room);
+		publish(room.roomId().toString());
+	}
+
+	public void remove(UUID roomId) {
+		removeLocal(roomId);
+		publish(roomId.toString());
+	}
+
+	public void clear() {
+		apply(current -> Snapshot.EMPTY);
+		publish(ALL_ROOMS);
+	}
+
+	@RabbitListener(queues = "#{roomCatalogInvalidationQueue.name}")
+	public void onInvalidation(String message) {
+		var separatorIndex = message.indexOf(SEPARATOR);
+
+		if (separatorIndex < 0 || nodeId.equals(message.substring(0, separatorIndex)))
+			return;
+
+		var target = message.substring(separatorIndex + 1);
+
+		// O cache de segundo nivel e local: a alteracao feita em outra instancia tambem o invalida aqui
+		if (ALL_ROOMS.equals(target)) {
+			secondLevelCacheService.evictRooms();
+			reload();
+			return;
+		}
+
+		var roomId = UUID.fromString(target);
+		secondLevelCacheService.evictRoom(roomId);
+		roomRepository.findViewByRoomId(roomId).ifPresentOrElse(this::putLocal, () -> removeLocal(roomId));
+	}
+
+	private void removeLocal(UUID roomId) {
+		apply(current -> current.without(roomId));
+	}
+
+	private synchronized void apply(UnaryOperator<Snapshot> change) {
+		snapshot = change.apply(snapshot);
+
+		if (reloadsInProgress > 0)
+			changesDuringReload.add(change);
+	}
+
+	// Chamado apos o commit: falha no broker nao desfaz a alteracao, apenas atrasa as demais instancias
+	private void publish(String target) {
+		try {
+			amqpTemplate.convertAndSend(INVALIDATION_EXCHANGE, "", nodeId + SEPARATOR + target);
+		} catch (AmqpException ex) {
+			log.warn("Nao foi possivel publicar a invalidacao do catalogo de quartos ({}): {}", target, ex.getMessage());
+		}
+	}
+
+	private static final class Snapshot {
+		static final Snapshot EMPTY = new Snapshot(new RoomView[MAX_NUMBER + 1], Map.of());
+
+		private final RoomView[] byNumber;
+		private final Map<UUID, RoomView> byId;
+
+		private Snapshot(RoomView[] byNumber, Map<UUID, RoomView> byId) {
+			this.byNumber = byNumber;
+			this.byId = byId;
+		}
+
+		static Snapshot of(List<RoomView> rooms) {
+			var numbers = new RoomView[MAX_NUMBER + 1];
+			var ids = new HashMap<UUID, RoomView>(rooms.size() * 2);
+
+			for (var room : rooms) {
+				ids.put(room.roomId(), room);
+
+				if (isIndexable(room.number()))
+					numbers[room.number()] = room;
+			}
+
+			return new Snapshot(numbers, Map.copyOf(ids));
+		}
+
+		Snapshot with(RoomView room) {
+			var numbers = byNumber.clone();
+			var ids = new HashMap<>(byId);
+			var previous = ids.put(room.roomId(), room);
+
+			if (previous != null && isIndexable(previous.number()) && numbers[previous.number()] == previous)
+				numbers[previous.number()] = null;
+
+			if (isIndexable(room.number()))
+				numbers[room.number()] = room;
+
+			return new Snapshot(numbers, Map.copyOf(ids));
+		}
+
+		Snapshot without(UUID roomId) {
+			var room = byId.get(roomId);
+
+			if (room == null)
+				return this;
+
+			var numbers = byNumber.clone();
+			var ids = new HashMap<>(byId);
+			ids.remove(roomId);
+
+			if (isIndexable(room.number()) && numbers[room.number()] == room)
+				numbers[room.number()] = null;
+
+			return new Snapshot(numbers, Map.copyOf(ids));
+		}
+
+		private static boolean isIndexable(Integer number) {
+			return number != null && number >= 1 && number <= MAX_NUMBER;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.desafiosenior.api_hotel.exception.InvalidRequestException;
+import com.desafiosenior.api_hotel.model.BookingInterval;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.RoomOccupancyDto;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.repository.RoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Calendario de ocupacao quarto x noite: para cada quarto, um BitSet das noites ocupadas por reservas ativas
+ * dentro de um horizonte movel de HORIZON_DAYS a partir de hoje. Os BitSets publicados nunca sao alterados
+ * (cada escrita gera um novo), entao as leituras da grade nao precisam de lock.
+ */
+@Component
+@Slf4j
+public class RoomOccupancyCalendar {
+	static final int HORIZON_DAYS = 366;
+	private static final int MAX_CACHED_GRIDS = 64;
+	private static final BitSet NO_NIGHTS = new BitSet();
+
+	private final BookingRepository bookingRepository;
+	private final RoomRepository roomRepository;
+
+	private final Map<UUID, Integer> roomNumbers = new ConcurrentHashMap<>();
+	private final Map<UUID, UUID> roomIdByBookingId = new ConcurrentHashMap<>();
+	private final Map<UUID, Map<UUID, BookingInterval>> bookingsByRoomId = new ConcurrentHashMap<>();
+	private final Map<UUID, BitSet> nightsByRoomId = new ConcurrentHashMap<>();
+	private final Map<String, CachedGrid> cachedGrids = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private volatile LocalDate horizonStart = LocalDate.now();
+
+	public RoomOccupancyCalendar(BookingRepository bookingRepository, RoomRepository roomRepository) {
+		this.bookingRepository = bookingRepository;
+		this.roomRepository = roomRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void reload() {
+		roomNumbers.clear();
+		roomRepository.findAllRoomDtos().forEach(room -> roomNumbers.put(room.roomId(), room.number()));
+
+		clearBookings();
+		bookingRepository.findIntervalsByStatusIn(BookingStatus.ACTIVE_STATUSES).forEach(interval -> register(
+				interval.bookingId(), interval.roomId(), interval.dateCheckin(), interval.dateCheckout()));
+
+		log.info("Calendario de ocupacao carregado com {} quartos e {} reservas ativas", roomNumbers.size(),
+				roomIdByBookingId.size());
+	}
+
+	public synchronized void clear() {
+		roomNumbers.clear();
+		clearBookings();
+	}
+
+	public synchronized void clearBookings() {
+		roomIdByBookingId.clear();
+		bookingsByRoomId.clear();
+		nightsByRoomId.clear();
+		version.incrementAndGet();
+	}
+
+	public synchronized void putRoom(UUID roomId, Integer number) {
+		roomNumbers.put(roomId, number);
+		version.incrementAndGet();
+	}
+
+	public synchronized void register(UUID bookingId, UUID roomId, LocalDateTime dateCheckin,
+			LocalDateTime dateCheckout) {
+		unregister(bookingId);
+
+		bookingsByRoomId.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>()).put(bookingId,
+				new BookingInterval(bookingId, roomId, dateCheckin, dateCheckout));
+		roomIdByBookingId.put(bookingId, roomId);
+		recompute(roomId);
+	}
+
+	public synchronized void unregister(UUID bookingId) {
+		var roomId = roomIdByBookingId.remove(bookingId);
+
+		if (roomId == null)
+			return;
+
+		var bookings = bookingsByRoomId.get(roomId);
+		bookings.remove(bookingId);
+
+		if (bookings.isEmpty())
+			bookingsByRoomId.remove(roomId);
+
+		recompute(roomId);
+	}
+
+	public List<RoomOccupancyDto> getGrid(LocalDate from, LocalDate to) {
+		rollHorizonIfNeeded();
+
+		var start = horizonStart;
+		int fromIndex = (int) ChronoUnit.DAYS.between(start, from);
+		int toIndex = (int) ChronoUnit.DAYS.between(start, to) + 1;
+
+		if (fromIndex < 0 || toIndex > HORIZON_DAYS || fromIndex >= toIndex)
+			throw new InvalidRequestException("Periodo invalido para o calendario de ocupacao, deve estar entre " + start
+					+ " e " + start.plusDays(HORIZON_DAYS - 1) + " com from <= to: " + from + " - " + to);
+
+		var key = start + "/" + from + "/" + to;
+		var currentVersion = version.get();
+		var cached = cachedGrids.get(key);
+
+		if (cached != null && cached.version() == currentVersion)
+			return cached.rows();
+
+		var rows = roomNumbers.entrySet().stream().sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+				.map(room -> {
+					var nights = nightsByRoomId.getOrDefault(room.getKey(), NO_NIGHTS).get(fromIndex, toIndex);
+					return new RoomOccupancyDto(room.getKey(), room.getValue(), from, to,
+							toOccupancyString(nights, toIndex - fromIndex), nights.cardinality());
+				}).toList();
+
+		if (cachedGrids.size() >= MAX_CACHED_GRIDS)
+			cachedGrids.clear();
+
+		cachedGrids.put(key, new CachedGrid(currentVersion, rows));
+		return rows;
+	}
+
+	// Leitura do horizonte volatil sem lock; o monitor so e tomado na virada do dia
+	private void rollHorizonIfNeeded() {
+		if (LocalDate.now().equals(horizonStart))
+			return;
+
+		synchronized (this) {
+			var today = LocalDate.now();
+
+			if (today.equals(horizonStart))
+				return;
+
+			horizonStart = today;
+			nightsByRoomId.clear();
+			bookingsByRoomId.keySet().forEach(this::recompute);
+			version.incrementAndGet();
+		}
+	}
+
+	private void recompute(UUID roomId) {
+		var bookings = bookingsByRoomId.get(roomId);
+
+		if (bookings == null) {
+			nightsByRoomId.remove(roomId);
+		} else {
+			var nights = new BitSet(HORIZON_DAYS);
+			bookings.values().forEach(booking -> markNights(nights, booking));
+			nightsByRoomId.put(roomId, nights);
+		}
+
+		version.incrementAndGet();
+	}
+
+	// Noites de checkin ate a vespera do checkout; uma estadia no mesmo dia ocupa a noite do checkin
+	private void markNights(BitSet nights, BookingInterval booking) {
+		var start = horizonStart;
+		var firstNight = booking.dateCheckin().toLocalDate();
+		var lastNightExclusive = booking.dateCheckout() == null ? start.plusDays(HORIZON_DAYS)
+				: booking.dateCheckout().toLocalDate();
+
+		if (!lastNightExclusive.isAfter(firstNight))
+			lastNightExclusive = firstNight.plusDays(1);
+
+		int fromIndex = (int) Math.max(0, ChronoUnit.DAYS.between(start, firstNight));
+		int toIndex = (int) Math.min(HORIZON_DAYS, ChronoUnit.DAYS.between(start, lastNightExclusive));
+
+		if (fromIndex < toIndex)
+			nights.set(fromIndex, toIndex);
+	}
+
+	private String toOccupancyString(BitSet nights, int length) {
+		var occupancy = new char[length];
+
+		for (int i = 0; i < length; i++)
+			occupancy[i] = nights.get(i) ? '1' : '0';
+
+		return new String(occupancy);
+	}
+
+	private record CachedGrid(long version, List<RoomOccupancyDto> rows) {
+	}
+}
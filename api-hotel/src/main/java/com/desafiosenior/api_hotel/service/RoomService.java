@@ -1,25 +1,46 @@
 package com.desafiosenior.api_hotel.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.desafiosenior.api_hotel.exception.InvalidRequestException;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.Room;
 import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomOccupancyDto;
+import com.desafiosenior.api_hotel.model.RoomView;
 import com.desafiosenior.api_hotel.repository.RoomRepository;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+import com.desafiosenior.api_hotel.util.KeysetCursor;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
 
 @Service
 public class RoomService {
+	private final RoomAvailabilityIndex roomAvailabilityIndex;
+	private final RoomCatalog roomCatalog;
+	private final SecondLevelCacheService secondLevelCacheService;
+	private final RoomOccupancyCalendar roomOccupancyCalendar;
 	private final RoomRepository roomRepository;
 
-	public RoomService(RoomRepository roomRepository) {
+	public RoomService(RoomRepository roomRepository, RoomAvailabilityIndex roomAvailabilityIndex,
+			RoomOccupancyCalendar roomOccupancyCalendar, RoomCatalog roomCatalog,
+			SecondLevelCacheService secondLevelCacheService) {
+		this.roomAvailabilityIndex = roomAvailabilityIndex;
+		this.roomCatalog = roomCatalog;
+		this.secondLevelCacheService = secondLevelCacheService;
+		this.roomOccupancyCalendar = roomOccupancyCalendar;
 		this.roomRepository = roomRepository;
 	}
 
@@ -31,17 +52,60 @@ public class RoomService {
 			return Optional.empty();
 
 		roomRepository.delete(roomDb.get());
+		// As reservas do quarto sao removidas em cascata
+		TransactionHooks.afterCommit(() -> {
+			roomCatalog.remove(roomId);
+			secondLevelCacheService.evictRoom(roomId);
+			roomAvailabilityIndex.reload();
+			roomOccupancyCalendar.reload();
+		});
 		return Optional.of(ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 	}
 
 	@Transactional
 	public void deleteAll() {
 		roomRepository.deleteAll();
+		TransactionHooks.afterCommit(() -> {
+			roomCatalog.clear();
+			secondLevelCacheService.evictRooms();
+			roomAvailabilityIndex.clear();
+			roomOccupancyCalendar.clear();
+		});
+	}
+
+	public List<RoomDto> findAvailable(LocalDateTime from, LocalDateTime to) {
+		if (!to.isAfter(from))
+			throw new InvalidRequestException("A data final (to): " + to + " deve ser posterior a data inicial (from): " + from);
+
+		return roomRepository.findAvailableRooms(from, to, BookingStatus.ACTIVE_STATUSES);
+	}
+
+	public List<RoomOccupancyDto> getOccupancyGrid(LocalDate from, LocalDate to) {
+		return roomOccupancyCalendar.getGrid(from, to);
 	}
 
 	public List<Room> findAll() {
 		return roomRepository.findAll();
 	}
+
+	public KeysetPage<RoomView> findPage(String cursor, Integer size) {
+		var pageSize = KeysetCursor.pageSize(size);
+		var pageable = PageRequest.ofSize(pageSize);
+
+		if (cursor == null || cursor.isBlank())
+			return KeysetPage.of(roomRepository.findFirstPage(pageable), pageSize,
+					room -> new KeysetCursor(room.dateRegister(), room.roomId()));
+
+		var keysetCursor = KeysetCursor.decode(cursor);
+		var rooms = roomRepository.findPageAfter(keysetCursor.dateRegister(), keysetCursor.id(), pageable);
+
+		return KeysetPage.of(rooms, pageSize, room -> new KeysetCursor(room.dateRegister(), room.roomId()));
+	}
+
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<RoomView> consumer) {
+		JpaStreams.forEach(roomRepository.streamAllOrdered(), consumer);
+	}
 	
 	public Optional<Room> findByNumber(Integer number) {
 		var roomDb = roomRepository.findByNumber(number);
@@ -61,13 +125,53 @@ public class RoomService {
 		return roomDb;
 	}
 
+	// Consultas do catalogo em memoria; um quarto ausente (ex.: criado em outra instancia) e buscado no banco
+	public Optional<RoomView> findCachedByRoomId(UUID roomId) {
+		var room = roomCatalog.findByRoomId(roomId);
+
+		if (room.isPresent())
+			return room;
+
+		return cacheMiss(roomRepository.findViewByRoomId(roomId));
+	}
+
+	public Optional<RoomView> findCachedByNumber(Integer number) {
+		var room = roomCatalog.findByNumber(number);
+
+		if (room.isPresent())
+			return room;
+
+		return cacheMiss(roomRepository.findByNumber(number).map(RoomView::from));
+	}
+
+	private Optional<RoomView> cacheMiss(Optional<RoomView> roomDb) {
+		roomDb.ifPresent(roomCatalog::putLocal);
+		return roomDb;
+	}
+
+	// Referencia para associar a reserva sem carregar o quarto
+	public Room getReference(UUID roomId) {
+		return roomRepository.getReferenceById(roomId);
+	}
+
+	public Optional<RoomView> findViewByRoomId(UUID roomId) {
+		return roomRepository.findViewByRoomId(roomId);
+	}
+
 	@Transactional
 	public Room save(RoomDto roomDto) {
 		var room = new Room(LocalDateTime.now());
 		BeanUtils.copyProperties(roomDto, room);
 		room.setDateLastChange(LocalDateTime.now());
 
-		return roomRepository.save(room);
+		var roomDb = roomRepository.save(room);
+		var roomView = RoomView.from(roomDb);
+		TransactionHooks.afterCommit(() -> {
+			roomCatalog.put(roomView);
+			roomOccupancyCalendar.putRoom(roomView.roomId(), roomView.number());
+		});
+
+		return roomDb;
 	}
 
 	@Transactional
@@ -79,6 +183,13 @@ public class RoomService {
 
 		BeanUtils.copyProperties(roomDto, roomDb.get());
 		roomDb.get().setDateLastChange(LocalDateTime.now());
+		var roomView = new RoomView(roomId, roomDto.number(), roomDb.get().getDateLastChange(),
+				roomDb.get().getDateRegister());
+		TransactionHooks.afterCommit(() -> {
+			roomCatalog.put(roomView);
+			secondLevelCacheService.evictRoom(roomId);
+			roomOccupancyCalendar.putRoom(roomId, roomDto.number());
+		});
 		return Optional.of(roomRepository.save(roomDb.get()));
 	}
 }
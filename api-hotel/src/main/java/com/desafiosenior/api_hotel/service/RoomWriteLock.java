@@ -0,0 +1,79 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
+
+/*
+ * Exclusao mutua por quarto para as gravacoes de reserva (verificacao de disponibilidade + gravacao). Dentro da JVM sao
+ * locks listrados pelo hash do roomId: quartos em listras diferentes seguem em paralelo e uma colisao apenas serializa
+ * dois quartos sem relacao. O lock so e liberado ao final da transacao, depois dos callbacks afterCommit, entao o
+ * proximo escritor do quarto ja encontra o RoomAvailabilityIndex atualizado.
+ *
+ * Com mais de uma instancia (distributed=true) a transacao tambem toma pg_advisory_xact_lock no mesmo hash, liberado
+ * pelo Postgres no commit ou rollback. O indice em memoria de uma instancia nao ve as gravacoes das outras, por isso
+ * nesse modo o BookingService decide a disponibilidade somente no banco (isDistributed), sem consultar o indice. A
+ * constraint bookings_room_stay_excl continua sendo a garantia final.
+ */
+@Component
+public class RoomWriteLock {
+	// Primeira chave de pg_advisory_xact_lock(int, int): separa os locks de quarto de outros usos de advisory lock
+	static final int ADVISORY_LOCK_NAMESPACE = 0x524F4F4D;
+
+	private final BookingRepository bookingRepository;
+	private final boolean distributed;
+	private final int mask;
+	private final ReentrantLock[] stripes;
+
+	public RoomWriteLock(BookingRepository bookingRepository,
+			@Value("${api.bookings.room-lock.stripes:256}") int stripes,
+			@Value("${api.bookings.room-lock.distributed:true}") boolean distributed) {
+		var size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+		this.bookingRepository = bookingRepository;
+		this.distributed = distributed;
+		this.mask = size - 1;
+		this.stripes = new ReentrantLock[size];
+
+		for (int i = 0; i < size; i++)
+			this.stripes[i] = new ReentrantLock();
+	}
+
+	public <T> T executeLocked(UUID roomId, Supplier<T> action) {
+		var lock = stripeOf(roomId);
+		lock.lock();
+
+		try {
+			if (distributed && TransactionSynchronizationManager.isActualTransactionActive())
+				bookingRepository.lockRoom(ADVISORY_LOCK_NAMESPACE, roomId.hashCode());
+
+			var result = action.get();
+			TransactionHooks.afterCompletion(lock::unlock);
+
+			return result;
+		} catch (RuntimeException | Error ex) {
+			lock.unlock();
+			throw ex;
+		}
+	}
+
+	public boolean isDistributed() {
+		return distributed;
+	}
+
+	int stripeCount() {
+		return stripes.length;
+	}
+
+	ReentrantLock stripeOf(UUID roomId) {
+		var hash = roomId.hashCode();
+		return stripes[(hash ^ (hash >>> 16)) & mask];
+	}
+}
@@ -0,0 +1,67 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import com.desafiosenior.api_hotel.model.CacheRegionStatisticsDto;
+import com.desafiosenior.api_hotel.model.CacheStatisticsDto;
+import com.desafiosenior.api_hotel.model.Room;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Eviccao explicita do cache de segundo nivel. As escritas feitas pelo Hibernate nesta instancia ja atualizam o
+ * cache; as chamadas daqui cobrem remocoes em massa e alteracoes feitas por outras instancias (RoomCatalog).
+ * A consulta em cache (findByNumber) e descartada junto.
+ */
+@Service
+public class SecondLevelCacheService {
+	private final SessionFactory sessionFactory;
+
+	public SecondLevelCacheService(EntityManagerFactory entityManagerFactory) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+	}
+
+	public void evictRoom(UUID roomId) {
+		cache().evictEntityData(Room.class, roomId);
+		cache().evictDefaultQueryRegion();
+	}
+
+	public void evictRooms() {
+		cache().evictEntityData(Room.class);
+		cache().evictDefaultQueryRegion();
+	}
+
+	public void evictAll() {
+		cache().evictAllRegions();
+	}
+
+	public CacheStatisticsDto getStatistics() {
+		var statistics = sessionFactory.getStatistics();
+		var regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted()
+				.map(statistics::getCacheRegionStatistics).filter(Objects::nonNull)
+				.map(region -> new CacheRegionStatisticsDto(region.getRegionName(), region.getHitCount(),
+						region.getMissCount(), region.getPutCount(),
+						CacheRegionStatisticsDto.hitRatio(region.getHitCount(), region.getMissCount()),
+						region.getElementCountInMemory()))
+				.toList();
+
+		return new CacheStatisticsDto(statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(),
+				CacheRegionStatisticsDto.hitRatio(statistics.getSecondLevelCacheHitCount(),
+						statistics.getSecondLevelCacheMissCount()),
+				statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+				statistics.getQueryCachePutCount(), CacheRegionStatisticsDto.hitRatio(
+						statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+				regions);
+	}
+
+	private Cache cache() {
+		return sessionFactory.getCache();
+	}
+}
@@ -0,0 +1,138 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.desafiosenior.api_hotel.model.RevokedToken;
+import com.desafiosenior.api_hotel.repository.RevokedTokenRepository;
+import com.desafiosenior.api_hotel.util.BloomFilter;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Revogacoes ficam na tabela revoked_tokens e, para a verificacao de cada requisicao, em buckets locais de Bloom filter.
+ * Cada revogacao e publicada no exchange fanout REVOCATION_EXCHANGE apos o commit e as demais instancias a incluem nos
+ * seus buckets; a recarga periodica a partir da tabela cobre mensagens perdidas com o broker indisponivel.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+	public static final String REVOCATION_EXCHANGE = "auth.tokens.revocation";
+	private static final double FALSE_POSITIVE_RATE = 0.001;
+	private static final long SECONDS_PER_BUCKET = 3600;
+	private static final String SEPARATOR = "|";
+
+	private final AmqpTemplate amqpTemplate;
+	private final int bucketCapacity;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final RevokedTokenRepository revokedTokenRepository;
+	// Um bucket por hora de expiracao: quando a hora passa, todos os tokens do bucket ja expiraram e ele e descartado
+	private final ConcurrentSkipListMap<Long, Bucket> bucketsByExpiryHour = new ConcurrentSkipListMap<>();
+
+	public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, AmqpTemplate amqpTemplate,
+			@Value("${api.security.revocation.bucket-capacity:10000}") int bucketCapacity) {
+		this.amqpTemplate = amqpTemplate;
+		this.bucketCapacity = bucketCapacity;
+		this.revokedTokenRepository = revokedTokenRepository;
+	}
+
+	// Apenas acrescenta: nao descarta revogacoes recebidas durante a leitura da tabela
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${api.security.revocation.refresh-interval:PT5M}",
+			initialDelayString = "${api.security.revocation.refresh-interval:PT5M}")
+	public void reload() {
+		var revokedTokens = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+		revokedTokens.forEach(revokedToken -> remember(revokedToken.getJti(), toInstant(revokedToken.getExpiresAt())));
+
+		log.debug("Filtro de revogacao carregado com {} tokens revogados", revokedTokens.size());
+	}
+
+	@Transactional
+	public void revoke(String jti, Instant expiresAt) {
+		if (!expiresAt.isAfter(Instant.now()))
+			return;
+
+		revokedTokenRepository.save(new RevokedToken(jti, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+		TransactionHooks.afterCommit(() -> {
+			remember(jti, expiresAt);
+			publish(jti, expiresAt);
+		});
+	}
+
+	@RabbitListener(queues = "#{tokenRevocationQueue.name}")
+	public void onRevocation(String message) {
+		var parts = message.split(Pattern.quote(SEPARATOR));
+
+		if (parts.length != 3 || nodeId.equals(parts[0]))
+			return;
+
+		remember(parts[1], Instant.ofEpochSecond(Long.parseLong(parts[2])));
+	}
+
+	// O bloom descarta em O(1) quase todos os tokens nao revogados; o set exato elimina os falsos positivos
+	public boolean isRevoked(String jti, Instant expiresAt) {
+		var bucket = bucketsByExpiryHour.get(expiryHour(expiresAt));
+
+		return bucket != null && bucket.bloomFilter.mightContain(jti) && bucket.jtis.contains(jti);
+	}
+
+	@Scheduled(fixedDelayString = "${api.security.revocation.purge-interval:PT10M}")
+	@Transactional
+	public void purgeExpired() {
+		bucketsByExpiryHour.headMap(expiryHour(Instant.now())).clear();
+		var deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+		if (deleted > 0)
+			log.info("{} tokens revogados e ja expirados removidos", deleted);
+	}
+
+	private void remember(String jti, Instant expiresAt) {
+		var bucket = bucketsByExpiryHour.computeIfAbsent(expiryHour(expiresAt), hour -> new Bucket(bucketCapacity));
+		bucket.bloomFilter.add(jti);
+		bucket.jtis.add(jti);
+	}
+
+	// Chamado apos o commit: falha no broker nao desfaz a revogacao, as demais instancias a recebem na proxima recarga
+	private void publish(String jti, Instant expiresAt) {
+		try {
+			amqpTemplate.convertAndSend(REVOCATION_EXCHANGE, "",
+					nodeId + SEPARATOR + jti + SEPARATOR + expiresAt.getEpochSecond());
+		} catch (AmqpException ex) {
+			log.warn("Nao foi possivel publicar a revogacao do token (jti {}): {}", jti, ex.getMessage());
+		}
+	}
+
+	private static long expiryHour(Instant expiresAt) {
+		return Math.floorDiv(expiresAt.getEpochSecond(), SECONDS_PER_BUCKET);
+	}
+
+	private static Instant toInstant(LocalDateTime dateTime) {
+		return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+	}
+
+	private static final class Bucket {
+		private final BloomFilter bloomFilter;
+		private final Set<String> jtis = ConcurrentHashMap.newKeySet();
+
+		private Bucket(int capacity) {
+			this.bloomFilter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+		}
+	}
+}
@@ -3,32 +3,110 @@ package com.desafiosenior.api_hotel.service;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.desafiosenior.api_hotel.model.User;
 
 @Service
 public class TokenService {
-	@Value("${api.security.token.secret}")
-	private String secret;
+	static final String ISSUER = "auth-api";
+
+	private final String kid;
+	private final Algorithm signer;
+	private final JWTVerifier currentVerifier;
+	private final TokenRevocationService tokenRevocationService;
+	private final Map<String, JWTVerifier> verifiersByKid;
+
+	/*
+	 * Algorithm e JWTVerifier sao imutaveis e thread-safe: criados uma unica vez. retiredSecrets ("kid:segredo,...")
+	 * mantem validos os tokens assinados com chaves anteriores enquanto nao expiram, permitindo rotacionar o segredo
+	 * sem deslogar todos os usuarios.
+	 */
+	public TokenService(@Value("${api.security.token.secret}") String secret,
+			@Value("${api.security.token.kid:k1}") String kid,
+			@Value("${api.security.token.retired-secrets:}") String retiredSecrets,
+			TokenRevocationService tokenRevocationService) {
+		this.kid = kid;
+		this.tokenRevocationService = tokenRevocationService;
+		this.signer = Algorithm.HMAC256(secret);
+		this.currentVerifier = buildVerifier(signer);
+
+		var verifiers = new HashMap<String, JWTVerifier>();
+		parseRetiredSecrets(retiredSecrets).forEach((retiredKid, retiredSecret) -> verifiers.put(retiredKid,
+				buildVerifier(Algorithm.HMAC256(retiredSecret))));
+		verifiers.put(kid, currentVerifier);
+		this.verifiersByKid = Map.copyOf(verifiers);
+	}
 
 	public String generateToken(User user) {
-		Algorithm algorithm = Algorithm.HMAC256(secret);
-		String token = JWT.create().withIssuer("auth-api").withSubject(user.getLogin())
-				.withExpiresAt(genExpirationDate()).sign(algorithm);
-		return token;
+		return JWT.create().withKeyId(kid).withJWTId(UUID.randomUUID().toString()).withIssuer(ISSUER)
+				.withSubject(user.getLogin()).withExpiresAt(genExpirationDate()).sign(signer);
 	}
 
 	public String validateToken(String token) {
-		Algorithm algorithm = Algorithm.HMAC256(secret);
-		return JWT.require(algorithm).withIssuer("auth-api").build().verify(token).getSubject();
+		var verifiedJWT = verify(token);
+
+		if (verifiedJWT.getId() != null
+				&& tokenRevocationService.isRevoked(verifiedJWT.getId(), verifiedJWT.getExpiresAtAsInstant()))
+			throw new JWTVerificationException("Token revogado (jti): " + verifiedJWT.getId());
+
+		return verifiedJWT.getSubject();
+	}
+
+	// Tokens sem jti (emitidos antes da revogacao existir) so deixam de valer ao expirar
+	public void revokeToken(String token) {
+		var verifiedJWT = verify(token);
+
+		if (verifiedJWT.getId() != null)
+			tokenRevocationService.revoke(verifiedJWT.getId(), verifiedJWT.getExpiresAtAsInstant());
 	}
 
 	protected Instant genExpirationDate() {
 		return LocalDateTime.now().plusHours(3).toInstant(ZoneOffset.of("-03:00"));
 	}
+
+	private DecodedJWT verify(String token) {
+		var decodedJWT = JWT.decode(token);
+		var keyId = decodedJWT.getKeyId();
+		// Tokens emitidos antes do kid foram assinados com o segredo atual
+		var verifier = keyId == null ? currentVerifier : verifiersByKid.get(keyId);
+
+		if (verifier == null)
+			throw new JWTVerificationException("Chave de assinatura desconhecida (kid): " + keyId);
+
+		return verifier.verify(decodedJWT);
+	}
+
+	private static JWTVerifier buildVerifier(Algorithm algorithm) {
+		return JWT.require(algorithm).withIssuer(ISSUER).build();
+	}
+
+	private static Map<String, String> parseRetiredSecrets(String retiredSecrets) {
+		var secretsByKid = new HashMap<String, String>();
+
+		if (retiredSecrets == null || retiredSecrets.isBlank())
+			return secretsByKid;
+
+		for (var entry : retiredSecrets.split(",")) {
+			var separator = entry.indexOf(':');
+
+			if (separator <= 0 || separator == entry.length() - 1)
+				throw new IllegalArgumentException(
+						"api.security.token.retired-secrets deve seguir o formato kid:segredo,kid:segredo");
+
+			secretsByKid.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+		}
+
+		return secretsByKid;
+	}
 }
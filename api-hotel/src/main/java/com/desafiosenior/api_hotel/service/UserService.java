@@ -4,31 +4,56 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.GuestBookingView;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.model.UserDto;
 import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.model.UserRole;
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.model.UserView;
 import com.desafiosenior.api_hotel.repository.UserRepository;
 import com.desafiosenior.api_hotel.util.AttributeChecker;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+import com.desafiosenior.api_hotel.util.JpaStreams;
+import com.desafiosenior.api_hotel.util.KeysetCursor;
+import com.desafiosenior.api_hotel.util.TransactionHooks;
 
 @Service
 public class UserService {
 	private final MessageSource messageSource;
+	private final PasswordHashingService passwordHashingService;
+	private final PrincipalCache principalCache;
+	private final GuestSearchCache guestSearchCache;
+	private final GuestSuggestIndex guestSuggestIndex;
+	private final RoomAvailabilityIndex roomAvailabilityIndex;
+	private final RoomOccupancyCalendar roomOccupancyCalendar;
 	private final UserRepository userRepository;
 
-	public UserService(MessageSource messageSource, UserRepository userRepository) {
+	public UserService(MessageSource messageSource, UserRepository userRepository,
+			RoomAvailabilityIndex roomAvailabilityIndex, RoomOccupancyCalendar roomOccupancyCalendar,
+			PrincipalCache principalCache, GuestSearchCache guestSearchCache, GuestSuggestIndex guestSuggestIndex,
+			PasswordHashingService passwordHashingService) {
 		this.messageSource = messageSource;
+		this.passwordHashingService = passwordHashingService;
+		this.principalCache = principalCache;
+		this.guestSearchCache = guestSearchCache;
+		this.guestSuggestIndex = guestSuggestIndex;
+		this.roomAvailabilityIndex = roomAvailabilityIndex;
+		this.roomOccupancyCalendar = roomOccupancyCalendar;
 		this.userRepository = userRepository;
 	}
 
@@ -39,19 +64,54 @@ public class UserService {
 		if (userDb.isEmpty())
 			return Optional.empty();
 
+		var login = userDb.get().getLogin();
 		userRepository.delete(userDb.get());
+		// As reservas do hospede sao removidas em cascata
+		TransactionHooks.afterCommit(() -> {
+			principalCache.invalidate(login);
+			guestSearchCache.invalidateAll();
+			guestSuggestIndex.remove(userId);
+			roomAvailabilityIndex.reload();
+			roomOccupancyCalendar.reload();
+		});
 		return Optional.of(ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 	}
 
 	@Transactional
 	public void deleteAll() {
 		userRepository.deleteAll();
+		TransactionHooks.afterCommit(() -> {
+			principalCache.invalidateAll();
+			guestSearchCache.invalidateAll();
+			guestSuggestIndex.clear();
+			roomAvailabilityIndex.clear();
+			roomOccupancyCalendar.clearBookings();
+		});
 	}
 
 	public List<User> findAll() {
 		return userRepository.findAll();
 	}
 
+	public KeysetPage<UserView> findPage(String cursor, Integer size) {
+		var pageSize = KeysetCursor.pageSize(size);
+		var pageable = PageRequest.ofSize(pageSize);
+
+		if (cursor == null || cursor.isBlank())
+			return KeysetPage.of(userRepository.findFirstPage(pageable), pageSize,
+					user -> new KeysetCursor(user.dateRegister(), user.userId()));
+
+		var keysetCursor = KeysetCursor.decode(cursor);
+		var users = userRepository.findPageAfter(keysetCursor.dateRegister(), keysetCursor.id(), pageable);
+
+		return KeysetPage.of(users, pageSize, user -> new KeysetCursor(user.dateRegister(), user.userId()));
+	}
+
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<UserView> consumer) {
+		JpaStreams.forEach(userRepository.streamAllOrdered(), consumer);
+	}
+
 	public Optional<User> findById(UUID userId) {
 		var userDb = userRepository.findByUserId(userId);
 
@@ -61,18 +121,26 @@ public class UserService {
 		return userDb;
 	}
 
+	public Optional<UserView> findViewByUserId(UUID userId) {
+		return userRepository.findViewByUserId(userId);
+	}
+
 	@Transactional
 	public User save(UserDto userDto) {
 		var user = new User(LocalDateTime.now());
 		
-		String encryptedPassword = new BCryptPasswordEncoder().encode(userDto.password());
+		String encryptedPassword = passwordHashingService.encode(userDto.password());
 		
 		BeanUtils.copyProperties(userDto, user);
 		user.setPassword(encryptedPassword);
+		user.setNormalizedName(NameNormalizer.normalize(user.getName()));
 		user.setRole(user.getRole().toUpperCase());
 		user.setDateLastChange(LocalDateTime.now());
 
-		return userRepository.save(user);
+		var userDb = userRepository.save(user);
+		refreshGuestSuggestion(userDb);
+
+		return userDb;
 	}
 
 	@Transactional
@@ -82,14 +150,43 @@ public class UserService {
 		if (userDb.isEmpty())
 			return Optional.empty();
 		
-		String encryptedPassword = new BCryptPasswordEncoder().encode(userDto.password());
+		String encryptedPassword = passwordHashingService.encode(userDto.password());
+		var oldLogin = userDb.get().getLogin();
 	    BeanUtils.copyProperties(userDto, userDb.get(), "bookings", "password");
 	    
 	    userDb.get().setPassword(encryptedPassword);
+		userDb.get().setNormalizedName(NameNormalizer.normalize(userDb.get().getName()));
 		userDb.get().setRole(userDb.get().getRole().toUpperCase());
 		userDb.get().setDateLastChange(LocalDateTime.now());
+
+		// Login e role podem ter mudado: o principal em cache deixa de valer
+		var newLogin = userDb.get().getLogin();
+		TransactionHooks.afterCommit(() -> {
+			principalCache.invalidate(oldLogin);
+			principalCache.invalidate(newLogin);
+			guestSearchCache.invalidateAll();
+		});
+		refreshGuestSuggestion(userDb.get());
+
 		return Optional.of(userRepository.save(userDb.get()));
 	}
+
+	// Somente hospedes entram no typeahead; um usuario que deixou de ser hospede sai do indice
+	private void refreshGuestSuggestion(User user) {
+		var suggestion = UserSuggestion.from(user);
+		var isGuest = UserRole.GUEST.getRole().equals(user.getRole());
+
+		TransactionHooks.afterCommit(() -> {
+			if (isGuest)
+				guestSuggestIndex.upsert(suggestion);
+			else
+				guestSuggestIndex.remove(suggestion.userId());
+		});
+	}
+
+	public List<UserSuggestion> suggestGuests(String query, Integer limit) {
+		return guestSuggestIndex.suggest(query, limit);
+	}
 	
 	public List<Optional<User>> getUsersByAttributeChecker(UserFinderStandardParamsDto userHostedDto, String role) {
 		var checker = new AttributeChecker();
@@ -110,61 +207,48 @@ public class UserService {
 										userHostedDto.phoneDdd(), userHostedDto.phone(), role);
 	}
 	
-	private List<Optional<User>> getUsersWithFilteredUnhostedGuestsBookings(List<Optional<User>> usersDb) {
-	    return usersDb.stream()
-	            .filter(Optional::isPresent)
-	            .map(Optional::get)
-	            .filter(user -> user.getBookings().stream().anyMatch(booking -> 
-	                booking.getDateCheckin().isAfter(LocalDateTime.now())
-	                && BookingStatus.SCHEDULED.getStatus().equals(booking.getStatus())
-	                && (booking.getDateCheckout() == null 
-	                    || booking.getDateCheckout() != null 
-	                        && (booking.getDateCheckout().isAfter(LocalDateTime.now()) 
-	                            || booking.getDateCheckout().isEqual(LocalDateTime.now()))
-	                )
-	            ))
-	            .map(Optional::of)
-	            .toList();
-	}
-
-	public List<Optional<User>> findByGuestWhithBookingButNotIsHostedAtHotelYet(UserFinderStandardParamsDto userUnhostedDto, String role) {
+	public List<GuestBookingView> findByGuestWhithBookingButNotIsHostedAtHotelYet(UserFinderStandardParamsDto userUnhostedDto, String role) {
 		chekingInputParametersException(userUnhostedDto);
-		List<Optional<User>> usersDb = getUsersByAttributeChecker(userUnhostedDto, role);
-		List<Optional<User>> usersWithFilteredBookings = getUsersWithFilteredUnhostedGuestsBookings(usersDb);
-
-		if (isThereNoUserDb(usersWithFilteredBookings))
-			return List.of(Optional.empty());
 
-		return usersWithFilteredBookings;
+		return guestSearchCache.get(GuestSearchCache.Stay.UNHOSTED, role, userUnhostedDto, this::findUnhostedGuests);
 	}
-	
-	private boolean isThereNoUserDb(List<Optional<User>> usersDb) {
-	    return usersDb.stream()
-	            .allMatch(userDb -> userDb.isEmpty() || userDb.get().getBookings() == null || userDb.get().getBookings().isEmpty());
+
+	private List<GuestBookingView> findUnhostedGuests(UserFinderStandardParamsDto userUnhostedDto, String role) {
+		var now = LocalDateTime.now();
+		var status = BookingStatus.SCHEDULED.getStatus();
+		var checker = new AttributeChecker();
+		var attributeFound = checker.getFirstAttributePresent(userUnhostedDto, "document", "name");
+
+		if ("DOCUMENT".equals(attributeFound))
+			return userRepository.findUnhostedGuestsByDocument(userUnhostedDto.document(), role, status, now);
+
+		if ("NAME".equals(attributeFound))
+			return userRepository.findUnhostedGuestsByName(NameNormalizer.toPrefixPattern(userUnhostedDto.name()), role, status, now);
+
+		return userRepository.findUnhostedGuestsByPhone(userUnhostedDto.phoneDdi(), userUnhostedDto.phoneDdd(),
+				userUnhostedDto.phone(), role, status, now);
 	}
-	
-	private List<Optional<User>> getUsersWithFilteredHostedGuestsBookings(List<Optional<User>> usersDb) {
-		return usersDb.stream().filter(Optional::isPresent).map(Optional::get)
-				.filter(user -> user.getBookings().stream()
-						.anyMatch(booking -> (booking.getDateCheckout() == null
-								&& booking.getDateCheckin().isBefore(LocalDateTime.now())
-								&& BookingStatus.CHECKIN.getStatus().equals(booking.getStatus()))
-								|| (BookingStatus.CHECKIN.getStatus().equals(booking.getStatus())
-										&& booking.getDateCheckout() != null
-										&& (booking.getDateCheckout().isAfter(LocalDateTime.now())
-												|| booking.getDateCheckout().isEqual(LocalDateTime.now())))))
-				.map(Optional::of).toList();
-	}
-
-	public List<Optional<User>> findByGuestStayingAtHotel(UserFinderStandardParamsDto userHostedDto, String role) {
+
+	public List<GuestBookingView> findByGuestStayingAtHotel(UserFinderStandardParamsDto userHostedDto, String role) {
 		chekingInputParametersException(userHostedDto);
-		List<Optional<User>> usersDb = getUsersByAttributeChecker(userHostedDto, role);
-		List<Optional<User>> usersWithFilteredBookings = getUsersWithFilteredHostedGuestsBookings(usersDb);
 
-		if (isThereNoUserDb(usersWithFilteredBookings))
-			return List.of(Optional.empty());
+		return guestSearchCache.get(GuestSearchCache.Stay.HOSTED, role, userHostedDto, this::findHostedGuests);
+	}
+
+	private List<GuestBookingView> findHostedGuests(UserFinderStandardParamsDto userHostedDto, String role) {
+		var now = LocalDateTime.now();
+		var status = BookingStatus.CHECKIN.getStatus();
+		var checker = new AttributeChecker();
+		var attributeFound = checker.getFirstAttributePresent(userHostedDto, "document", "name");
+
+		if ("DOCUMENT".equals(attributeFound))
+			return userRepository.findHostedGuestsByDocument(userHostedDto.document(), role, status, now);
+
+		if ("NAME".equals(attributeFound))
+			return userRepository.findHostedGuestsByName(NameNormalizer.toPrefixPattern(userHostedDto.name()), role, status, now);
 
-		return usersDb;
+		return userRepository.findHostedGuestsByPhone(userHostedDto.phoneDdi(), userHostedDto.phoneDdd(),
+				userHostedDto.phone(), role, status, now);
 	}
 
 	private void chekingInputParametersException(UserFinderStandardParamsDto userFinderStandardParamsDto) {
@@ -1,46 +1,117 @@
 package com.desafiosenior.api_hotel.util;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class AttributeChecker {
 
-    public <T> String getFirstAttributePresent(T obj, String... attributes) {
-        for (String attribute : attributes) {
-            try {
-                String methodName = getMethod(obj, attribute);
-                
-                // Acessar o metodo usando reflection, independentemente da classe T
-                Method method = obj.getClass().getMethod(methodName);
-                Object value = method.invoke(obj);
-
-                if (value != null && !(value.toString().isBlank())) {
-                    return attribute.toUpperCase();
-                }
-
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-        return null;
-    }
-
-	private <T> String getMethod(T obj, String attribute) {
-		String methodName = createMethod(obj, attribute);
-		
-		return methodName;
+	private static final Accessor MISSING = new Accessor(null, null);
+
+	/*
+	 * Registro por tipo: cada accessor de record ou getter de classe e resolvido uma unica vez em uma Function gerada
+	 * pelo LambdaMetafactory. As chamadas seguintes nao usam reflection nem montam nomes de metodos.
+	 */
+	private static final ClassValue<Map<String, Accessor>> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected Map<String, Accessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	public <T> String getFirstAttributePresent(T obj, String... attributes) {
+		if (obj == null)
+			return null;
+
+		var type = obj.getClass();
+		var accessors = ACCESSORS.get(type);
+
+		for (String attribute : attributes) {
+			var accessor = accessors.get(attribute);
+
+			// computeIfAbsent so no primeiro acesso: a lambda capturada alocaria a cada chamada
+			if (accessor == null)
+				accessor = accessors.computeIfAbsent(attribute, name -> resolve(type, name));
+
+			if (accessor == MISSING)
+				continue;
+
+			var value = accessor.getter().apply(obj);
+
+			if (value != null && !(value.toString().isBlank())) {
+				return accessor.upperCaseName();
+			}
+		}
+
+		return null;
 	}
 
-	private <T> String createMethod(T obj, String attribute) {
-		Class<?> clazz = obj.getClass();
+	private static Accessor resolve(Class<?> clazz, String attribute) {
+		var method = findMethod(clazz, attribute);
+
+		if (method == null) {
+			log.warn("Atributo {} nao encontrado em {}", attribute, clazz.getName());
+			return MISSING;
+		}
+
+		try {
+			var lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+			return new Accessor(toFunction(lookup, lookup.unreflect(method)), attribute.toUpperCase());
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			log.warn("Nao foi possivel gerar o accessor de {}.{}", clazz.getName(), attribute, e);
+			return MISSING;
+		}
+	}
+
+	private static Method findMethod(Class<?> clazz, String attribute) {
 		if (clazz.isRecord()) {
-			return attribute.intern();
-		} else if (isClass(clazz)) {
-			return "get" + attribute.substring(0, 1).toUpperCase() + attribute.substring(1);
+			return Arrays.stream(clazz.getRecordComponents()).filter(component -> component.getName().equals(attribute))
+					.findFirst().map(component -> component.getAccessor()).orElse(null);
+		} else if (isClass(clazz) && !attribute.isEmpty()) {
+			try {
+				var method = clazz.getMethod("get" + attribute.substring(0, 1).toUpperCase() + attribute.substring(1));
+				return method.getParameterCount() == 0 ? method : null;
+			} catch (NoSuchMethodException e) {
+				return null;
+			}
 		}
+
 		return null;
 	}
 
-	private boolean isClass(Class<?> clazz) {
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> toFunction(MethodHandles.Lookup lookup, MethodHandle getter) {
+		try {
+			var callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), getter, getter.type().wrap());
+			return (Function<Object, Object>) callSite.getTarget().invokeExact();
+		} catch (Throwable e) {
+			// Sem acesso para gerar a classe (ex.: classe de outro class loader): usa o MethodHandle diretamente
+			log.debug("LambdaMetafactory indisponivel para {}, usando MethodHandle", getter, e);
+			var genericGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+			return target -> {
+				try {
+					return genericGetter.invokeExact(target);
+				} catch (Throwable ex) {
+					throw new IllegalStateException(ex);
+				}
+			};
+		}
+	}
+
+	private static boolean isClass(Class<?> clazz) {
 		return !clazz.isAnnotation() && !clazz.isEnum() && !clazz.isInterface() && !clazz.isRecord();
 	}
+
+	private record Accessor(Function<Object, Object> getter, String upperCaseName) {
+	}
 }
@@ -0,0 +1,38 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class BCryptCostCalibrator {
+	private static final int SAMPLES = 3;
+
+	private BCryptCostCalibrator() {
+	}
+
+	/*
+	 * Mede o custo minimo nesta maquina e escolhe o maior custo cujo tempo estimado cabe no alvo. Cada incremento do
+	 * custo dobra o tempo de hash, entao uma unica medicao basta para estimar os demais.
+	 */
+	public static int calibrate(Duration targetHashTime, int minCost, int maxCost) {
+		var encoder = new BCryptPasswordEncoder(minCost);
+		// Aquece o JIT antes de medir
+		encoder.encode("calibration");
+
+		var start = System.nanoTime();
+		for (int i = 0; i < SAMPLES; i++)
+			encoder.encode("calibration");
+		var minCostNanos = (System.nanoTime() - start) / SAMPLES;
+
+		var cost = minCost;
+		while (cost < maxCost && minCostNanos << (cost + 1 - minCost) <= targetHashTime.toNanos())
+			cost++;
+
+		log.info("Custo do BCrypt calibrado em {} (custo {} levou {} ms, alvo {} ms)", cost, minCost,
+				minCostNanos / 1_000_000, targetHashTime.toMillis());
+		return cost;
+	}
+}
@@ -0,0 +1,80 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Bloom filter thread-safe sobre um AtomicLongArray. Usa double hashing (h1 + i * h2) a partir de um unico hash de
+ * 64 bits. Falsos positivos sao possiveis, falsos negativos nao.
+ */
+public final class BloomFilter {
+	private final AtomicLongArray words;
+	private final int hashFunctions;
+	private final long bitCount;
+
+	public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1)
+			throw new IllegalArgumentException("Parametros invalidos para o BloomFilter: " + expectedInsertions + ", "
+					+ falsePositiveRate);
+
+		var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+		this.bitCount = (long) words.length() << 6;
+		this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+	}
+
+	public void add(String value) {
+		var hash = hash(value);
+		var h1 = (int) hash;
+		var h2 = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashFunctions; i++)
+			setBit(index(h1 + i * h2));
+	}
+
+	public boolean mightContain(String value) {
+		var hash = hash(value);
+		var h1 = (int) hash;
+		var h2 = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashFunctions; i++) {
+			var bit = index(h1 + i * h2);
+
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	private long index(int combinedHash) {
+		return (combinedHash & Integer.MAX_VALUE) % bitCount;
+	}
+
+	private void setBit(long bit) {
+		var wordIndex = (int) (bit >>> 6);
+		var mask = 1L << bit;
+		long current;
+
+		do {
+			current = words.get(wordIndex);
+
+			if ((current & mask) != 0)
+				return;
+		} while (!words.compareAndSet(wordIndex, current, current | mask));
+	}
+
+	// FNV-1a de 64 bits seguido do finalizador do SplitMix64 para espalhar os bits
+	private static long hash(String value) {
+		var hash = 0xcbf29ce484222325L;
+
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+}
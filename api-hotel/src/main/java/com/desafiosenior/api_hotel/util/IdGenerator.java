@@ -0,0 +1,12 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.util.UUID;
+
+/*
+ * Gerador das chaves primarias das entidades, usado pelo @PrePersist de Booking, Room, User e Payment via IdGenerators.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+	UUID next();
+}
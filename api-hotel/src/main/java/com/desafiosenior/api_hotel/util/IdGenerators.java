@@ -0,0 +1,30 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/*
+ * Ponto unico de geracao de ids das entidades. O padrao e UUIDv7 (ordenado por tempo); RANDOM mantem o comportamento
+ * anterior (UUIDv4) para comparacao ou para testes que dependam dele.
+ */
+public final class IdGenerators {
+	public static final IdGenerator RANDOM = UUID::randomUUID;
+	public static final IdGenerator UUID_V7 = new UuidV7Generator();
+
+	private static volatile IdGenerator current = UUID_V7;
+
+	private IdGenerators() {
+	}
+
+	public static UUID next() {
+		return current.next();
+	}
+
+	public static IdGenerator current() {
+		return current;
+	}
+
+	public static void use(IdGenerator generator) {
+		current = Objects.requireNonNull(generator, "generator");
+	}
+}
@@ -0,0 +1,18 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class JpaStreams {
+	public static final String FETCH_SIZE = "500";
+
+	private JpaStreams() {
+	}
+
+	// Percorre um cursor JDBC e fecha o stream (e o ResultSet) ao final, mesmo se a acao falhar
+	public static <T> void forEach(Stream<T> stream, Consumer<T> action) {
+		try (stream) {
+			stream.forEach(action);
+		}
+	}
+}
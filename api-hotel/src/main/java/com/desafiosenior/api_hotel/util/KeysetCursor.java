@@ -0,0 +1,39 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.desafiosenior.api_hotel.exception.InvalidRequestException;
+
+// Cursor opaco da paginacao por chave (dateRegister, id), serializado em Base64 URL-safe
+public record KeysetCursor(LocalDateTime dateRegister, UUID id) {
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	public static final int MAX_PAGE_SIZE = 500;
+	private static final String SEPARATOR = "|";
+
+	public static int pageSize(Integer requestedSize) {
+		if (requestedSize == null || requestedSize < 1)
+			return DEFAULT_PAGE_SIZE;
+
+		return Math.min(requestedSize, MAX_PAGE_SIZE);
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		try {
+			var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			var separatorIndex = value.indexOf(SEPARATOR);
+
+			return new KeysetCursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+					UUID.fromString(value.substring(separatorIndex + 1)));
+		} catch (RuntimeException e) {
+			throw new InvalidRequestException("Cursor de paginação inválido: " + cursor);
+		}
+	}
+
+	public String encode() {
+		var value = dateRegister + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
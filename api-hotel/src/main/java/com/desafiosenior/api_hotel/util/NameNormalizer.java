@@ -0,0 +1,48 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Forma de busca do nome gravada em users.normalized_name: sem acentos, minusculas e sem espacos.
+ * "Joao da Silva", "JOÃO DA SILVA" e "joaodasilva" resultam no mesmo valor.
+ */
+public final class NameNormalizer {
+	public static final char LIKE_ESCAPE = '\\';
+
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private NameNormalizer() {
+	}
+
+	public static String normalize(String name) {
+		if (name == null)
+			return null;
+
+		var withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+		return WHITESPACE.matcher(withoutAccents).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	// Padrao LIKE 'prefixo%' com os curingas do proprio nome escapados, atendido pelo indice text_pattern_ops
+	public static String toPrefixPattern(String name) {
+		var normalized = normalize(name);
+
+		if (normalized == null)
+			return null;
+
+		var pattern = new StringBuilder(normalized.length() + 1);
+
+		for (int i = 0; i < normalized.length(); i++) {
+			var character = normalized.charAt(i);
+
+			if (character == '%' || character == '_' || character == LIKE_ESCAPE)
+				pattern.append(LIKE_ESCAPE);
+
+			pattern.append(character);
+		}
+
+		return pattern.append('%').toString();
+	}
+}
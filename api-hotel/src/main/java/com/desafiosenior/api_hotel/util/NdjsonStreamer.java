@@ -0,0 +1,45 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class NdjsonStreamer {
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+	private static final int NEW_LINE = '\n';
+
+	private final ObjectMapper objectMapper;
+
+	public NdjsonStreamer(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	// Cada item produzido pela fonte vira uma linha JSON escrita direto na resposta
+	public <T> StreamingResponseBody stream(Consumer<Consumer<T>> source) {
+		return out -> {
+			try {
+				source.accept(item -> writeLine(out, item));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+	}
+
+	private void writeLine(OutputStream out, Object item) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(item));
+			out.write(NEW_LINE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
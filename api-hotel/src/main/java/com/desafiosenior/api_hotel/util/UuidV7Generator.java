@@ -0,0 +1,56 @@
+package com.desafiosenior.api_hotel.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * UUID versao 7 (RFC 9562): 48 bits de epoch em milissegundos, versao, 12 bits de contador (rand_a), variante e 62 bits
+ * aleatorios. Ids consecutivos caem no fim do indice da chave primaria em vez de espalhados pela arvore.
+ *
+ * Monotonico dentro do milissegundo: o par (milissegundo, contador) fica em um unico AtomicLong e avanca por CAS, sem
+ * lock. Se o contador de 12 bits estourar (mais de 4096 ids no mesmo milissegundo) ou o relogio voltar, o timestamp
+ * avanca a partir do ultimo gerado, preservando a ordem. A parte aleatoria vem do ThreadLocalRandom, porque o
+ * SecureRandom do UUID.randomUUID disputa um lock global.
+ *
+ * Esses ids sao adivinhaveis: expoem o instante da criacao, e ids vizinhos diferem apenas no contador e em bits de um
+ * gerador nao criptografico. Algumas rotas por id sao permitAll em WebSecurityConfig (GET, PUT e DELETE
+ * /bookings/{bookingId}, PUT /bookings/cancel/{bookingId}), entao quem conhece um id de reserva chega perto dos outros.
+ * Proteger essas rotas e responsabilidade da configuracao de seguranca, nao do formato do id.
+ */
+public final class UuidV7Generator implements IdGenerator {
+	private static final int COUNTER_BITS = 12;
+	private static final long VERSION = 0x7L << COUNTER_BITS;
+	private static final long VARIANT = 0x8000000000000000L;
+	private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+	private final LongSupplier clock;
+	// (milissegundo << COUNTER_BITS) | contador do ultimo id gerado
+	private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+	public UuidV7Generator() {
+		this(System::currentTimeMillis);
+	}
+
+	UuidV7Generator(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	@Override
+	public UUID next() {
+		var now = clock.getAsLong() << COUNTER_BITS;
+		var timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+		var millis = timestampAndCounter >>> COUNTER_BITS;
+		var counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+		var mostSignificantBits = (millis << 16) | VERSION | counter;
+		var leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	public static long timestampOf(UUID uuid) {
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+}
@@ -0,0 +1,23 @@
+-- Executado apos o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization=true).
+-- Separador de comandos: @@ (os blocos DO usam ';' internamente).
+
+CREATE EXTENSION IF NOT EXISTS btree_gist@@
+
+-- Periodo da estadia [checkin, checkout); checkout nulo gera um intervalo em aberto
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS stay tsrange
+	GENERATED ALWAYS AS (tsrange(date_checkin, date_checkout, '[)')) STORED@@
+
+-- Impede que duas reservas ativas (S = SCHEDULED, C = CHECKIN) do mesmo quarto se sobreponham
+DO $$
+BEGIN
+	IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_room_stay_excl') THEN
+		ALTER TABLE bookings ADD CONSTRAINT bookings_room_stay_excl
+			EXCLUDE USING gist (room_id WITH =, stay WITH &&) WHERE (status IN ('S', 'C'));
+	END IF;
+END
+$$@@
+
+-- Nome normalizado (sem acentos, minusculas, sem espacos) para as buscas por nome. O valor vem sempre de
+-- NameNormalizer: UserService nos novos registros e NormalizedNameBackfill nos anteriores a coluna.
+-- text_pattern_ops permite usar o indice em LIKE 'prefixo%' independente da collation do banco
+CREATE INDEX IF NOT EXISTS idx_users_role_normalized_name ON users (role, normalized_name text_pattern_ops)@@
@@ -0,0 +1,59 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.util.AttributeChecker;
+
+/*
+ * Compara o caminho reflexivo anterior (getMethod + Method.invoke a cada atributo) com o registro de accessors gerados.
+ * O cenario e o da busca por telefone: document e name vazios, resolvido no terceiro atributo.
+ * Rodar com -prof gc para conferir a alocacao por operacao.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeCheckerBenchmark {
+	private final AttributeChecker attributeChecker = new AttributeChecker();
+	private final UserFinderStandardParamsDto dto = new UserFinderStandardParamsDto(null, null, "55", "11", "44444444");
+	private final String[] attributes = { "document", "name", "phoneDdi" };
+
+	@Benchmark
+	public String generatedAccessors() {
+		return attributeChecker.getFirstAttributePresent(dto, attributes);
+	}
+
+	@Benchmark
+	public String reflection() throws ReflectiveOperationException {
+		for (String attribute : attributes) {
+			Method method = dto.getClass().getMethod(attribute.intern());
+			Object value = method.invoke(dto);
+
+			if (value != null && !(value.toString().isBlank()))
+				return attribute.toUpperCase();
+		}
+
+		return null;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AttributeCheckerBenchmark.class.getSimpleName()).build()).run();
+	}
+}
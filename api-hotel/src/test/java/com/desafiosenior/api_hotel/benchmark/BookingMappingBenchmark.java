@@ -0,0 +1,72 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingCreateDto;
+import com.desafiosenior.api_hotel.model.BookingUpdateDto;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+
+/*
+ * Mapeamento DTO -> entidade como feito em BookingService.save e update (BeanUtils.copyProperties, que resolve os
+ * PropertyDescriptors por reflexao, com cache por classe), comparado a atribuicao direta dos mesmos campos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMappingBenchmark {
+	private static final String[] IGNORED_PROPERTIES = { "RoomDto", "UserFinderStandardParamsDto" };
+
+	private final BookingCreateDto createDto = new BookingCreateDto(new RoomDto(UUID.randomUUID(), 101),
+			new UserFinderStandardParamsDto("12345678901", null, null, null, null),
+			LocalDateTime.of(2026, 3, 10, 14, 0), LocalDateTime.of(2026, 3, 12, 12, 0), "S");
+	private final BookingUpdateDto updateDto = new BookingUpdateDto(LocalDateTime.of(2026, 3, 10, 14, 0),
+			LocalDateTime.of(2026, 3, 13, 12, 0), "S");
+
+	@Benchmark
+	public Booking copyPropertiesCreate() {
+		var booking = new Booking(LocalDateTime.MIN);
+		BeanUtils.copyProperties(createDto, booking, IGNORED_PROPERTIES);
+		return booking;
+	}
+
+	@Benchmark
+	public Booking copyPropertiesUpdate() {
+		var booking = new Booking(LocalDateTime.MIN);
+		BeanUtils.copyProperties(updateDto, booking);
+		return booking;
+	}
+
+	@Benchmark
+	public Booking directAssignmentCreate() {
+		var booking = new Booking(LocalDateTime.MIN);
+		booking.setDateCheckin(createDto.dateCheckin());
+		booking.setDateCheckout(createDto.dateCheckout());
+		booking.setStatus(createDto.status());
+		return booking;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookingMappingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
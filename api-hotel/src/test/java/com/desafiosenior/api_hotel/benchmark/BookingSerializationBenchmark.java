@@ -0,0 +1,97 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.BookingView;
+import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+ * Serializacao Jackson de uma pagina de reservas: entidades Booking (com Room e User aninhados, como GET /bookings
+ * devolvia) contra as projecoes BookingView usadas hoje. O ObjectMapper segue a configuracao do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingSerializationBenchmark {
+
+	@Param({ "20", "200" })
+	public int size;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private List<Booking> bookings;
+	private List<BookingView> views;
+
+	@Setup
+	public void setUp() {
+		bookings = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			var room = new Room();
+			room.setRoomId(UUID.randomUUID());
+			room.setNumber(i % 1000 + 1);
+
+			var user = new User();
+			user.setUserId(UUID.randomUUID());
+			user.setName("Hospede " + i);
+			user.setDocument(String.format("%011d", i));
+			user.setLogin("hospede" + i);
+			user.setRole("G");
+
+			var checkin = LocalDateTime.of(2026, 1, 1, 14, 0).plusDays(i);
+			var booking = new Booking(checkin.minusDays(30));
+			booking.setBookingId(UUID.randomUUID());
+			booking.setRoom(room);
+			booking.setUser(user);
+			booking.setDateCheckin(checkin);
+			booking.setDateCheckout(checkin.plusDays(2));
+			booking.setDateLastChange(checkin.minusDays(1));
+			booking.setStatus(BookingStatus.SCHEDULED.getStatus());
+			bookings.add(booking);
+		}
+
+		views = bookings.stream().map(BookingView::from).toList();
+	}
+
+	@Benchmark
+	public byte[] entities() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(bookings);
+	}
+
+	@Benchmark
+	public byte[] views() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(views);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookingSerializationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,74 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.desafiosenior.api_hotel.util.IdGenerator;
+import com.desafiosenior.api_hotel.util.IdGenerators;
+
+/*
+ * Compara UUID.randomUUID (v4) com o UUIDv7 do IdGenerators com 4 threads disputando o gerador:
+ * - generate: apenas a geracao do id (SecureRandom compartilhado x CAS + ThreadLocalRandom);
+ * - insert: geracao + insercao em um indice ordenado ja populado, como a chave primaria de bookings. Com v7 as
+ *   insercoes caem no fim do indice; com v4 se espalham por ele, com mais falhas de cache.
+ * O ganho real no Postgres (divisao de paginas da B-tree e WAL) depende do banco e fica para o teste de carga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+	@Param({ "random", "uuid-v7" })
+	public String generator;
+
+	@Param({ "1000000" })
+	public int existingRows;
+
+	private IdGenerator idGenerator;
+	private ConcurrentSkipListMap<UUID, Boolean> primaryKeyIndex;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		idGenerator = "random".equals(generator) ? IdGenerators.RANDOM : IdGenerators.UUID_V7;
+		primaryKeyIndex = new ConcurrentSkipListMap<>();
+
+		for (int i = 0; i < existingRows; i++)
+			primaryKeyIndex.put(idGenerator.next(), Boolean.TRUE);
+	}
+
+	@Benchmark
+	public UUID generate() {
+		return idGenerator.next();
+	}
+
+	@Benchmark
+	public Boolean insert() {
+		return primaryKeyIndex.put(idGenerator.next(), Boolean.TRUE);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(IdGeneratorBenchmark.class.getSimpleName()).build()).run();
+	}
+}
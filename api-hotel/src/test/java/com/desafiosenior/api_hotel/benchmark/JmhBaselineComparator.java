@@ -0,0 +1,130 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Compara o resultado JSON do JMH (-rf json) com o baseline versionado em src/test/resources/benchmark. Uma regressao
+ * e o score piorar mais que o limite (queda em thrpt, aumento em avgt/sample/ss) ou a alocacao por operacao
+ * (gc.alloc.rate.norm, do -prof gc) crescer mais que o limite, e em ambos os casos os intervalos de confianca do JMH
+ * (score +- scoreError) nao se sobreporem: uma piora dentro do ruido da medicao nao falha o build. Benchmarks sem
+ * baseline sao apenas listados.
+ *
+ * Uso: JmhBaselineComparator <baseline.json> <resultado.json> <limite, ex.: 0.10>
+ */
+public final class JmhBaselineComparator {
+	static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+	// Folga absoluta em bytes/op: abaixo disso a variacao e ruido de alocacao do proprio harness
+	private static final double ALLOCATION_SLACK_BYTES = 16;
+
+	private JmhBaselineComparator() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		var baselinePath = Path.of(args[0]);
+		var resultPath = Path.of(args[1]);
+		var threshold = Double.parseDouble(args[2]);
+
+		if (!Files.exists(baselinePath)) {
+			System.out.println("Baseline nao encontrado em " + baselinePath + "; copie " + resultPath + " para cria-lo.");
+			return;
+		}
+
+		var objectMapper = new ObjectMapper();
+		var regressions = compare(objectMapper.readTree(baselinePath.toFile()), objectMapper.readTree(resultPath.toFile()),
+				threshold);
+
+		if (regressions.isEmpty()) {
+			System.out.printf("Nenhuma regressao acima de %.0f%% em relacao ao baseline%n", threshold * 100);
+			return;
+		}
+
+		regressions.forEach(regression -> System.out.println("REGRESSAO " + regression));
+		System.exit(1);
+	}
+
+	static List<Regression> compare(JsonNode baseline, JsonNode current, double threshold) {
+		var baselineByKey = byKey(baseline);
+		var regressions = new ArrayList<Regression>();
+
+		for (var entry : byKey(current).entrySet()) {
+			var previous = baselineByKey.get(entry.getKey());
+
+			if (previous == null) {
+				System.out.println("Sem baseline: " + entry.getKey());
+				continue;
+			}
+
+			var result = entry.getValue();
+			var higherIsBetter = "thrpt".equals(result.path("mode").asText());
+			var baselineScore = previous.path("primaryMetric");
+			var currentScore = result.path("primaryMetric");
+
+			if (isRegression(baselineScore, currentScore, higherIsBetter, threshold, 0))
+				regressions.add(new Regression(entry.getKey(), currentScore.path("scoreUnit").asText(),
+						baselineScore.path("score").asDouble(), currentScore.path("score").asDouble()));
+
+			var baselineAllocation = previous.path("secondaryMetrics").path(ALLOCATION_METRIC);
+			var currentAllocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+
+			if (baselineAllocation.path("score").isNumber() && currentAllocation.path("score").isNumber()
+					&& isRegression(baselineAllocation, currentAllocation, false, threshold, ALLOCATION_SLACK_BYTES))
+				regressions.add(new Regression(entry.getKey(), "B/op", baselineAllocation.path("score").asDouble(),
+						currentAllocation.path("score").asDouble()));
+		}
+
+		return regressions;
+	}
+
+	// Piora acima do limite (e da folga absoluta) com os intervalos de confianca separados
+	private static boolean isRegression(JsonNode baseline, JsonNode current, boolean higherIsBetter, double threshold,
+			double slack) {
+		var baselineScore = baseline.path("score").asDouble();
+		var currentScore = current.path("score").asDouble();
+		var baselineError = scoreError(baseline);
+		var currentError = scoreError(current);
+
+		if (higherIsBetter)
+			return currentScore < baselineScore * (1 - threshold) - slack
+					&& currentScore + currentError < baselineScore - baselineError;
+
+		return currentScore > Math.max(baselineScore * (1 + threshold), baselineScore + slack)
+				&& currentScore - currentError > baselineScore + baselineError;
+	}
+
+	// Com uma unica iteracao o JMH grava scoreError como NaN: o intervalo se reduz ao score
+	private static double scoreError(JsonNode metric) {
+		var error = metric.path("scoreError").asDouble();
+		return Double.isFinite(error) ? error : 0;
+	}
+
+	// Nome do benchmark + parametros (@Param) identificam o resultado
+	private static Map<String, JsonNode> byKey(JsonNode results) {
+		var byKey = new HashMap<String, JsonNode>();
+
+		for (var result : results) {
+			var params = new TreeMap<String, String>();
+			result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+			byKey.put(result.path("benchmark").asText() + (params.isEmpty() ? "" : params), result);
+		}
+
+		return byKey;
+	}
+
+	record Regression(String benchmark, String unit, double baseline, double current) {
+
+		@Override
+		public String toString() {
+			return String.format("%s: %.3f -> %.3f %s", benchmark, baseline, current, unit);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JmhBaselineComparatorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Testa se variacoes dentro do limite nao sao apontadas como regressao.")
+    void compare_withinThreshold_shouldReportNothing() throws Exception {
+        var baseline = results("thrpt", 1000, 48);
+        var current = results("thrpt", 950, 56);
+
+        assertTrue(JmhBaselineComparator.compare(baseline, current, 0.10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa se queda de throughput e aumento de alocacao acima do limite, com intervalos separados, sao regressoes.")
+    void compare_aboveThreshold_shouldReportScoreAndAllocation() throws Exception {
+        var baseline = results("thrpt", 1000, 480);
+        var current = results("thrpt", 800, 960);
+
+        var regressions = JmhBaselineComparator.compare(baseline, current, 0.10);
+
+        assertEquals(2, regressions.size());
+        assertEquals("ops/ms", regressions.get(0).unit());
+        assertEquals("B/op", regressions.get(1).unit());
+    }
+
+    @Test
+    @DisplayName("Testa se em modo de tempo medio o aumento do score e a regressao.")
+    void compare_averageTime_shouldTreatHigherScoreAsRegression() throws Exception {
+        assertTrue(JmhBaselineComparator.compare(results("avgt", 100, 0), results("avgt", 80, 0), 0.10).isEmpty());
+        assertEquals(1, JmhBaselineComparator.compare(results("avgt", 100, 0), results("avgt", 120, 0), 0.10).size());
+    }
+
+    @Test
+    @DisplayName("Testa se uma piora acima do limite, mas com os intervalos de confianca sobrepostos, nao e regressao.")
+    void compare_overlappingConfidenceIntervals_shouldReportNothing() throws Exception {
+        // 1000 +- 150 contra 800 +- 100: [850, 1150] e [700, 900] se sobrepoem
+        var baseline = results("thrpt", 1000, 150, 480, 40);
+        var current = results("thrpt", 800, 100, 960, 500);
+
+        assertTrue(JmhBaselineComparator.compare(baseline, current, 0.10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa se um scoreError NaN (uma unica iteracao) e tratado como intervalo nulo.")
+    void compare_nanScoreError_shouldUseScoreOnly() throws Exception {
+        var baseline = objectMapper.readTree("""
+                [{"benchmark": "com.example.SomeBenchmark.run", "mode": "avgt", "params": {"size": "20"},
+                  "primaryMetric": {"score": 100, "scoreError": "NaN", "scoreUnit": "ns/op"}}]
+                """);
+        var current = results("avgt", 130, 5, 0, 0);
+
+        assertEquals(1, JmhBaselineComparator.compare(baseline, current, 0.10).size());
+    }
+
+    private JsonNode results(String mode, double score, double allocation) throws Exception {
+        return results(mode, score, 0, allocation, 0);
+    }
+
+    private JsonNode results(String mode, double score, double scoreError, double allocation, double allocationError)
+            throws Exception {
+        return objectMapper.readTree("""
+                [{"benchmark": "com.example.SomeBenchmark.run", "mode": "%s", "params": {"size": "20"},
+                  "primaryMetric": {"score": %s, "scoreError": %s, "scoreUnit": "%s"},
+                  "secondaryMetrics": {"gc.alloc.rate.norm": {"score": %s, "scoreError": %s, "scoreUnit": "B/op"}}}]
+                """.formatted(mode, score, scoreError, "thrpt".equals(mode) ? "ops/ms" : "ns/op", allocation,
+                allocationError));
+    }
+}
@@ -0,0 +1,78 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.service.RoomAvailabilityIndex;
+
+/*
+ * Verificacao de disponibilidade feita pelo BookingService em save e update (RoomAvailabilityIndex.isAvailable), com
+ * leitores concorrentes. Cada quarto tem estadias consecutivas de 2 noites; o periodo consultado cai em um quarto e
+ * data aleatorios, entao a maior parte das consultas encontra conflito, como no pico de reservas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RoomAvailabilityBenchmark {
+	private static final LocalDateTime FIRST_CHECKIN = LocalDateTime.of(2026, 1, 1, 14, 0);
+
+	@Param({ "300" })
+	public int rooms;
+
+	@Param({ "180" })
+	public int bookingsPerRoom;
+
+	private RoomAvailabilityIndex roomAvailabilityIndex;
+	private UUID[] roomIds;
+
+	@Setup
+	public void setUp() {
+		roomAvailabilityIndex = new RoomAvailabilityIndex(Mockito.mock(BookingRepository.class));
+		roomIds = new UUID[rooms];
+
+		for (int room = 0; room < rooms; room++) {
+			roomIds[room] = UUID.randomUUID();
+
+			for (int stay = 0; stay < bookingsPerRoom; stay++) {
+				var checkin = FIRST_CHECKIN.plusDays(stay * 2L);
+				roomAvailabilityIndex.register(UUID.randomUUID(), roomIds[room], checkin, checkin.plusDays(2));
+			}
+		}
+	}
+
+	@Benchmark
+	public boolean isAvailable() {
+		var random = ThreadLocalRandom.current();
+		var checkin = FIRST_CHECKIN.plusHours(random.nextInt(bookingsPerRoom * 48));
+
+		return roomAvailabilityIndex.isAvailable(roomIds[random.nextInt(rooms)], checkin, checkin.plusDays(3), null);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RoomAvailabilityBenchmark.class.getSimpleName()).build()).run();
+	}
+}
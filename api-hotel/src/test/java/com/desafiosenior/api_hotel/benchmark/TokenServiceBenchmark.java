@@ -0,0 +1,77 @@
+package com.desafiosenior.api_hotel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.AmqpTemplate;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.repository.RevokedTokenRepository;
+import com.desafiosenior.api_hotel.service.TokenRevocationService;
+import com.desafiosenior.api_hotel.service.TokenService;
+
+/*
+ * Compara a validacao antiga (Algorithm e JWTVerifier criados a cada chamada) com a atual (instancias reutilizadas), e
+ * mede a assinatura de um token novo (login).
+ * Execucao: mvn test-compile e depois a main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+	private static final String SECRET = "benchmark-secret";
+
+	private String token;
+	private TokenService tokenService;
+	private User user;
+
+	@Setup
+	public void setUp() {
+		tokenService = new TokenService(SECRET, "k1", "",
+				new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), Mockito.mock(AmqpTemplate.class),
+						1024));
+
+		user = new User();
+		user.setLogin("benchmark");
+		token = tokenService.generateToken(user);
+	}
+
+	@Benchmark
+	public String sign() {
+		return tokenService.generateToken(user);
+	}
+
+	@Benchmark
+	public String validatePerCallVerifier() {
+		return JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("auth-api").build().verify(token).getSubject();
+	}
+
+	@Benchmark
+	public String validateReusedVerifier() {
+		return tokenService.validateToken(token);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TokenServiceBenchmark.class.getSimpleName()).build()).run();
+	}
+}
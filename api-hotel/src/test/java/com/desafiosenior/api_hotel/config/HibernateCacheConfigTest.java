@@ -0,0 +1,60 @@
+package com.desafiosenior.api_hotel.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.HashMap;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.desafiosenior.api_hotel.model.Room;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+class HibernateCacheConfigTest {
+
+    private final HibernateCacheConfig hibernateCacheConfig = new HibernateCacheConfig();
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null)
+            cacheManager.close();
+    }
+
+    @Test
+    @DisplayName("Testa se as regioes de Room e do cache de consultas sao criadas com limite e sem copia por valor.")
+    void hibernateCacheManager_shouldCreateBoundedRegions() {
+        cacheManager = hibernateCacheConfig.hibernateCacheManager(100, Duration.ofMinutes(1));
+
+        for (var region : new String[] { Room.CACHE_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME }) {
+            var cache = cacheManager.getCache(region);
+            assertNotNull(cache, region);
+
+            @SuppressWarnings("unchecked")
+            var configuration = cache.getConfiguration(CaffeineConfiguration.class);
+            assertFalse(configuration.isStoreByValue(), region);
+            assertNotNull(configuration.getMaximumSize(), region);
+        }
+    }
+
+    @Test
+    @DisplayName("Testa se o CacheManager criado e o entregue ao Hibernate.")
+    void hibernateCacheManagerCustomizer_shouldExposeCacheManager() {
+        cacheManager = hibernateCacheConfig.hibernateCacheManager(100, Duration.ofMinutes(1));
+        var properties = new HashMap<String, Object>();
+
+        hibernateCacheConfig.hibernateCacheManagerCustomizer(cacheManager).customize(properties);
+
+        assertSame(cacheManager, properties.get(ConfigSettings.CACHE_MANAGER));
+    }
+}
@@ -3,26 +3,32 @@ package com.desafiosenior.api_hotel.config;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.service.PrincipalCache;
 import com.desafiosenior.api_hotel.service.TokenService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -45,13 +51,14 @@ class SecurityFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
     private SecurityFilter securityFilter;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         SecurityContextHolder.clearContext();
+        securityFilter = new SecurityFilter(userRepository, tokenService,
+                new PrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -80,6 +87,50 @@ class SecurityFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    @DisplayName("Testa se requisicoes seguidas do mesmo login reutilizam o principal em cache, consultando o DB uma unica vez "
+    		+ "e sem manter a senha em memoria.")
+    void doFilterInternal_withSameLogin_shouldHitDatabaseOnce() throws ServletException, IOException {
+        String token = "validToken";
+        String login = "userLogin";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenService.validateToken(token)).thenReturn(login);
+
+        User user = new User();
+        user.setUserId(UUID.randomUUID());
+        user.setLogin(login);
+        user.setPassword("hash");
+        user.setRole("G");
+
+        when(userRepository.findByLogin(login)).thenReturn(Optional.of(user));
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        User principal = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(login, principal.getLogin());
+        assertEquals(user.getAuthorities(), principal.getAuthorities());
+        assertNull(principal.getPassword());
+
+        verify(userRepository, times(1)).findByLogin(login);
+    }
+
+    @Test
+    @DisplayName("Testa o metodo doFilterInternal com um token valido de um login inexistente e verifica que o usuario nao "
+    		+ "foi autenticado.")
+    void doFilterInternal_withUnknownLogin_shouldNotAuthenticateUser() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer validToken");
+        when(tokenService.validateToken("validToken")).thenReturn("unknown");
+        when(userRepository.findByLogin("unknown")).thenReturn(Optional.empty());
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     @DisplayName("Testa o metodo doFilterInternal com um token invalido e verifica se o usuario nao foi autenticado, verificando, "
     		+ "no final, se o filtro continua a cadeia de filtros.")
@@ -94,6 +145,20 @@ class SecurityFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    @DisplayName("Testa o metodo doFilterInternal com um token revogado ou com assinatura invalida e verifica que a requisicao "
+    		+ "segue sem autenticacao, em vez de falhar com erro 500.")
+    void doFilterInternal_withRejectedToken_shouldContinueUnauthenticated() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer revokedToken");
+        when(tokenService.validateToken("revokedToken")).thenThrow(new JWTVerificationException("Token revogado (jti): 1"));
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userRepository, never()).findByLogin(anyString());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     @DisplayName("Testa a recuperacao de um token valido, com um header valido.")
     void recoverToken_withValidHeader_shouldReturnToken() {
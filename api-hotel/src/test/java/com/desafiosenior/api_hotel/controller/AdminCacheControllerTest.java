@@ -0,0 +1,57 @@
+package com.desafiosenior.api_hotel.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.desafiosenior.api_hotel.model.CacheRegionStatisticsDto;
+import com.desafiosenior.api_hotel.model.CacheStatisticsDto;
+import com.desafiosenior.api_hotel.service.SecondLevelCacheService;
+
+class AdminCacheControllerTest {
+
+    @Mock
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @InjectMocks
+    private AdminCacheController adminCacheController;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Testa a consulta das estatisticas do cache de segundo nivel.")
+    public void testGetStatistics_shouldReturnHttpStatusOk() {
+        var statistics = new CacheStatisticsDto(3, 1, 1, 0.75, 2, 2, 2, 0.5,
+                List.of(new CacheRegionStatisticsDto("rooms", 3, 1, 1, 0.75, 1)));
+        when(secondLevelCacheService.getStatistics()).thenReturn(statistics);
+
+        ResponseEntity<CacheStatisticsDto> response = adminCacheController.getStatistics();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(statistics, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Testa a limpeza de todas as regioes do cache de segundo nivel.")
+    public void testEvictAll_shouldReturnNoContent() {
+        ResponseEntity<Object> response = adminCacheController.evictAll();
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(secondLevelCacheService, times(1)).evictAll();
+    }
+}
@@ -25,6 +25,8 @@ import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
 import com.desafiosenior.api_hotel.model.Booking;
 import com.desafiosenior.api_hotel.model.BookingCreateDto;
 import com.desafiosenior.api_hotel.model.BookingUpdateDto;
+import com.desafiosenior.api_hotel.model.BookingView;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.service.BookingService;
 
 class BookingControllerTest {
@@ -82,21 +84,21 @@ class BookingControllerTest {
     @DisplayName("Testa a consulta de uma reserva de um hospede da tabela bookings, pelo seu booking_id.")
     public void testFindOneBooking_shouldReturnHttpStatusOk() {
         UUID bookingId = UUID.randomUUID();
-        Booking booking = new Booking();
-        when(bookingService.findByBookingId(bookingId)).thenReturn(Optional.of(booking));
+        BookingView booking = BookingView.from(new Booking());
+        when(bookingService.findViewByBookingId(bookingId)).thenReturn(Optional.of(booking));
 
         ResponseEntity<Object> response = bookingController.findOneBooking(bookingId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(booking, response.getBody());
-        verify(bookingService, times(1)).findByBookingId(bookingId);
+        verify(bookingService, times(1)).findViewByBookingId(bookingId);
     }
 
     @Test
     @DisplayName("Testa a consulta de uma reserva inexistente da tabela bookings, pelo seu booking_id.")
     public void testFindOneBooking_NotFound_shouldReturnResourceNotFoundException() {
         UUID bookingId = UUID.randomUUID();
-        when(bookingService.findByBookingId(bookingId)).thenReturn(Optional.empty());
+        when(bookingService.findViewByBookingId(bookingId)).thenReturn(Optional.empty());
 
         try {
             bookingController.findOneBooking(bookingId);
@@ -104,20 +106,21 @@ class BookingControllerTest {
             assertEquals("Reserva não encontrado para o ID: " + bookingId, e.getMessage());
         }
 
-        verify(bookingService, times(1)).findByBookingId(bookingId);
+        verify(bookingService, times(1)).findViewByBookingId(bookingId);
     }
     
     @Test
     @DisplayName("Testa a consulta de todas as reservas da tabela bookings.")
     public void testListAll_shouldReturnHttpStatusOk() {
-        List<Booking> bookings = List.of(new Booking(), new Booking());
-        when(bookingService.findAll()).thenReturn(bookings);
+        List<BookingView> bookings = List.of(BookingView.from(new Booking()), BookingView.from(new Booking()));
+        when(bookingService.findPage(null, null)).thenReturn(new KeysetPage<>(bookings, "nextCursor"));
 
-        ResponseEntity<List<Booking>> response = bookingController.listAll();
+        ResponseEntity<List<BookingView>> response = bookingController.listAll(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(bookings, response.getBody());
-        verify(bookingService, times(1)).findAll();
+        assertEquals("nextCursor", response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+        verify(bookingService, times(1)).findPage(null, null);
     }
     
     @Test
@@ -130,7 +133,7 @@ class BookingControllerTest {
         ResponseEntity<Object> response = bookingController.save(bookingCreateDto);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertEquals(savedBooking, response.getBody());
+        assertEquals(BookingView.from(savedBooking), response.getBody());
         verify(bookingService, times(1)).save(any(BookingCreateDto.class));
     }
 
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,8 +24,10 @@ import org.springframework.http.ResponseEntity;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.Room;
 import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomView;
 import com.desafiosenior.api_hotel.service.RoomService;
 
 class RoomControllerTest {
@@ -82,21 +85,21 @@ class RoomControllerTest {
     @DisplayName("Testa a consulta de um quarto da tabela rooms, pelo seu room_id.")
     public void testFindOneRoom_shouldReturnHttpStatusOk() {
         UUID roomId = UUID.randomUUID();
-        Room room = new Room();
-        when(roomService.findByRoomId(roomId)).thenReturn(Optional.of(room));
+        RoomView room = RoomView.from(new Room());
+        when(roomService.findViewByRoomId(roomId)).thenReturn(Optional.of(room));
 
         ResponseEntity<Object> response = roomController.findOneRoom(roomId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(room, response.getBody());
-        verify(roomService, times(1)).findByRoomId(roomId);
+        verify(roomService, times(1)).findViewByRoomId(roomId);
     }
     
     @Test
     @DisplayName("Testa a consulta de um quarto inexistente da tabela rooms, pelo seu room_id.")
     public void testFindOneRoom_NotFound_shouldReturnResourceNotFoundException() {
         UUID roomId = UUID.randomUUID();
-        when(roomService.findByRoomId(roomId)).thenReturn(Optional.empty());
+        when(roomService.findViewByRoomId(roomId)).thenReturn(Optional.empty());
 
         try {
             roomController.findOneRoom(roomId);
@@ -104,20 +107,36 @@ class RoomControllerTest {
             assertEquals("Quarto não encontrado para o ID: " + roomId, e.getMessage());
         }
 
-        verify(roomService, times(1)).findByRoomId(roomId);
+        verify(roomService, times(1)).findViewByRoomId(roomId);
     }
     
+    @Test
+    @DisplayName("Testa a consulta dos quartos livres em um periodo, retornando apenas os quartos sem reservas ativas sobrepostas.")
+    public void testFindAvailableRooms_shouldReturnHttpStatusOk() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(3);
+        List<RoomDto> rooms = List.of(new RoomDto(UUID.randomUUID(), 101), new RoomDto(UUID.randomUUID(), 102));
+        when(roomService.findAvailable(from, to)).thenReturn(rooms);
+
+        ResponseEntity<List<RoomDto>> response = roomController.findAvailableRooms(from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(rooms, response.getBody());
+        verify(roomService, times(1)).findAvailable(from, to);
+    }
+
     @Test
     @DisplayName("Testa a consulta de todos os quartos da tabela rooms.")
     public void testListAll_shouldReturnHttpStatusOk() {
-        List<Room> rooms = List.of(new Room(), new Room());
-        when(roomService.findAll()).thenReturn(rooms);
+        List<RoomView> rooms = List.of(RoomView.from(new Room()), RoomView.from(new Room()));
+        when(roomService.findPage(null, null)).thenReturn(new KeysetPage<>(rooms, "nextCursor"));
 
-        ResponseEntity<List<Room>> response = roomController.listAll();
+        ResponseEntity<List<RoomView>> response = roomController.listAll(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(rooms, response.getBody());
-        verify(roomService, times(1)).findAll();
+        assertEquals("nextCursor", response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+        verify(roomService, times(1)).findPage(null, null);
     }
 
     @Test
@@ -130,7 +149,7 @@ class RoomControllerTest {
         ResponseEntity<Object> response = roomController.save(roomDto);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertEquals(savedRoom, response.getBody());
+        assertEquals(RoomView.from(savedRoom), response.getBody());
         verify(roomService, times(1)).save(any(RoomDto.class));
     }
 
@@ -23,8 +23,11 @@ import org.springframework.http.ResponseEntity;
 
 import com.desafiosenior.api_hotel.exception.InvalidRequestException;
 import com.desafiosenior.api_hotel.exception.ResourceNotFoundException;
+import com.desafiosenior.api_hotel.model.KeysetPage;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.model.UserDto;
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.model.UserView;
 import com.desafiosenior.api_hotel.service.UserService;
 
 class UserControllerTest {
@@ -82,21 +85,34 @@ class UserControllerTest {
     @DisplayName("Testa a consulta de um hospede da tabela users, pelo seu user_id.")
     public void testFindOneUser_shouldReturnHttpStatusOk() {
         UUID userId = UUID.randomUUID();
-        User user = new User();
-        when(userService.findById(userId)).thenReturn(Optional.of(user));
+        UserView user = UserView.from(new User());
+        when(userService.findViewByUserId(userId)).thenReturn(Optional.of(user));
 
         ResponseEntity<Object> response = userController.findOneUser(userId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(user, response.getBody());
-        verify(userService, times(1)).findById(userId);
+        verify(userService, times(1)).findViewByUserId(userId);
     }
     
+    @Test
+    @DisplayName("Testa se o typeahead de hospedes repassa a consulta e o limite ao servico.")
+    public void testSuggestGuests_shouldReturnHttpStatusOk() {
+        var suggestion = new UserSuggestion(UUID.randomUUID(), "Joao da Silva", "12345678901", "55", "11", "44444444");
+        when(userService.suggestGuests("joao", 5)).thenReturn(List.of(suggestion));
+
+        ResponseEntity<List<UserSuggestion>> response = userController.suggestGuests("joao", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(suggestion), response.getBody());
+        verify(userService, times(1)).suggestGuests("joao", 5);
+    }
+
     @Test
     @DisplayName("Testa a consulta de um hospede inexistente da tabela users, pelo seu user_id.")
     public void testFindOneUser_NotFound_shouldReturnResourceNotFoundException() {
         UUID userId = UUID.randomUUID();
-        when(userService.findById(userId)).thenReturn(Optional.empty());
+        when(userService.findViewByUserId(userId)).thenReturn(Optional.empty());
 
         try {
             userController.findOneUser(userId);
@@ -104,20 +120,21 @@ class UserControllerTest {
             assertEquals("User não encontrado para o ID: " + userId, e.getMessage());
         }
 
-        verify(userService, times(1)).findById(userId);
+        verify(userService, times(1)).findViewByUserId(userId);
     }
     
     @Test
     @DisplayName("Testa a consulta de todos os hospedes da tabela users.")
     public void testListAllUsers_shouldReturnHttpStatusOk() {
-        List<User> users = List.of(new User(), new User());
-        when(userService.findAll()).thenReturn(users);
+        List<UserView> users = List.of(UserView.from(new User()), UserView.from(new User()));
+        when(userService.findPage(null, null)).thenReturn(new KeysetPage<>(users, "nextCursor"));
 
-        ResponseEntity<List<User>> response = userController.listAll();
+        ResponseEntity<List<UserView>> response = userController.listAll(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
-        verify(userService, times(1)).findAll();
+        assertEquals("nextCursor", response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+        verify(userService, times(1)).findPage(null, null);
     }
     
     @Test
@@ -130,7 +147,7 @@ class UserControllerTest {
         ResponseEntity<Object> response = userController.save(userDto);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertEquals(savedUser, response.getBody());
+        assertEquals(UserView.from(savedUser), response.getBody());
         verify(userService, times(1)).save(any(UserDto.class));
     }
     
@@ -62,6 +62,8 @@ class ValidationExceptionHandlerRestControllerTest {
 				any(), any())).thenReturn("Erro desconhecido.");
 		when(messageSource.getMessage(eq("error.method.argument.type.mismatch.exception.400.bad.request.userid"),
 				any(), any())).thenReturn("Path attribute 'userId'. ");
+		when(messageSource.getMessage(eq("error.postgresql.exclusion.violation.23P01.409.conflict"), any(), any()))
+				.thenReturn("Já existe uma reserva ativa para este quarto no período informado");
 		when(messageSource.getMessage(eq("error.postgresql.other.sqlexception.violation.422.unprocessable.entity"),
 				any(), any())).thenReturn("Data Integrity Violation");
 		when(messageSource.getMessage(eq("error.postgresql.unique.violation.23505.409.conflict"), any(), any()))
@@ -90,6 +92,21 @@ class ValidationExceptionHandlerRestControllerTest {
         assertEquals("Duplicate Key Violation", response.getBody().get("erro"));
     }
 
+    @Test
+    @DisplayName("Testa a ocorrencia de um exception devido a tentativa de inserir uma reserva ativa sobreposta a outra do mesmo quarto, "
+            + "violando a exclusion constraint do PostgreSQL e retornando um HttpStatus.CONFLICT ao Controller.")
+    void handleDataIntegrityViolationException_exclusionViolation_shouldReturnHttpStatusConflict() {
+        PSQLException sqlException = mock(PSQLException.class);
+        when(sqlException.getSQLState()).thenReturn("23P01");
+
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("Exclusion violation", sqlException);
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleDataIntegrityViolationException(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Já existe uma reserva ativa para este quarto no período informado", response.getBody().get("erro"));
+    }
+
     @Test
     @DisplayName("Testa a ocorrencia de um exception de alguma incoerência em algum campo de alguma tabela do PostgreSQL, causando o "
             + "erro DataIntegrityViolationException diferente de Unique violation, retornando um HttpStatus.UNPROCESSABLE_ENTITY ao Controller.")
@@ -0,0 +1,26 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+
+class RepositoryTimingRunnerTest {
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    @DisplayName("Testa se zero repeticoes ou aquecimento negativo sao rejeitados antes de medir.")
+    void constructor_invalidCounts_shouldFail() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryTimingRunner(bookingRepository, userRepository, transactionManager, 3, 0, ".*"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryTimingRunner(bookingRepository, userRepository, transactionManager, -1, 20, ".*"));
+    }
+}
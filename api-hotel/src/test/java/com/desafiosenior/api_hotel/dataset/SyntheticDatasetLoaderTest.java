@@ -0,0 +1,24 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SyntheticDatasetLoaderTest {
+    private final DataSource dataSource = mock(DataSource.class);
+
+    @Test
+    @DisplayName("Testa se mais quartos do que o numero maximo aceito pela API sao rejeitados na subida.")
+    void constructor_roomsAboveMaxNumber_shouldFail() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDatasetLoader(dataSource, 42, 1001, 100, 1_000, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDatasetLoader(dataSource, 42, 0, 100, 1_000, false));
+        assertDoesNotThrow(() -> new SyntheticDatasetLoader(dataSource, 42, 1000, 100, 1_000, false));
+    }
+}
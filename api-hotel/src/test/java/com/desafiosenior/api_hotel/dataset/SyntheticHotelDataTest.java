@@ -0,0 +1,134 @@
+package com.desafiosenior.api_hotel.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.desafiosenior.api_hotel.dataset.SyntheticHotelData.BookingRow;
+import com.desafiosenior.api_hotel.dataset.SyntheticHotelData.UserRow;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+
+class SyntheticHotelDataTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 9, 10, 10, 30);
+
+    @Test
+    @DisplayName("Testa se a mesma semente gera exatamente as mesmas linhas e outra semente gera linhas diferentes.")
+    void bookings_sameSeed_shouldBeDeterministic() {
+        var first = bookingsOf(new SyntheticHotelData(42, 20, 100, 1_000, NOW));
+        var second = bookingsOf(new SyntheticHotelData(42, 20, 100, 1_000, NOW));
+        var other = bookingsOf(new SyntheticHotelData(43, 20, 100, 1_000, NOW));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    @DisplayName("Testa se sao gerados os totais pedidos de quartos, hospedes e reservas, com ids unicos.")
+    void generate_shouldProduceRequestedCounts() {
+        var data = new SyntheticHotelData(7, 30, 200, 5_001, NOW);
+        var roomIds = new HashSet<UUID>();
+        var guestIds = new HashSet<UUID>();
+        var bookingIds = new HashSet<UUID>();
+
+        data.rooms(room -> roomIds.add(room.roomId()));
+        data.guests(guest -> guestIds.add(guest.userId()));
+        data.bookings(booking -> {
+            bookingIds.add(booking.bookingId());
+            assertTrue(roomIds.contains(booking.roomId()));
+            assertTrue(guestIds.contains(booking.userId()));
+        });
+
+        assertEquals(30, roomIds.size());
+        assertEquals(200, guestIds.size());
+        assertEquals(5_001, bookingIds.size());
+    }
+
+    @Test
+    @DisplayName("Testa se as reservas ativas (agendadas ou com checkin) de um mesmo quarto nunca se sobrepoem.")
+    void bookings_activeOnSameRoom_shouldNotOverlap() {
+        var byRoom = new HashMap<UUID, List<BookingRow>>();
+
+        new SyntheticHotelData(11, 50, 500, 20_000, NOW).bookings(booking -> {
+            if (BookingStatus.ACTIVE_STATUSES.contains(booking.status()))
+                byRoom.computeIfAbsent(booking.roomId(), roomId -> new ArrayList<>()).add(booking);
+        });
+
+        assertFalse(byRoom.isEmpty());
+
+        for (var bookings : byRoom.values()) {
+            bookings.sort(Comparator.comparing(BookingRow::dateCheckin));
+
+            for (int i = 1; i < bookings.size(); i++) {
+                var previous = bookings.get(i - 1);
+                var current = bookings.get(i);
+
+                // Reserva em aberto nao pode ter outra ativa depois dela
+                assertTrue(previous.dateCheckout() != null, "reserva ativa apos reserva em aberto");
+                assertFalse(current.dateCheckin().isBefore(previous.dateCheckout()),
+                        "sobreposicao entre " + previous.bookingId() + " e " + current.bookingId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Testa se o checkin feito esta no passado e as reservas agendadas no futuro.")
+    void bookings_statuses_shouldBeConsistentWithNow() {
+        Map<String, Integer> countByStatus = new HashMap<>();
+
+        new SyntheticHotelData(3, 40, 300, 8_000, NOW).bookings(booking -> {
+            countByStatus.merge(booking.status(), 1, Integer::sum);
+            assertFalse(booking.dateRegister().isAfter(NOW));
+            assertFalse(booking.dateLastChange().isBefore(booking.dateRegister()));
+
+            if (BookingStatus.CHECKIN.getStatus().equals(booking.status()))
+                assertTrue(booking.dateCheckin().isBefore(NOW));
+
+            if (BookingStatus.SCHEDULED.getStatus().equals(booking.status()))
+                assertTrue(booking.dateCheckin().isAfter(NOW));
+
+            if (booking.dateCheckout() != null)
+                assertTrue(booking.dateCheckout().isAfter(booking.dateCheckin()));
+        });
+
+        assertTrue(countByStatus.getOrDefault(BookingStatus.CHECKIN.getStatus(), 0) > 0);
+        assertTrue(countByStatus.getOrDefault(BookingStatus.SCHEDULED.getStatus(), 0) > 0);
+        assertTrue(countByStatus.getOrDefault(BookingStatus.FREE.getStatus(), 0) > 0);
+    }
+
+    @Test
+    @DisplayName("Testa se documento e login dos hospedes sao unicos.")
+    void guests_documentAndLogin_shouldBeUnique() {
+        var documents = new HashSet<String>();
+        var logins = new HashSet<String>();
+        var guests = new ArrayList<UserRow>();
+
+        new SyntheticHotelData(5, 1, 10_000, 0, NOW).guests(guests::add);
+        guests.forEach(guest -> {
+            documents.add(guest.document());
+            logins.add(guest.login());
+        });
+
+        assertEquals(10_000, documents.size());
+        assertEquals(10_000, logins.size());
+        assertTrue(guests.stream().allMatch(guest -> guest.document().length() == 11));
+    }
+
+    private static List<BookingRow> bookingsOf(SyntheticHotelData data) {
+        var rows = new ArrayList<BookingRow>();
+        data.bookings(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,55 @@
+package com.desafiosenior.api_hotel.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.HdrHistogram.Histogram;
+
+/*
+ * Objetivos de latencia (ms) e taxa de erro de um endpoint do teste de carga. Lidos de um arquivo properties:
+ *
+ *   default.p99=250          vale para todo endpoint sem valor proprio
+ *   booking-create.p999=800
+ *   checkin.error-rate=0.001
+ *
+ * Percentis sem valor configurado nao sao verificados.
+ */
+record LatencySlo(String endpoint, Double p50, Double p99, Double p999, Double errorRate) {
+	static final String DEFAULTS = "default";
+
+	static LatencySlo of(String endpoint, Properties properties) {
+		return new LatencySlo(endpoint, value(properties, endpoint, "p50"), value(properties, endpoint, "p99"),
+				value(properties, endpoint, "p999"), value(properties, endpoint, "error-rate"));
+	}
+
+	// Histograma em microssegundos; erros incluem status inesperado, falha de conexao e requisicao descartada
+	List<String> breaches(Histogram histogram, long errors) {
+		var breaches = new ArrayList<String>();
+		var total = histogram.getTotalCount() + errors;
+
+		check(breaches, "p50", p50, millis(histogram, 50.0));
+		check(breaches, "p99", p99, millis(histogram, 99.0));
+		check(breaches, "p99.9", p999, millis(histogram, 99.9));
+
+		if (errorRate != null && total > 0 && (double) errors / total > errorRate)
+			breaches.add(String.format("%s: taxa de erro %.4f acima de %.4f", endpoint, (double) errors / total,
+					errorRate));
+
+		return breaches;
+	}
+
+	static double millis(Histogram histogram, double percentile) {
+		return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	private void check(List<String> breaches, String name, Double limit, double actual) {
+		if (limit != null && actual > limit)
+			breaches.add(String.format("%s: %s de %.1f ms acima de %.1f ms", endpoint, name, actual, limit));
+	}
+
+	private static Double value(Properties properties, String endpoint, String key) {
+		var value = properties.getProperty(endpoint + "." + key, properties.getProperty(DEFAULTS + "." + key));
+		return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+	}
+}
@@ -0,0 +1,68 @@
+package com.desafiosenior.api_hotel.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.Random;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencySloTest {
+
+    @Test
+    @DisplayName("Testa se o valor do endpoint prevalece sobre o default e percentis ausentes nao sao verificados.")
+    void of_shouldFallBackToDefaults() {
+        var properties = new Properties();
+        properties.setProperty("default.p99", "250");
+        properties.setProperty("default.error-rate", "0.01");
+        properties.setProperty("login.p99", "400");
+
+        var slo = LatencySlo.of("login", properties);
+
+        assertEquals(400.0, slo.p99());
+        assertEquals(0.01, slo.errorRate());
+        assertNull(slo.p50());
+        assertNull(slo.p999());
+    }
+
+    @Test
+    @DisplayName("Testa se latencias dentro dos objetivos nao geram violacoes.")
+    void breaches_withinObjectives_shouldReportNothing() {
+        var slo = new LatencySlo("rooms", 30.0, 100.0, 500.0, 0.01);
+
+        assertTrue(slo.breaches(histogram(5_000, 50_000), 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa se cauda acima do objetivo e taxa de erro alta sao apontadas como violacoes.")
+    void breaches_aboveObjectives_shouldReportTailAndErrors() {
+        var slo = new LatencySlo("checkin", 30.0, 100.0, 500.0, 0.01);
+        var histogram = histogram(5_000, 50_000);
+
+        // 2% das medicoes em 800 ms: p99 e p99.9 estouram, p50 nao
+        for (int i = 0; i < 205; i++)
+            histogram.recordValue(800_000);
+
+        var breaches = slo.breaches(histogram, 500);
+
+        assertEquals(3, breaches.size());
+        assertTrue(breaches.get(0).contains("p99"));
+        assertTrue(breaches.get(1).contains("p99.9"));
+        assertTrue(breaches.get(2).contains("taxa de erro"));
+    }
+
+    // 10000 medicoes uniformes entre os limites, em microssegundos
+    private static Histogram histogram(long minMicros, long maxMicros) {
+        var histogram = new Histogram(1, 120_000_000, 3);
+        var random = new Random(1);
+
+        for (int i = 0; i < 10_000; i++)
+            histogram.recordValue(minMicros + (long) (random.nextDouble() * (maxMicros - minMicros)));
+
+        return histogram;
+    }
+}
@@ -0,0 +1,529 @@
+package com.desafiosenior.api_hotel.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.desafiosenior.api_hotel.dataset.SyntheticHotelData;
+import com.desafiosenior.api_hotel.model.KeysetPage;
+import com.desafiosenior.api_hotel.model.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+ * Teste de carga HTTP contra uma instancia local da ApiHotelApplication (Postgres local, de preferencia carregado pelo
+ * profile "dataset"). Passa pelos controllers reais com trafego misto: login, listagem de quartos, criacao de reserva,
+ * checkin, checkout e busca de hospedes.
+ *
+ * Modelo aberto: as chegadas seguem um processo de Poisson com a taxa configurada, independente das respostas. A
+ * latencia e medida a partir do instante planejado de envio, entao a fila formada quando o servidor atrasa entra na
+ * medicao (sem omissao coordenada). Acima de max-in-flight a requisicao e descartada e contada como erro, assim como
+ * a requisicao medida que ainda nao respondeu quando a espera final (REQUEST_TIMEOUT) termina.
+ *
+ * As reservas criadas ocupam janelas curtas a partir de stay-start, uma por quarto e por slot; o checkin consome as
+ * reservas criadas e o checkout as que tiveram checkin. Ao final as que sobraram sao canceladas ou encerradas, para
+ * que uma nova execucao possa reutilizar as mesmas janelas.
+ *
+ * Uso (opcoes --nome=valor, ver DEFAULTS): mvn -P load-test verify -Dload-test.rate=200 -Dload-test.duration=PT5M
+ * O processo termina com codigo 1 quando algum objetivo de slo.properties e violado.
+ */
+public final class LoadTestHarness {
+	private static final Map<String, String> DEFAULTS = Map.ofEntries(Map.entry("base-url", "http://localhost:8080"),
+			Map.entry("rate", "50"), Map.entry("warmup", "PT10S"), Map.entry("duration", "PT60S"),
+			Map.entry("max-in-flight", "256"), Map.entry("login", SyntheticHotelData.ATTENDANT_LOGIN),
+			Map.entry("password", SyntheticHotelData.PASSWORD),
+			Map.entry("mix", "login:5,rooms:25,booking-create:20,checkin:10,checkout:10,guest-search:30"),
+			Map.entry("slo", "src/test/resources/loadtest/slo.properties"),
+			Map.entry("report", "target/load-test-report.txt"), Map.entry("stay-start", "P365D"),
+			Map.entry("stay-length", "PT30M"), Map.entry("guest-sample", "2000"), Map.entry("seed", "42"));
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final int PAGE_SIZE = 100;
+
+	enum Endpoint {
+		LOGIN("login"), ROOMS("rooms"), BOOKING_CREATE("booking-create"), CHECKIN("checkin"), CHECKOUT("checkout"),
+		GUEST_SEARCH("guest-search");
+
+		private final String key;
+
+		Endpoint(String key) {
+			this.key = key;
+		}
+
+		static Endpoint of(String key) {
+			for (var endpoint : values()) {
+				if (endpoint.key.equals(key))
+					return endpoint;
+			}
+
+			throw new IllegalArgumentException("Endpoint desconhecido no mix: " + key);
+		}
+	}
+
+	private record Stay(UUID bookingId, LocalDateTime dateCheckin, LocalDateTime dateCheckout) {
+	}
+
+	private final Map<String, String> options;
+	private final String baseUrl;
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+	private final AtomicReference<String> token = new AtomicReference<>();
+	private final AtomicLong slots = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	// Requisicoes medidas ainda sem resposta; quem remover a entrada (resposta ou fim da espera) registra o resultado
+	private final Map<CompletableFuture<Integer>, Endpoint> measuredInFlight = new ConcurrentHashMap<>();
+	private final Queue<Stay> scheduled = new ConcurrentLinkedQueue<>();
+	private final Queue<UUID> checkedIn = new ConcurrentLinkedQueue<>();
+	private final LocalDateTime stayStart;
+	private final Duration stayLength;
+	private final Random random;
+
+	private List<Integer> roomNumbers;
+	private List<String> guestDocuments;
+
+	LoadTestHarness(Map<String, String> options) {
+		this.options = options;
+		this.baseUrl = options.get("base-url");
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5)).build();
+		this.random = new Random(Long.parseLong(options.get("seed")));
+		this.stayLength = Duration.parse(options.get("stay-length"));
+		this.stayStart = LocalDateTime.now().plus(Period.parse(options.get("stay-start")))
+				.truncatedTo(ChronoUnit.HOURS);
+
+		for (var endpoint : Endpoint.values())
+			stats.put(endpoint, new EndpointStats());
+	}
+
+	public static void main(String[] args) throws Exception {
+		var options = new HashMap<>(DEFAULTS);
+
+		for (var arg : args) {
+			var separator = arg.indexOf('=');
+
+			if (!arg.startsWith("--") || separator < 0)
+				throw new IllegalArgumentException("Opcao invalida (use --nome=valor): " + arg);
+
+			options.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+
+		var breaches = new LoadTestHarness(options).run();
+		System.exit(breaches.isEmpty() ? 0 : 1);
+	}
+
+	List<String> run() throws Exception {
+		prepare();
+
+		var mix = Mix.parse(options.get("mix"));
+		var rate = Double.parseDouble(options.get("rate"));
+		var maxInFlight = Integer.parseInt(options.get("max-in-flight"));
+		var start = System.nanoTime();
+		var measureFrom = start + Duration.parse(options.get("warmup")).toNanos();
+		var end = measureFrom + Duration.parse(options.get("duration")).toNanos();
+		var intended = start;
+
+		System.out.printf("Carga de %.1f req/s por %s (aquecimento %s) contra %s%n", rate, options.get("duration"),
+				options.get("warmup"), baseUrl);
+
+		while (true) {
+			// Intervalo exponencial: chegadas de Poisson
+			intended += (long) (-Math.log(1 - random.nextDouble()) / rate * 1_000_000_000L);
+
+			if (intended >= end)
+				break;
+
+			var wait = intended - System.nanoTime();
+
+			if (wait > 0)
+				LockSupport.parkNanos(wait);
+
+			var endpoint = mix.pick(random);
+			var endpointStats = intended >= measureFrom ? stats.get(endpoint) : null;
+
+			if (inFlight.get() >= maxInFlight) {
+				if (endpointStats != null)
+					endpointStats.status(EndpointStats.DROPPED);
+				continue;
+			}
+
+			var request = send(endpoint);
+
+			if (request == null)
+				continue;
+
+			var intendedStart = intended;
+			inFlight.incrementAndGet();
+
+			if (endpointStats != null)
+				measuredInFlight.put(request, endpoint);
+
+			request.whenComplete((status, ex) -> {
+				inFlight.decrementAndGet();
+
+				if (endpointStats != null && measuredInFlight.remove(request) != null)
+					endpointStats.record(System.nanoTime() - intendedStart, ex == null ? status : EndpointStats.FAILED,
+							ex == null && expected(endpoint, status));
+			});
+		}
+
+		awaitInFlight();
+		var breaches = report();
+		cleanUp();
+
+		return breaches;
+	}
+
+	private void prepare() throws Exception {
+		login().join();
+
+		if (token.get() == null)
+			throw new IllegalStateException("Login do atendente " + options.get("login")
+					+ " falhou: carregue a massa com o profile dataset ou informe --login/--password");
+
+		roomNumbers = new ArrayList<>();
+		page("/rooms", PAGE_SIZE, Integer.MAX_VALUE, room -> roomNumbers.add(room.path("number").asInt()));
+		guestDocuments = new ArrayList<>();
+		page("/users", PAGE_SIZE, Integer.parseInt(options.get("guest-sample")), user -> {
+			if (UserRole.GUEST.getRole().equals(user.path("role").asText()))
+				guestDocuments.add(user.path("document").asText());
+		});
+
+		if (roomNumbers.isEmpty() || guestDocuments.isEmpty())
+			throw new IllegalStateException("Sem quartos ou hospedes na base: carregue a massa com o profile dataset");
+
+		System.out.printf("%d quartos e %d documentos de hospedes carregados%n", roomNumbers.size(),
+				guestDocuments.size());
+	}
+
+	// Percorre a listagem por cursor (X-Next-Cursor) ate o fim ou ate o limite de itens
+	private void page(String path, int size, int limit, Consumer<JsonNode> consumer)
+			throws IOException, InterruptedException {
+		String cursor = null;
+		var read = 0;
+
+		do {
+			var uri = baseUrl + path + "?size=" + size + (cursor == null ? "" : "&cursor=" + encode(cursor));
+			var response = httpClient.send(request(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+			if (response.statusCode() != 200)
+				throw new IllegalStateException("GET " + path + " retornou " + response.statusCode());
+
+			for (var item : objectMapper.readTree(response.body())) {
+				consumer.accept(item);
+				read++;
+			}
+
+			cursor = response.headers().firstValue(KeysetPage.NEXT_CURSOR_HEADER).orElse(null);
+		} while (cursor != null && read < limit);
+	}
+
+	// Status da resposta; null quando o fluxo nao tem o que processar (ex.: checkin sem reserva criada)
+	private CompletableFuture<Integer> send(Endpoint endpoint) {
+		return switch (endpoint) {
+		case LOGIN -> login();
+		case ROOMS -> status(request(baseUrl + "/rooms?size=50").GET());
+		case BOOKING_CREATE -> createBooking();
+		case CHECKIN -> checkin();
+		case CHECKOUT -> checkout();
+		case GUEST_SEARCH -> searchGuest();
+		};
+	}
+
+	private CompletableFuture<Integer> login() {
+		var body = Map.of("login", options.get("login"), "password", options.get("password"));
+
+		return httpClient.sendAsync(request(baseUrl + "/auth/login").POST(json(body)).build(),
+				HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+					if (response.statusCode() == 200)
+						token.set(readTree(response.body()).path("token").asText());
+
+					return response.statusCode();
+				});
+	}
+
+	private CompletableFuture<Integer> createBooking() {
+		var slot = slots.getAndIncrement();
+		var roomNumber = roomNumbers.get((int) (slot % roomNumbers.size()));
+		var dateCheckin = stayStart.plus(stayLength.multipliedBy(slot / roomNumbers.size()));
+		var dateCheckout = dateCheckin.plus(stayLength).minusMinutes(1);
+		var body = Map.of("roomDto", Map.of("number", roomNumber), "userFinderStandardParamsDto",
+				Map.of("document", randomDocument()), "dateCheckin", dateCheckin, "dateCheckout", dateCheckout);
+
+		return httpClient.sendAsync(request(baseUrl + "/bookings").POST(json(body)).build(),
+				HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+					if (response.statusCode() == 201)
+						scheduled.add(new Stay(UUID.fromString(readTree(response.body()).path("bookingId").asText()),
+								dateCheckin, dateCheckout));
+
+					return response.statusCode();
+				});
+	}
+
+	private CompletableFuture<Integer> checkin() {
+		var stay = scheduled.poll();
+
+		if (stay == null)
+			return null;
+
+		var body = Map.of("dateCheckin", stay.dateCheckin(), "dateCheckout", stay.dateCheckout());
+
+		return status(authorized(request(baseUrl + "/bookings/checking/" + stay.bookingId())).PUT(json(body)))
+				.thenApply(status -> {
+					if (status == 204)
+						checkedIn.add(stay.bookingId());
+
+					return status;
+				});
+	}
+
+	private CompletableFuture<Integer> checkout() {
+		var bookingId = checkedIn.poll();
+
+		if (bookingId == null)
+			return null;
+
+		return status(authorized(request(baseUrl + "/bookings/checkout/" + bookingId))
+				.PUT(HttpRequest.BodyPublishers.noBody()));
+	}
+
+	// Alterna entre hospedados, com reserva ainda nao hospedados e o typeahead da recepcao
+	private CompletableFuture<Integer> searchGuest() {
+		var document = randomDocument();
+
+		return switch (random.nextInt(3)) {
+		case 0 -> status(request(baseUrl + "/users/hosted/guests?document=" + document).GET());
+		case 1 -> status(request(baseUrl + "/users/unhosted/guests?document=" + document).GET());
+		default -> status(authorized(request(baseUrl + "/users/suggest?q=" + document.substring(0, 4))).GET());
+		};
+	}
+
+	// Codigos aceitos por endpoint: a busca sem hospede encontrado responde 404
+	private static boolean expected(Endpoint endpoint, int status) {
+		return switch (endpoint) {
+		case LOGIN, ROOMS -> status == 200;
+		case BOOKING_CREATE -> status == 201;
+		case CHECKIN, CHECKOUT -> status == 204;
+		case GUEST_SEARCH -> status == 200 || status == 404;
+		};
+	}
+
+	private void awaitInFlight() {
+		var deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+
+		while (inFlight.get() > 0 && System.nanoTime() < deadline)
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+
+		for (var request : measuredInFlight.keySet()) {
+			var endpoint = measuredInFlight.remove(request);
+
+			if (endpoint != null)
+				stats.get(endpoint).status(EndpointStats.UNFINISHED);
+		}
+	}
+
+	private List<String> report() throws IOException {
+		var slo = new Properties();
+
+		try (Reader reader = Files.newBufferedReader(Path.of(options.get("slo")))) {
+			slo.load(reader);
+		}
+
+		var report = new StringBuilder(String.format("%-16s %9s %8s %10s %10s %10s %10s  %s%n", "endpoint", "ok",
+				"erros", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "status"));
+		var breaches = new ArrayList<String>();
+
+		for (var entry : stats.entrySet()) {
+			var key = entry.getKey().key;
+			var endpointStats = entry.getValue();
+			var histogram = endpointStats.histogram;
+
+			report.append(String.format("%-16s %9d %8d %10.1f %10.1f %10.1f %10.1f  %s%n", key,
+					histogram.getTotalCount(), endpointStats.errors.sum(), LatencySlo.millis(histogram, 50.0),
+					LatencySlo.millis(histogram, 99.0), LatencySlo.millis(histogram, 99.9),
+					histogram.getMaxValue() / 1000.0, endpointStats.statuses()));
+			breaches.addAll(LatencySlo.of(key, slo).breaches(histogram, endpointStats.errors.sum()));
+		}
+
+		breaches.forEach(breach -> report.append("SLO VIOLADO ").append(breach).append(System.lineSeparator()));
+
+		if (breaches.isEmpty())
+			report.append("Todos os objetivos de ").append(options.get("slo")).append(" atendidos")
+					.append(System.lineSeparator());
+
+		var reportPath = Path.of(options.get("report"));
+
+		if (reportPath.getParent() != null)
+			Files.createDirectories(reportPath.getParent());
+
+		Files.writeString(reportPath, report);
+		System.out.print(report);
+
+		return breaches;
+	}
+
+	// Libera as janelas usadas: reservas agendadas sao canceladas e as hospedadas encerradas
+	private void cleanUp() {
+		var pending = new ArrayList<CompletableFuture<Integer>>();
+		Stay stay;
+		UUID bookingId;
+
+		while ((stay = scheduled.poll()) != null)
+			pending.add(status(request(baseUrl + "/bookings/cancel/" + stay.bookingId())
+					.PUT(HttpRequest.BodyPublishers.noBody())));
+
+		while ((bookingId = checkedIn.poll()) != null)
+			pending.add(status(authorized(request(baseUrl + "/bookings/checkout/" + bookingId))
+					.PUT(HttpRequest.BodyPublishers.noBody())));
+
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+	}
+
+	private CompletableFuture<Integer> status(HttpRequest.Builder request) {
+		return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+				.thenApply(HttpResponse::statusCode);
+	}
+
+	private HttpRequest.Builder request(String uri) {
+		return HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT).header("Content-Type",
+				"application/json");
+	}
+
+	private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+		return request.header("Authorization", "Bearer " + token.get());
+	}
+
+	private HttpRequest.BodyPublisher json(Object body) {
+		try {
+			return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private JsonNode readTree(String body) {
+		try {
+			return objectMapper.readTree(body);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private String randomDocument() {
+		return guestDocuments.get(random.nextInt(guestDocuments.size()));
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	static final class EndpointStats {
+		static final int FAILED = 0;
+		static final int DROPPED = -1;
+		static final int UNFINISHED = -2;
+
+		// Microssegundos, de 1 us a 2 min com 3 digitos significativos
+		final Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 3);
+		final LongAdder errors = new LongAdder();
+		private final Map<Integer, LongAdder> countByStatus = new ConcurrentHashMap<>();
+
+		void record(long latencyNanos, int status, boolean ok) {
+			status(status);
+
+			if (ok)
+				histogram.recordValue(Math.min(Math.max(1, latencyNanos / 1000), HIGHEST_TRACKABLE_MICROS));
+			else
+				errors.increment();
+		}
+
+		void status(int status) {
+			countByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+
+			if (status == DROPPED || status == UNFINISHED)
+				errors.increment();
+		}
+
+		String statuses() {
+			var statuses = new StringBuilder();
+			countByStatus.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> statuses
+					.append(entry.getKey() == DROPPED ? "descartada"
+							: entry.getKey() == UNFINISHED ? "sem-resposta"
+									: entry.getKey() == FAILED ? "falha" : entry.getKey())
+					.append('=').append(entry.getValue().sum()).append(' '));
+			return statuses.toString().trim();
+		}
+	}
+
+	// Sorteio ponderado do endpoint de cada chegada
+	static final class Mix {
+		private final Endpoint[] endpoints;
+		private final int[] cumulativeWeights;
+
+		private Mix(Endpoint[] endpoints, int[] cumulativeWeights) {
+			this.endpoints = endpoints;
+			this.cumulativeWeights = cumulativeWeights;
+		}
+
+		static Mix parse(String mix) {
+			var entries = mix.split(",");
+			var endpoints = new Endpoint[entries.length];
+			var cumulativeWeights = new int[entries.length];
+			var total = 0;
+
+			for (int i = 0; i < entries.length; i++) {
+				var parts = entries[i].trim().split(":");
+				endpoints[i] = Endpoint.of(parts[0]);
+				total += Integer.parseInt(parts[1]);
+				cumulativeWeights[i] = total;
+			}
+
+			return new Mix(endpoints, cumulativeWeights);
+		}
+
+		Endpoint pick(Random random) {
+			var draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+			for (int i = 0; i < cumulativeWeights.length; i++) {
+				if (draw < cumulativeWeights[i])
+					return endpoints[i];
+			}
+
+			return endpoints[endpoints.length - 1];
+		}
+	}
+}
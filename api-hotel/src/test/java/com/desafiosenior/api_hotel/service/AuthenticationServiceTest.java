@@ -0,0 +1,98 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.desafiosenior.api_hotel.exception.ServiceUnavailableException;
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+
+public class AuthenticationServiceTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = new User();
+        user.setUserId(UUID.randomUUID());
+        user.setLogin("attendant");
+        user.setPassword("$2a$10$oldHash");
+
+        when(userRepository.findByUserId(user.getUserId())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Testa se um hash com custo menor que o calibrado e refeito no pool de hash e o principal em cache e invalidado.")
+    void updatePassword_withOutdatedCost_shouldRehashThroughPool() {
+        when(passwordEncoder.upgradeEncoding("$2a$10$oldHash")).thenReturn(true);
+        when(passwordHashingService.encode("secret")).thenReturn("$2a$12$newHash");
+
+        authenticationService.updatePassword(user.getUserId(), "secret");
+
+        assertEquals("$2a$12$newHash", user.getPassword());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository).save(user);
+        verify(principalCache).invalidate("attendant");
+    }
+
+    @Test
+    @DisplayName("Testa se um hash ja no custo atual nao e refeito nem gravado.")
+    void updatePassword_withCurrentCost_shouldKeepHash() {
+        when(passwordEncoder.upgradeEncoding("$2a$10$oldHash")).thenReturn(false);
+
+        authenticationService.updatePassword(user.getUserId(), "secret");
+
+        assertEquals("$2a$10$oldHash", user.getPassword());
+        verify(passwordHashingService, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Testa se, com o pool de hash sobrecarregado, o login nao falha e o hash antigo e mantido ate o proximo login.")
+    void updatePassword_withSaturatedPool_shouldKeepHash() {
+        when(passwordEncoder.upgradeEncoding("$2a$10$oldHash")).thenReturn(true);
+        when(passwordHashingService.encode("secret")).thenThrow(new ServiceUnavailableException("sobrecarregado"));
+
+        authenticationService.updatePassword(user.getUserId(), "secret");
+
+        assertEquals("$2a$10$oldHash", user.getPassword());
+        verify(userRepository, never()).save(any(User.class));
+        verify(principalCache, never()).invalidate(anyString());
+    }
+}
@@ -0,0 +1,342 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.desafiosenior.api_hotel.model.BookingCreateDto;
+import com.desafiosenior.api_hotel.model.BookingUpdateDto;
+import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomView;
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+/*
+ * Dispara centenas de save/update concorrentes com periodos sobrepostos para o mesmo quarto e verifica, ao final de
+ * cada execucao, que nenhuma reserva ativa se sobrepoe. A tabela e o InMemoryBookingStore (que reproduz a constraint
+ * bookings_room_stay_excl) e cada chamada roda em uma transacao simulada: os indices em memoria so sao atualizados no
+ * "commit", como em producao. Conflitos detectados pela constraint sao repetidos como um cliente faria; com o
+ * RoomWriteLock mantido ate o commit eles nao devem ocorrer em uma unica instancia.
+ *
+ * O modo distribuido (o padrao em producao) roda com duas "instancias" do BookingService sobre a mesma tabela, cada
+ * uma com o seu RoomWriteLock e o seu RoomAvailabilityIndex: a decisao vem de lockRoom + existsActiveOverlap.
+ *
+ * O volume pode ser aumentado com -Dstress.operations=5000 -Dstress.threads=32; o relatorio de vazao e retentativas
+ * sai no console.
+ */
+class BookingConcurrencyStressTest {
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 400);
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int MAX_ATTEMPTS = 3;
+    // A janela cresce com o volume: cerca de um terco das operacoes chega a gravar, e as demais disputam datas ocupadas
+    private static final int WINDOW_DAYS = Math.max(30, OPERATIONS);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private RoomService roomService;
+    @Mock
+    private RoomOccupancyCalendar roomOccupancyCalendar;
+    @Mock
+    private GuestSearchCache guestSearchCache;
+    @Mock
+    private BookingOutbox bookingOutbox;
+    @Mock
+    private MessageSource messageSource;
+
+    private AutoCloseable mocks;
+    private BookingService[] nodes;
+    private InMemoryBookingStore store;
+    private ExecutorService executor;
+    private UUID roomId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(THREADS);
+        roomId = UUID.randomUUID();
+        base = LocalDateTime.of(2031, 3, 1, 14, 0);
+
+        var room = new Room(base.minusYears(1));
+        room.setRoomId(roomId);
+        var user = new User();
+        user.setUserId(UUID.randomUUID());
+
+        when(roomService.findCachedByNumber(101)).thenReturn(Optional.of(new RoomView(roomId, 101, base, base)));
+        when(roomService.getReference(roomId)).thenReturn(room);
+        when(userService.getUsersByAttributeChecker(any(), anyString())).thenReturn(List.of(Optional.of(user)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        mocks.close();
+    }
+
+    @Test
+    @DisplayName("Testa se saves concorrentes com periodos sobrepostos no mesmo quarto nunca geram reservas ativas sobrepostas.")
+    void save_concurrentOverlappingRanges_shouldKeepActiveBookingsDisjoint() throws Exception {
+        useStore(true);
+
+        var stats = run("save", index -> () -> save(index, randomRange(index)));
+
+        assertTrue(store.activeOverlaps().isEmpty(), () -> "Reservas sobrepostas: " + store.activeOverlaps());
+        assertTrue(stats.created.sum() >= OPERATIONS / 10, () -> "Poucas gravacoes: " + stats.created.sum());
+        assertEquals(OPERATIONS, stats.created.sum() + stats.rejected.sum() + stats.exhausted.sum());
+        assertEquals(store.findAll().size(), stats.created.sum());
+        // Com o lock por quarto mantido ate o commit, a constraint nao chega a ser acionada em uma unica instancia
+        assertEquals(0, store.constraintViolations());
+    }
+
+    @Test
+    @DisplayName("Testa se saves e updates concorrentes no mesmo quarto preservam a invariante de nao sobreposicao.")
+    void saveAndUpdate_concurrentOverlappingRanges_shouldKeepActiveBookingsDisjoint() throws Exception {
+        useStore(true);
+        var bookingIds = new CopyOnWriteArrayList<UUID>();
+
+        // Reservas iniciais em dias alternados: os updates disputam as mesmas janelas
+        for (int day = 0; day < WINDOW_DAYS; day += 3) {
+            var dateCheckin = base.plusDays(day);
+            bookingIds.add(inTransaction(() -> nodes[0].save(createDto(dateCheckin, dateCheckin.plusDays(1))))
+                    .getBookingId());
+        }
+
+        var stats = run("save+update", index -> {
+            var range = randomRange(index);
+
+            if (index % 2 == 0)
+                return () -> {
+                    var outcome = save(index, range);
+
+                    if (outcome.bookingId() != null)
+                        bookingIds.add(outcome.bookingId());
+
+                    return outcome;
+                };
+
+            var bookingId = bookingIds.get(new SplittableRandom(index).nextInt(bookingIds.size()));
+            return () -> update(index, bookingId, range);
+        });
+
+        assertTrue(store.activeOverlaps().isEmpty(), () -> "Reservas sobrepostas: " + store.activeOverlaps());
+        assertEquals(OPERATIONS, stats.created.sum() + stats.rejected.sum() + stats.exhausted.sum());
+        assertEquals(0, store.constraintViolations());
+    }
+
+    @Test
+    @DisplayName("Testa se, no modo distribuido com duas instancias, advisory lock e consulta ao banco impedem reservas ativas sobrepostas.")
+    void save_distributedNodes_shouldKeepActiveBookingsDisjointThroughDatabaseCheck() throws Exception {
+        // Sem a constraint: o que impede a sobreposicao e apenas lockRoom + existsActiveOverlap
+        useDistributedStore(2);
+
+        var stats = run("save distribuido", index -> () -> save(index, randomRange(index)));
+
+        assertTrue(store.activeOverlaps().isEmpty(), () -> "Reservas sobrepostas: " + store.activeOverlaps());
+        assertTrue(stats.created.sum() >= OPERATIONS / 10, () -> "Poucas gravacoes: " + stats.created.sum());
+        assertEquals(store.findAll().size(), stats.created.sum());
+        assertEquals(0, stats.retries.sum());
+    }
+
+    @Test
+    @DisplayName("Testa que, mesmo sem a constraint, o lock por quarto impede reservas ativas sobrepostas.")
+    void save_withoutConstraint_shouldKeepActiveBookingsDisjointThroughRoomLock() throws Exception {
+        useStore(false);
+
+        var stats = run("save sem constraint", index -> () -> save(index, randomRange(index)));
+
+        assertTrue(store.activeOverlaps().isEmpty(), () -> "Reservas sobrepostas: " + store.activeOverlaps());
+        assertTrue(stats.created.sum() > 0);
+        assertEquals(0, stats.retries.sum());
+    }
+
+    private void useStore(boolean enforceConstraint) {
+        store = new InMemoryBookingStore(enforceConstraint);
+        store.bind(bookingRepository);
+        nodes = new BookingService[] { node(false) };
+    }
+
+    private void useDistributedStore(int instances) {
+        store = new InMemoryBookingStore(false);
+        store.bind(bookingRepository);
+        nodes = new BookingService[instances];
+
+        for (int i = 0; i < instances; i++)
+            nodes[i] = node(true);
+    }
+
+    // Cada instancia tem o seu lock e o seu indice em memoria; a tabela e o repositorio sao compartilhados
+    private BookingService node(boolean distributed) {
+        return new BookingService(bookingRepository, userService, roomService,
+                new RoomAvailabilityIndex(bookingRepository), roomOccupancyCalendar, guestSearchCache, bookingOutbox,
+                new RoomWriteLock(bookingRepository, 64, distributed), messageSource);
+    }
+
+    private Stats run(String name, OperationFactory operations) throws Exception {
+        var stats = new Stats();
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Outcome>>(OPERATIONS);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            var operation = operations.create(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return operation.call();
+            }));
+        }
+
+        var startNanos = System.nanoTime();
+        start.countDown();
+
+        for (var future : futures)
+            stats.add(future.get(30, TimeUnit.SECONDS));
+
+        stats.report(name, System.nanoTime() - startNanos, store.constraintViolations());
+        return stats;
+    }
+
+    // Repete a operacao quando a constraint rejeita a gravacao, como o cliente faria apos um 409
+    private Outcome save(int index, LocalDateTime[] range) {
+        var bookingService = nodes[index % nodes.length];
+
+        return withRetry(() -> {
+            var booking = inTransaction(() -> bookingService.save(createDto(range[0], range[1])));
+            return booking == null ? Outcome.REJECTED : Outcome.created(booking.getBookingId());
+        });
+    }
+
+    private Outcome update(int index, UUID bookingId, LocalDateTime[] range) {
+        var bookingService = nodes[index % nodes.length];
+
+        return withRetry(() -> {
+            var booking = inTransaction(() -> bookingService.update(bookingId, new BookingUpdateDto(range[0], range[1], "S")));
+            return booking == null || booking.isEmpty() ? Outcome.REJECTED : Outcome.created(bookingId);
+        });
+    }
+
+    private static Outcome withRetry(Supplier<Outcome> operation) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                return operation.get().withAttempts(attempt);
+            } catch (DataIntegrityViolationException ex) {
+                // Conflito detectado pela constraint: tenta de novo com o indice ja atualizado
+            }
+        }
+
+        return Outcome.EXHAUSTED.withAttempts(MAX_ATTEMPTS);
+    }
+
+    // Transacao simulada: os callbacks afterCommit so rodam se a operacao terminar sem excecao; afterCompletion sempre.
+    // Marcada como ativa para o RoomWriteLock distribuido tomar o advisory lock
+    private static <T> T inTransaction(Supplier<T> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        var status = TransactionSynchronization.STATUS_ROLLED_BACK;
+
+        try {
+            var result = work.get();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            status = TransactionSynchronization.STATUS_COMMITTED;
+            return result;
+        } finally {
+            var completed = status;
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(completed));
+        }
+    }
+
+    // Periodos de 1 a 4 noites; com WINDOW_DAYS proximo de OPERATIONS as threads ainda disputam as mesmas datas
+    private LocalDateTime[] randomRange(int index) {
+        var random = new SplittableRandom(index * 31L + 7);
+        var dateCheckin = base.plusDays(random.nextInt(WINDOW_DAYS));
+        return new LocalDateTime[] { dateCheckin, dateCheckin.plusDays(1 + random.nextInt(4)).minusHours(2) };
+    }
+
+    private static BookingCreateDto createDto(LocalDateTime dateCheckin, LocalDateTime dateCheckout) {
+        return new BookingCreateDto(new RoomDto(null, 101),
+                new UserFinderStandardParamsDto("12345678901", null, null, null, null), dateCheckin, dateCheckout, "S");
+    }
+
+    @FunctionalInterface
+    private interface OperationFactory {
+        Callable<Outcome> create(int index);
+    }
+
+    private record Outcome(Kind kind, UUID bookingId, int attempts) {
+        static final Outcome REJECTED = new Outcome(Kind.REJECTED, null, 1);
+        static final Outcome EXHAUSTED = new Outcome(Kind.EXHAUSTED, null, 1);
+
+        enum Kind {
+            CREATED, REJECTED, EXHAUSTED
+        }
+
+        static Outcome created(UUID bookingId) {
+            return new Outcome(Kind.CREATED, bookingId, 1);
+        }
+
+        Outcome withAttempts(int attempts) {
+            return new Outcome(kind, bookingId, attempts);
+        }
+    }
+
+    private static final class Stats {
+        final LongAdder created = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+        final LongAdder retries = new LongAdder();
+
+        void add(Outcome outcome) {
+            retries.add(outcome.attempts() - 1);
+
+            switch (outcome.kind()) {
+            case CREATED -> created.increment();
+            case REJECTED -> rejected.increment();
+            case EXHAUSTED -> exhausted.increment();
+            }
+        }
+
+        void report(String name, long elapsedNanos, long constraintViolations) {
+            var seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf(
+                    "[stress %s] %d operacoes, %d threads: %.0f ops/s, gravadas=%d, rejeitadas=%d, esgotadas=%d, "
+                            + "violacoes da constraint=%d, retentativas=%d (%.2f%% das operacoes)%n",
+                    name, OPERATIONS, THREADS, OPERATIONS / seconds, created.sum(), rejected.sum(), exhausted.sum(),
+                    constraintViolations, retries.sum(), 100.0 * retries.sum() / OPERATIONS);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingEvent;
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class BookingOutboxTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private BookingOutbox bookingOutbox;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        bookingOutbox = new BookingOutbox(outboxEventRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Testa se o evento gravado no outbox leva o tipo, a reserva e o payload JSON com o mesmo eventId.")
+    void record_shouldStoreEventWithJsonPayload() throws Exception {
+        var room = new Room();
+        room.setRoomId(UUID.randomUUID());
+        var user = new User();
+        user.setUserId(UUID.randomUUID());
+        var booking = new Booking(LocalDateTime.now());
+        booking.setBookingId(UUID.randomUUID());
+        booking.setRoom(room);
+        booking.setUser(user);
+        booking.setStatus(BookingStatus.SCHEDULED.getStatus());
+        booking.setDateCheckin(LocalDateTime.of(2026, 1, 10, 14, 0));
+
+        var outboxEvent = bookingOutbox.record(BookingEventType.CREATED, booking);
+        var payload = objectMapper.readValue(outboxEvent.getPayload(), BookingEvent.class);
+
+        assertEquals("BookingCreated", outboxEvent.getEventType());
+        assertEquals(booking.getBookingId(), outboxEvent.getAggregateId());
+        assertEquals(outboxEvent.getEventId(), payload.eventId());
+        assertEquals(room.getRoomId(), payload.roomId());
+        assertEquals(user.getUserId(), payload.userId());
+        assertEquals("S", payload.status());
+        assertEquals(booking.getDateCheckin(), payload.dateCheckin());
+    }
+}
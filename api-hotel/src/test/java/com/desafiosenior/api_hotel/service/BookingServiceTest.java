@@ -0,0 +1,173 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingCreateDto;
+import com.desafiosenior.api_hotel.model.BookingUpdateDto;
+import com.desafiosenior.api_hotel.model.Room;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomView;
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+public class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RoomOccupancyCalendar roomOccupancyCalendar;
+
+    @Mock
+    private GuestSearchCache guestSearchCache;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    @Mock
+    private MessageSource messageSource;
+
+    private AutoCloseable mocks;
+    private BookingService bookingService;
+    private LocalDateTime dateCheckin;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        dateCheckin = LocalDateTime.now().plusDays(10);
+
+        room = new Room(dateCheckin.minusYears(1));
+        room.setRoomId(UUID.randomUUID());
+        var user = new User();
+        user.setUserId(UUID.randomUUID());
+
+        when(roomService.findCachedByNumber(101))
+                .thenReturn(Optional.of(new RoomView(room.getRoomId(), 101, room.getDateRegister(), room.getDateRegister())));
+        when(roomService.getReference(room.getRoomId())).thenReturn(room);
+        when(userService.getUsersByAttributeChecker(any(), anyString())).thenReturn(List.of(Optional.of(user)));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Quarto ocupado no periodo pedido
+        when(roomAvailabilityIndex.isAvailable(any(), any(), any(), any())).thenReturn(false);
+
+        bookingService = new BookingService(bookingRepository, userService, roomService, roomAvailabilityIndex,
+                roomOccupancyCalendar, guestSearchCache, bookingOutbox, new RoomWriteLock(bookingRepository, 16, false),
+                messageSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    @DisplayName("Testa se uma reserva criada como livre (F) e permitida mesmo com o quarto ocupado no periodo.")
+    void save_freeStatusOnOccupiedPeriod_shouldBePermitted() {
+        var booking = bookingService.save(createDto("F"));
+
+        assertNotNull(booking);
+        assertEquals("F", booking.getStatus());
+        verify(bookingRepository).saveAndFlush(booking);
+    }
+
+    @Test
+    @DisplayName("Testa se uma reserva agendada e rejeitada quando o quarto esta ocupado no periodo.")
+    void save_scheduledStatusOnOccupiedPeriod_shouldBeRejected() {
+        assertNull(bookingService.save(createDto("S")));
+        assertNull(bookingService.save(createDto(null)));
+
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Testa se alterar uma reserva para livre (F) e permitido mesmo com o quarto ocupado no periodo.")
+    void update_toFreeStatusOnOccupiedPeriod_shouldBePermitted() {
+        var booking = scheduledBooking();
+
+        var bookingDb = bookingService.update(booking.getBookingId(),
+                new BookingUpdateDto(dateCheckin, dateCheckin.plusDays(2), "F"));
+
+        assertTrue(bookingDb.isPresent());
+        assertEquals("F", bookingDb.get().getStatus());
+    }
+
+    @Test
+    @DisplayName("Testa se alterar as datas de uma reserva agendada e rejeitado quando o quarto esta ocupado no periodo.")
+    void update_keepingScheduledStatusOnOccupiedPeriod_shouldBeRejected() {
+        var booking = scheduledBooking();
+
+        assertNull(bookingService.update(booking.getBookingId(),
+                new BookingUpdateDto(dateCheckin, dateCheckin.plusDays(2), null)));
+
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Testa se, no modo distribuido, a disponibilidade vem apenas do banco e o indice local nao e consultado.")
+    void save_distributedMode_shouldDecideOnDatabaseOnly() {
+        var distributedService = new BookingService(bookingRepository, userService, roomService, roomAvailabilityIndex,
+                roomOccupancyCalendar, guestSearchCache, bookingOutbox, new RoomWriteLock(bookingRepository, 16, true),
+                messageSource);
+
+        // O indice local diz ocupado (pode estar desatualizado), mas o banco nao tem reserva sobreposta
+        when(bookingRepository.existsActiveOverlap(eq(room.getRoomId()), any(), any(), any())).thenReturn(false);
+        assertNotNull(distributedService.save(createDto("S")));
+
+        when(bookingRepository.existsActiveOverlap(eq(room.getRoomId()), any(), any(), any())).thenReturn(true);
+        assertNull(distributedService.save(createDto("S")));
+
+        verify(roomAvailabilityIndex, never()).isAvailable(any(), any(), any(), any());
+    }
+
+    private Booking scheduledBooking() {
+        var booking = new Booking(dateCheckin.minusDays(5));
+        booking.setBookingId(UUID.randomUUID());
+        booking.setRoom(room);
+        booking.setDateCheckin(dateCheckin.plusDays(5));
+        booking.setDateCheckout(dateCheckin.plusDays(6));
+        booking.setStatus("S");
+
+        when(bookingRepository.findByBookingId(booking.getBookingId())).thenReturn(Optional.of(booking));
+        return booking;
+    }
+
+    private BookingCreateDto createDto(String status) {
+        return new BookingCreateDto(new RoomDto(null, 101),
+                new UserFinderStandardParamsDto("12345678901", null, null, null, null), dateCheckin,
+                dateCheckin.plusDays(2), status);
+    }
+}
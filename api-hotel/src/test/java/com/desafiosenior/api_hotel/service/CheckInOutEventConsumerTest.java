@@ -0,0 +1,142 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.desafiosenior.api_hotel.model.BookingEvent;
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.repository.ProcessedCheckInOutEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CheckInOutEventConsumerTest {
+    private static final String QUEUE = "default.checkinout";
+
+    @Mock
+    private AmqpTemplate amqpTemplate;
+
+    @Mock
+    private CheckInOutEventHandler handler;
+
+    @Mock
+    private ObjectProvider<CheckInOutEventHandler> handlers;
+
+    @Mock
+    private ProcessedCheckInOutEventRepository processedCheckInOutEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Set<String> processedKeys = new HashSet<>();
+    private CheckInOutEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(handlers.orderedStream()).thenAnswer(invocation -> Stream.of(handler));
+        when(processedCheckInOutEventRepository.markProcessed(anyString(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> processedKeys.add(invocation.getArgument(0)) ? 1 : 0);
+
+        consumer = new CheckInOutEventConsumer(processedCheckInOutEventRepository, handlers, amqpTemplate,
+                transactionManager, objectMapper, QUEUE, 3, Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("Testa se um checkin entregue duas vezes no mesmo lote aciona os handlers uma unica vez.")
+    void onBatch_duplicateDelivery_shouldHandleOnce() throws Exception {
+        var bookingId = UUID.randomUUID();
+        var checkin = message(event(bookingId, BookingEventType.CHECKED_IN));
+        var checkout = message(event(bookingId, BookingEventType.CHECKED_OUT));
+
+        consumer.onBatch(List.of(checkin, checkin, checkout));
+
+        verify(handler, times(2)).handle(any(BookingEvent.class));
+        verify(amqpTemplate, never()).send(anyString(), anyString(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("Testa se uma falha vai para a fila de retentativa, sem esperar no listener nem travar o restante do lote, e para a DLQ na ultima tentativa.")
+    void onBatch_handlerKeepsFailing_shouldRequeueThenDeadLetter() throws Exception {
+        var failing = event(UUID.randomUUID(), BookingEventType.CHECKED_OUT);
+        var healthy = event(UUID.randomUUID(), BookingEventType.CHECKED_IN);
+        doThrow(new IllegalStateException("faturamento indisponivel")).when(handler).handle(failing);
+        // Sem transacao real, a marcacao de idempotencia nao e desfeita: o repositorio simula o rollback
+        when(processedCheckInOutEventRepository.markProcessed(eq(failing.bookingId() + ":" + failing.type()),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        consumer.onBatch(List.of(message(failing), message(healthy)));
+
+        verify(handler, times(1)).handle(failing);
+        verify(handler, times(1)).handle(healthy);
+
+        // A fila de retentativa devolve a mensagem depois do TTL; aqui a reentrega e feita direto no listener
+        var retry = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq(""), eq(QUEUE + CheckInOutEventConsumer.RETRY_SUFFIX), retry.capture());
+        assertEquals(2, (Integer) retry.getValue().getMessageProperties().getHeader(CheckInOutEventConsumer.HEADER_ATTEMPT));
+
+        consumer.onBatch(List.of(retry.getValue()));
+        verify(amqpTemplate, times(2)).send(eq(""), eq(QUEUE + CheckInOutEventConsumer.RETRY_SUFFIX), retry.capture());
+        assertEquals(3, (Integer) retry.getValue().getMessageProperties().getHeader(CheckInOutEventConsumer.HEADER_ATTEMPT));
+
+        consumer.onBatch(List.of(retry.getValue()));
+        verify(handler, times(3)).handle(failing);
+        verify(amqpTemplate, times(2)).send(eq(""), eq(QUEUE + CheckInOutEventConsumer.RETRY_SUFFIX), any(Message.class));
+
+        var deadLetter = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq(""), eq(QUEUE + CheckInOutEventConsumer.DEAD_LETTER_SUFFIX), deadLetter.capture());
+        assertEquals("faturamento indisponivel", deadLetter.getValue().getMessageProperties()
+                .getHeader(CheckInOutEventConsumer.HEADER_EXCEPTION_MESSAGE));
+    }
+
+    @Test
+    @DisplayName("Testa se uma mensagem que nao e um checkin/checkout valido vai direto para a DLQ.")
+    void onBatch_invalidMessage_shouldDeadLetterWithoutRetry() throws Exception {
+        var invalidJson = new Message("nao-e-json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+        var wrongType = message(event(UUID.randomUUID(), BookingEventType.CREATED));
+
+        consumer.onBatch(List.of(invalidJson, wrongType));
+
+        verify(handler, never()).handle(any(BookingEvent.class));
+        verify(amqpTemplate, times(2)).send(eq(""), eq(QUEUE + CheckInOutEventConsumer.DEAD_LETTER_SUFFIX),
+                any(Message.class));
+    }
+
+    private static BookingEvent event(UUID bookingId, BookingEventType type) {
+        return new BookingEvent(UUID.randomUUID(), type.getType(), bookingId, UUID.randomUUID(), UUID.randomUUID(),
+                "C", LocalDateTime.now(), null, LocalDateTime.now());
+    }
+
+    private Message message(BookingEvent event) throws Exception {
+        var properties = new MessageProperties();
+        properties.setMessageId(event.eventId().toString());
+        return new Message(objectMapper.writeValueAsBytes(event), properties);
+    }
+}
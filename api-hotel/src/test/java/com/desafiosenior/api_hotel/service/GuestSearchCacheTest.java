@@ -0,0 +1,95 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.desafiosenior.api_hotel.model.GuestBookingView;
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+import com.desafiosenior.api_hotel.service.GuestSearchCache.Stay;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GuestSearchCacheTest {
+
+    private AtomicInteger loads;
+    private GuestSearchCache guestSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        loads = new AtomicInteger();
+        guestSearchCache = new GuestSearchCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(15));
+    }
+
+    private List<GuestBookingView> load(UserFinderStandardParamsDto params, String role) {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    @Test
+    @DisplayName("Testa se nomes com caixa e espacos diferentes compartilham a mesma entrada do cache.")
+    void get_sameNameDifferentFormatting_shouldLoadOnce() {
+        guestSearchCache.get(Stay.HOSTED, "G", new UserFinderStandardParamsDto(null, "Joao da Silva", null, null, null), this::load);
+        guestSearchCache.get(Stay.HOSTED, "g", new UserFinderStandardParamsDto(null, " joaodasilva ", null, null, null), this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Testa se documento e telefone com espacos compartilham a entrada do cache e chegam aparados a consulta.")
+    void get_paddedDocumentAndPhone_shouldLoadOnceWithTrimmedParams() {
+        var loaded = new ArrayList<UserFinderStandardParamsDto>();
+        BiFunction<UserFinderStandardParamsDto, String, List<GuestBookingView>> loader = (params, role) -> {
+            loaded.add(params);
+            return load(params, role);
+        };
+
+        guestSearchCache.get(Stay.HOSTED, "G", new UserFinderStandardParamsDto(" 12345678901", null, null, null, null), loader);
+        guestSearchCache.get(Stay.HOSTED, "G", new UserFinderStandardParamsDto("12345678901", null, null, null, null), loader);
+        guestSearchCache.get(Stay.HOSTED, " g", new UserFinderStandardParamsDto(null, null, " 44444444 ", "11 ", " 55"), loader);
+
+        assertEquals(2, loads.get());
+        assertEquals("12345678901", loaded.get(0).document());
+        assertEquals(new UserFinderStandardParamsDto(null, null, "44444444", "11", "55"), loaded.get(1));
+    }
+
+    @Test
+    @DisplayName("Testa se a chave considera apenas o atributo usado na busca: com documento, nome e telefone sao ignorados.")
+    void get_documentPresent_shouldIgnoreOtherAttributes() {
+        guestSearchCache.get(Stay.HOSTED, "G", new UserFinderStandardParamsDto("12345678901", "Joao", null, null, null), this::load);
+        guestSearchCache.get(Stay.HOSTED, "G", new UserFinderStandardParamsDto("12345678901", null, "44444444", "11", "55"), this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Testa se buscas de hospedados e nao hospedados com os mesmos parametros ficam em entradas separadas.")
+    void get_differentStay_shouldLoadTwice() {
+        var params = new UserFinderStandardParamsDto("12345678901", null, null, null, null);
+
+        guestSearchCache.get(Stay.HOSTED, "G", params, this::load);
+        guestSearchCache.get(Stay.UNHOSTED, "G", params, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Testa se apos uma transicao de reserva (invalidateAll) a busca volta ao banco.")
+    void invalidateAll_shouldReloadOnNextGet() {
+        var params = new UserFinderStandardParamsDto(null, null, "44444444", "11", "55");
+
+        guestSearchCache.get(Stay.UNHOSTED, "G", params, this::load);
+        guestSearchCache.invalidateAll();
+        guestSearchCache.get(Stay.UNHOSTED, "G", params, this::load);
+
+        assertEquals(2, loads.get());
+    }
+}
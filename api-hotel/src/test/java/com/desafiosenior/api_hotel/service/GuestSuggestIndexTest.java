@@ -0,0 +1,107 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.desafiosenior.api_hotel.model.UserSuggestion;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+
+class GuestSuggestIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private GuestSuggestIndex guestSuggestIndex;
+    private UserSuggestion joao;
+    private UserSuggestion joana;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        guestSuggestIndex = new GuestSuggestIndex(userRepository, 4, 10, 2, Duration.ofSeconds(1));
+        joao = new UserSuggestion(UUID.randomUUID(), "João da Silva", "12345678901", "55", "11", "44444444");
+        joana = new UserSuggestion(UUID.randomUUID(), "Joana Souza", "98765432100", "55", "21", "33333333");
+
+        when(userRepository.streamSuggestionsByRole("G")).thenReturn(Stream.of(joao, joana));
+        guestSuggestIndex.reload();
+    }
+
+    @Test
+    @DisplayName("Testa se o prefixo do nome encontra o hospede ignorando acentos, caixa e espacos.")
+    void suggest_namePrefix_shouldIgnoreAccentsAndSpaces() {
+        assertEquals(List.of(joao), guestSuggestIndex.suggest("JOAO da silv", null));
+        assertEquals(List.of(joana, joao), guestSuggestIndex.suggest("jo", null));
+    }
+
+    @Test
+    @DisplayName("Testa se documento e telefone sao encontrados mesmo digitados com pontuacao.")
+    void suggest_documentAndPhone_shouldIgnorePunctuation() {
+        assertEquals(List.of(joao), guestSuggestIndex.suggest("123.456", null));
+        assertEquals(List.of(joana), guestSuggestIndex.suggest("(21) 3333-", null));
+    }
+
+    @Test
+    @DisplayName("Testa se consultas mais curtas que o minimo nao retornam sugestoes.")
+    void suggest_shortQuery_shouldReturnEmpty() {
+        assertTrue(guestSuggestIndex.suggest("j", null).isEmpty());
+        assertTrue(guestSuggestIndex.suggest(" ", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa se alteracoes e remocoes de hospedes sao refletidas sem recarregar o indice.")
+    void upsertAndRemove_shouldUpdateIncrementally() {
+        var renamed = new UserSuggestion(joao.userId(), "Pedro Alves", joao.document(), joao.phoneDdi(),
+                joao.phoneDdd(), joao.phone());
+
+        guestSuggestIndex.upsert(renamed);
+        guestSuggestIndex.remove(joana.userId());
+
+        assertTrue(guestSuggestIndex.suggest("jo", null).isEmpty());
+        assertEquals(List.of(renamed), guestSuggestIndex.suggest("pedro", null));
+        assertEquals(List.of(renamed), guestSuggestIndex.suggest("1234", null));
+    }
+
+    @Test
+    @DisplayName("Testa se a compactacao do overlay preserva a ordem e o limite de resultados.")
+    void upsert_beyondCompactionThreshold_shouldKeepResults() {
+        IntStream.range(0, 12).forEach(i -> guestSuggestIndex.upsert(new UserSuggestion(UUID.randomUUID(),
+                "Joaquim " + (char) ('a' + i), "5550000000" + i, "55", "11", "1000000" + i)));
+
+        var suggestions = guestSuggestIndex.suggest("joaquim", 5);
+
+        assertEquals(5, suggestions.size());
+        assertEquals("Joaquim a", suggestions.get(0).name());
+        assertEquals(List.of(joao), guestSuggestIndex.suggest("joaod", null));
+    }
+
+    @Test
+    @DisplayName("Testa se uma carga concorrente com um clear e descartada, sem repor os hospedes removidos.")
+    void reload_clearedDuringScan_shouldDiscardLoadedBase() {
+        // O clear (ex.: deleteAll) acontece enquanto o cursor ainda esta sendo lido
+        when(userRepository.streamSuggestionsByRole("G"))
+                .thenReturn(Stream.of(joao, joana).peek(suggestion -> guestSuggestIndex.clear()));
+
+        guestSuggestIndex.reload();
+
+        assertTrue(guestSuggestIndex.suggest("jo", null).isEmpty());
+        assertEquals(0, guestSuggestIndex.size());
+
+        // Com o indice liberado, escritas e uma nova carga voltam a valer
+        var pedro = new UserSuggestion(UUID.randomUUID(), "Pedro Alves", "11122233344", "55", "11", "22222222");
+        guestSuggestIndex.upsert(pedro);
+        assertEquals(List.of(pedro), guestSuggestIndex.suggest("pedro", null));
+    }
+}
@@ -0,0 +1,48 @@
+package com.desafiosenior.api_hotel.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.amqp.AmqpIOException;
+
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+
+/*
+ * Substituto do broker nos testes: guarda os eventos confirmados na ordem em que chegaram e pode simular falhas de
+ * confirmacao, sem RabbitMQ rodando.
+ */
+class InMemoryBookingEventPublisher implements BookingEventPublisher {
+    private final List<OutboxEvent> delivered = new ArrayList<>();
+    private int failuresRemaining;
+    private int publishCalls;
+
+    @Override
+    public synchronized void publishConfirmed(List<OutboxEvent> events) {
+        publishCalls++;
+
+        if (failuresRemaining > 0) {
+            failuresRemaining--;
+            throw new AmqpIOException(new IOException("confirmacao nao recebida"));
+        }
+
+        delivered.addAll(events);
+    }
+
+    synchronized void failNext(int times) {
+        failuresRemaining = times;
+    }
+
+    synchronized List<OutboxEvent> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    synchronized List<OutboxEvent> deliveredFor(UUID aggregateId) {
+        return delivered.stream().filter(event -> event.getAggregateId().equals(aggregateId)).toList();
+    }
+
+    synchronized int publishCalls() {
+        return publishCalls;
+    }
+}
@@ -0,0 +1,152 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+/*
+ * Tabela bookings em memoria para os testes de concorrencia do BookingService, ligada a um mock de BookingRepository.
+ * Cada leitura devolve uma copia (como um contexto de persistencia por transacao) e saveAndFlush grava a copia de
+ * forma atomica, validando a mesma regra da constraint bookings_room_stay_excl: reservas ativas (S, C) do mesmo quarto
+ * nao podem ter periodos [checkin, checkout) sobrepostos. A violacao sai como no banco, DataIntegrityViolationException
+ * com SQLState 23P01.
+ *
+ * Com enforceConstraint = false a tabela aceita tudo: serve para mostrar o que passa apenas pelas verificacoes do servico.
+ *
+ * Para o modo distribuido do RoomWriteLock a tabela tambem responde existsActiveOverlap e simula
+ * pg_advisory_xact_lock em lockRoom: um lock por chave, compartilhado por todas as "instancias" ligadas a ela e
+ * liberado ao final da transacao simulada.
+ */
+class InMemoryBookingStore {
+	static final String EXCLUSION_VIOLATION = "23P01";
+
+	private final Map<UUID, Booking> rows = new HashMap<>();
+	private final Map<Integer, ReentrantLock> advisoryLocks = new ConcurrentHashMap<>();
+	private final LongAdder constraintViolations = new LongAdder();
+	private final boolean enforceConstraint;
+
+	InMemoryBookingStore(boolean enforceConstraint) {
+		this.enforceConstraint = enforceConstraint;
+	}
+
+	void bind(BookingRepository bookingRepository) {
+		when(bookingRepository.saveAndFlush(any(Booking.class)))
+				.thenAnswer(invocation -> saveAndFlush(invocation.getArgument(0)));
+		when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> saveAndFlush(invocation.getArgument(0)));
+		when(bookingRepository.findByBookingId(any(UUID.class)))
+				.thenAnswer(invocation -> findByBookingId(invocation.getArgument(0)));
+		when(bookingRepository.existsActiveOverlap(any(), any(), any(), any()))
+				.thenAnswer(invocation -> existsActiveOverlap(invocation.getArgument(0), invocation.getArgument(1),
+						invocation.getArgument(2), invocation.getArgument(3)));
+		when(bookingRepository.lockRoom(anyInt(), anyInt()))
+				.thenAnswer(invocation -> lockRoom(invocation.getArgument(1)));
+	}
+
+	synchronized Booking saveAndFlush(Booking booking) {
+		if (booking.getBookingId() == null)
+			booking.generateUUID();
+
+		if (enforceConstraint && BookingStatus.isActive(booking.getStatus())) {
+			for (var row : rows.values()) {
+				if (overlaps(row, booking)) {
+					constraintViolations.increment();
+					throw new DataIntegrityViolationException(
+							"conflicting key value violates exclusion constraint \"bookings_room_stay_excl\"",
+							new SQLException("bookings_room_stay_excl", EXCLUSION_VIOLATION));
+				}
+			}
+		}
+
+		rows.put(booking.getBookingId(), copyOf(booking));
+		return booking;
+	}
+
+	synchronized boolean existsActiveOverlap(UUID roomId, LocalDateTime dateCheckin, LocalDateTime dateCheckout,
+			UUID ignoredBookingId) {
+		return rows.values().stream().anyMatch(row -> !row.getBookingId().equals(ignoredBookingId)
+				&& BookingStatus.isActive(row.getStatus()) && row.getRoom().getRoomId().equals(roomId)
+				&& before(row.getDateCheckin(), dateCheckout) && before(dateCheckin, row.getDateCheckout()));
+	}
+
+	// Como pg_advisory_xact_lock: bloqueia ate a chave ficar livre e so libera no commit ou rollback
+	Integer lockRoom(int key) {
+		var lock = advisoryLocks.computeIfAbsent(key, k -> new ReentrantLock());
+		lock.lock();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				lock.unlock();
+			}
+		});
+		return 1;
+	}
+
+	synchronized Optional<Booking> findByBookingId(UUID bookingId) {
+		return Optional.ofNullable(rows.get(bookingId)).map(InMemoryBookingStore::copyOf);
+	}
+
+	synchronized List<Booking> findAll() {
+		return rows.values().stream().map(InMemoryBookingStore::copyOf).toList();
+	}
+
+	// Pares de reservas ativas sobrepostas: deve ser vazio apos qualquer execucao
+	synchronized List<String> activeOverlaps() {
+		var active = rows.values().stream().filter(row -> BookingStatus.isActive(row.getStatus())).toList();
+		var overlaps = new ArrayList<String>();
+
+		for (int i = 0; i < active.size(); i++) {
+			for (int j = i + 1; j < active.size(); j++) {
+				if (overlaps(active.get(i), active.get(j)))
+					overlaps.add(describe(active.get(i)) + " x " + describe(active.get(j)));
+			}
+		}
+
+		return overlaps;
+	}
+
+	long constraintViolations() {
+		return constraintViolations.sum();
+	}
+
+	private static boolean overlaps(Booking row, Booking booking) {
+		return !row.getBookingId().equals(booking.getBookingId()) && BookingStatus.isActive(row.getStatus())
+				&& row.getRoom().getRoomId().equals(booking.getRoom().getRoomId())
+				&& before(row.getDateCheckin(), booking.getDateCheckout())
+				&& before(booking.getDateCheckin(), row.getDateCheckout());
+	}
+
+	// checkout nulo e um periodo em aberto
+	private static boolean before(LocalDateTime dateCheckin, LocalDateTime dateCheckout) {
+		return dateCheckout == null || dateCheckin.isBefore(dateCheckout);
+	}
+
+	private static String describe(Booking booking) {
+		return booking.getBookingId() + " [" + booking.getDateCheckin() + ", " + booking.getDateCheckout() + ")";
+	}
+
+	private static Booking copyOf(Booking booking) {
+		return new Booking(booking.getBookingId(), booking.getRoom(), booking.getPayment(), booking.getUser(),
+				booking.getDateCheckin(), booking.getDateCheckout(), booking.getDateLastChange(),
+				booking.getDateRegister(), booking.getStatus());
+	}
+}
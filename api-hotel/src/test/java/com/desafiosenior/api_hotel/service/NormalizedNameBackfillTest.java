@@ -0,0 +1,78 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.repository.UserRepository;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+class NormalizedNameBackfillTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<User> users = new ArrayList<>();
+    private NormalizedNameBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Tabela em memoria: a consulta devolve apenas usuarios ainda sem normalized_name
+        when(userRepository.findWithoutNormalizedName(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return users.stream().filter(user -> user.getNormalizedName() == null).limit(pageable.getPageSize())
+                    .toList();
+        });
+
+        backfill = new NormalizedNameBackfill(userRepository, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("Testa se o preenchimento usa o NameNormalizer, inclusive para letras que o unaccent do banco trata diferente.")
+    void backfill_shouldFillWithNameNormalizerInBatches() {
+        var names = List.of("Søren Kierkegaard", "Straße Groß", "Œdipe Rex", "Æsir Næss", "João da Silva");
+        names.forEach(name -> users.add(user(name)));
+
+        assertEquals(names.size(), backfill.backfill());
+
+        for (var user : users)
+            assertEquals(NameNormalizer.normalize(user.getName()), user.getNormalizedName());
+    }
+
+    @Test
+    @DisplayName("Testa se, com todos os nomes ja normalizados, nada e gravado.")
+    void backfill_withNothingPending_shouldNotWrite() {
+        var user = user("Maria");
+        user.setNormalizedName("maria");
+        users.add(user);
+
+        assertEquals(0, backfill.backfill());
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    private User user(String name) {
+        var user = new User();
+        user.setName(name);
+        return user;
+    }
+}
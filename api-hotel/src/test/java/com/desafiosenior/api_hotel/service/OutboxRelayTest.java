@@ -0,0 +1,107 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+import com.desafiosenior.api_hotel.repository.OutboxEventRepository;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<OutboxEvent> outbox = new ArrayList<>();
+    private final InMemoryBookingEventPublisher publisher = new InMemoryBookingEventPublisher();
+    private long nextId = 1;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Outbox em memoria: lockOldest devolve os mais antigos e deleteByIds remove os publicados
+        when(outboxEventRepository.lockOldest(anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(0);
+            return List.copyOf(outbox.subList(0, Math.min(limit, outbox.size())));
+        });
+        when(outboxEventRepository.deleteByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            outbox.removeIf(event -> ids.contains(event.getId()));
+            return ids.size();
+        });
+
+        outboxRelay = new OutboxRelay(outboxEventRepository, publisher, transactionManager, 3, 10);
+    }
+
+    @Test
+    @DisplayName("Testa se o relay esvazia o outbox em lotes, na ordem de gravacao.")
+    void relay_shouldDrainOutboxInBatchesAndOrder() {
+        var bookingId = UUID.randomUUID();
+        var first = add(bookingId, BookingEventType.CREATED);
+        var second = add(bookingId, BookingEventType.UPDATED);
+        add(UUID.randomUUID(), BookingEventType.CREATED);
+        var fourth = add(bookingId, BookingEventType.CANCELLED);
+
+        int published = outboxRelay.relay();
+
+        assertEquals(4, published);
+        assertEquals(0, outbox.size());
+        assertEquals(2, publisher.publishCalls());
+        assertEquals(List.of(first, second, fourth), publisher.deliveredFor(bookingId));
+    }
+
+    @Test
+    @DisplayName("Testa se, sem confirmacao do broker, o lote permanece no outbox e e reenviado na ordem original.")
+    void relay_whenConfirmFails_shouldKeepBatchAndRetryInOrder() {
+        var bookingId = UUID.randomUUID();
+        var created = add(bookingId, BookingEventType.CREATED);
+        var cancelled = add(bookingId, BookingEventType.CANCELLED);
+        publisher.failNext(1);
+
+        assertEquals(0, outboxRelay.relay());
+        assertEquals(2, outbox.size());
+        assertEquals(List.of(), publisher.delivered());
+
+        assertEquals(2, outboxRelay.relay());
+        assertEquals(List.of(created, cancelled), publisher.deliveredFor(bookingId));
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    @DisplayName("Testa se o relay respeita o limite de lotes por execucao.")
+    void relay_shouldStopAtMaxBatchesPerRun() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, publisher, transactionManager, 2, 1);
+        add(UUID.randomUUID(), BookingEventType.CREATED);
+        add(UUID.randomUUID(), BookingEventType.CREATED);
+        add(UUID.randomUUID(), BookingEventType.CREATED);
+
+        assertEquals(2, outboxRelay.relay());
+        assertEquals(1, outbox.size());
+    }
+
+    private OutboxEvent add(UUID bookingId, BookingEventType type) {
+        var event = new OutboxEvent(nextId++, UUID.randomUUID(), bookingId, type.getType(), "{}",
+                LocalDateTime.now());
+        outbox.add(event);
+        return event;
+    }
+}
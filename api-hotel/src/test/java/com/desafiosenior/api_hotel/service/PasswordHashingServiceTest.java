@@ -0,0 +1,101 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.desafiosenior.api_hotel.exception.ServiceUnavailableException;
+import com.desafiosenior.api_hotel.util.BCryptCostCalibrator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+
+        if (passwordHashingService != null)
+            passwordHashingService.shutdown();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Testa se o hash e delegado ao PasswordEncoder compartilhado, executando fora da thread chamadora.")
+    void encode_shouldDelegateToPasswordEncoder() {
+        release.countDown();
+        passwordHashingService = new PasswordHashingService(blockingEncoder(new CountDownLatch(1)),
+                new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(5));
+
+        assertEquals("hash-senha", passwordHashingService.encode("senha"));
+    }
+
+    @Test
+    @DisplayName("Testa se, com a thread de hash ocupada e a fila cheia, a requisicao excedente e recusada com 503.")
+    void encode_withFullQueue_shouldShedLoad() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        passwordHashingService = new PasswordHashingService(blockingEncoder(started), new SimpleMeterRegistry(), 1, 1,
+                Duration.ofSeconds(5));
+
+        // Ocupa a unica thread e depois a unica posicao da fila
+        callers.submit(() -> passwordHashingService.encode("primeira"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> passwordHashingService.encode("segunda"));
+        Thread.sleep(100);
+
+        assertThrows(ServiceUnavailableException.class, () -> passwordHashingService.encode("terceira"));
+    }
+
+    @Test
+    @DisplayName("Testa se o tempo de espera esgotado e tratado como sobrecarga (503).")
+    void encode_withSlowHash_shouldTimeOut() {
+        passwordHashingService = new PasswordHashingService(blockingEncoder(new CountDownLatch(1)),
+                new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(50));
+
+        assertThrows(ServiceUnavailableException.class, () -> passwordHashingService.encode("senha"));
+    }
+
+    @Test
+    @DisplayName("Testa se o custo calibrado respeita os limites minimo e maximo configurados.")
+    void calibrate_shouldStayWithinBounds() {
+        assertEquals(4, BCryptCostCalibrator.calibrate(Duration.ZERO, 4, 6));
+        assertEquals(6, BCryptCostCalibrator.calibrate(Duration.ofMinutes(1), 4, 6));
+    }
+}
@@ -0,0 +1,84 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.desafiosenior.api_hotel.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrincipalCacheTest {
+
+    private AtomicInteger loads;
+    private PrincipalCache principalCache;
+    private SimpleMeterRegistry meterRegistry;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        loads = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(meterRegistry, 100, Duration.ofMinutes(5));
+
+        user = new User(LocalDateTime.now());
+        user.setUserId(UUID.randomUUID());
+        user.setLogin("login");
+        user.setRole("A");
+    }
+
+    private Optional<UserDetails> load(String login) {
+        loads.incrementAndGet();
+        return Optional.of(user);
+    }
+
+    @Test
+    @DisplayName("Testa se a segunda consulta do mesmo login e atendida pelo cache e contabilizada como hit.")
+    void get_sameLogin_shouldLoadOnceAndRecordHitAndMiss() {
+        principalCache.get("login", this::load);
+        principalCache.get("login", this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", PrincipalCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", PrincipalCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Testa se invalidar o login forca uma nova consulta ao DB.")
+    void invalidate_shouldReloadPrincipal() {
+        principalCache.get("login", this::load);
+        principalCache.invalidate("login");
+        var principal = principalCache.get("login", this::load);
+
+        assertEquals(2, loads.get());
+        assertTrue(principal.isPresent());
+        assertEquals(user.getUserId(), principal.get().getUserId());
+    }
+
+    @Test
+    @DisplayName("Testa se um login inexistente nao fica registrado no cache.")
+    void get_unknownLogin_shouldNotCacheAbsence() {
+        principalCache.get("unknown", login -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        principalCache.get("unknown", login -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertEquals(2, loads.get());
+    }
+}
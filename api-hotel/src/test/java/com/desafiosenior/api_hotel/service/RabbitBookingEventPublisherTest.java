@@ -0,0 +1,71 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.desafiosenior.api_hotel.model.BookingEventType;
+import com.desafiosenior.api_hotel.model.OutboxEvent;
+
+class RabbitBookingEventPublisherTest {
+    private static final String EXCHANGE = "booking.events";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private RabbitBookingEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rabbitTemplate.invoke(any())).thenAnswer(
+                invocation -> invocation.<OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+
+        publisher = new RabbitBookingEventPublisher(rabbitTemplate, EXCHANGE, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Testa se todos os tipos de evento, inclusive checkin e checkout, vao para o exchange de reservas com o tipo como routing key.")
+    void publishConfirmed_shouldRouteEveryTypeThroughBookingExchange() {
+        var bookingId = UUID.randomUUID();
+        var events = List.of(event(1, bookingId, BookingEventType.CREATED),
+                event(2, bookingId, BookingEventType.CHECKED_IN), event(3, bookingId, BookingEventType.CHECKED_OUT));
+
+        publisher.publishConfirmed(events);
+
+        var order = inOrder(operations);
+        var message = ArgumentCaptor.forClass(Message.class);
+
+        for (var event : events)
+            order.verify(operations).send(eq(EXCHANGE), eq(event.getEventType()), message.capture());
+
+        order.verify(operations).waitForConfirmsOrDie(5000);
+        assertEquals(bookingId.toString(), message.getValue().getMessageProperties()
+                .getHeader(RabbitBookingEventPublisher.HEADER_AGGREGATE_ID));
+    }
+
+    private static OutboxEvent event(long id, UUID bookingId, BookingEventType type) {
+        return new OutboxEvent(id, UUID.randomUUID(), bookingId, type.getType(), "{}", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,104 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.desafiosenior.api_hotel.model.BookingInterval;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private UUID roomId;
+    private UUID bookingId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomAvailabilityIndex = new RoomAvailabilityIndex(bookingRepository);
+        roomId = UUID.randomUUID();
+        bookingId = UUID.randomUUID();
+        base = LocalDateTime.of(2030, 1, 10, 14, 0);
+    }
+
+    @Test
+    @DisplayName("Testa que um quarto sem reservas ativas esta disponivel para qualquer periodo.")
+    void isAvailable_withoutBookings_shouldReturnTrue() {
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base, base.plusDays(2), null));
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base, null, null));
+    }
+
+    @Test
+    @DisplayName("Testa a deteccao de sobreposicao com uma reserva de periodo fechado, aceitando checkin no horario do checkout.")
+    void isAvailable_withClosedBooking_shouldDetectOverlap() {
+        roomAvailabilityIndex.register(bookingId, roomId, base, base.plusDays(3));
+
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(1), base.plusDays(2), null));
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.minusDays(1), base.plusDays(1), null));
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.minusDays(1), null, null));
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(3), base.plusDays(4), null));
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.minusDays(2), base, null));
+    }
+
+    @Test
+    @DisplayName("Testa que uma reserva sem checkout ocupa o quarto de forma indefinida a partir do checkin.")
+    void isAvailable_withOpenEndedBooking_shouldBlockEverythingAfterCheckin() {
+        roomAvailabilityIndex.register(bookingId, roomId, base, null);
+
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.plusYears(5), base.plusYears(5).plusDays(1), null));
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.minusDays(3), base.minusDays(1), null));
+    }
+
+    @Test
+    @DisplayName("Testa que a propria reserva e ignorada na verificacao de uma atualizacao e que a remocao libera o quarto.")
+    void isAvailable_ignoringBookingAndAfterUnregister_shouldReturnTrue() {
+        roomAvailabilityIndex.register(bookingId, roomId, base, base.plusDays(3));
+
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(1), base.plusDays(5), bookingId));
+
+        roomAvailabilityIndex.unregister(bookingId);
+
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(1), base.plusDays(2), null));
+    }
+
+    @Test
+    @DisplayName("Testa a verificacao com varias reservas ordenadas, onde uma reserva longa antiga cobre o periodo desejado.")
+    void isAvailable_withManyBookings_shouldUseAccumulatedCheckout() {
+        roomAvailabilityIndex.register(UUID.randomUUID(), roomId, base, base.plusDays(30));
+        for (int day = 1; day < 10; day++) {
+            roomAvailabilityIndex.register(UUID.randomUUID(), UUID.randomUUID(), base.plusDays(day), base.plusDays(day + 1));
+        }
+        roomAvailabilityIndex.register(UUID.randomUUID(), roomId, base.plusDays(40), base.plusDays(41));
+
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(20), base.plusDays(21), null));
+        assertTrue(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(31), base.plusDays(40), null));
+    }
+
+    @Test
+    @DisplayName("Testa o carregamento do indice a partir das reservas ativas do repositorio.")
+    void reload_shouldLoadActiveBookingsFromRepository() {
+        when(bookingRepository.findIntervalsByStatusIn(any()))
+                .thenReturn(List.of(new BookingInterval(bookingId, roomId, base, base.plusDays(2))));
+
+        roomAvailabilityIndex.reload();
+
+        assertFalse(roomAvailabilityIndex.isAvailable(roomId, base.plusDays(1), null, null));
+    }
+}
@@ -0,0 +1,121 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpTemplate;
+
+import com.desafiosenior.api_hotel.model.RoomView;
+import com.desafiosenior.api_hotel.repository.RoomRepository;
+
+class RoomCatalogTest {
+
+    @Mock
+    private AmqpTemplate amqpTemplate;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private SecondLevelCacheService secondLevelCacheService;
+
+    private RoomCatalog roomCatalog;
+    private RoomView room101;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomCatalog = new RoomCatalog(roomRepository, amqpTemplate, secondLevelCacheService);
+        room101 = new RoomView(UUID.randomUUID(), 101, LocalDateTime.now(), LocalDateTime.now());
+
+        when(roomRepository.findAllViews()).thenReturn(List.of(room101));
+        roomCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("Testa se o quarto carregado e encontrado por numero e por id sem novas consultas.")
+    void find_afterReload_shouldNotQueryRepository() {
+        assertEquals(Optional.of(room101), roomCatalog.findByNumber(101));
+        assertEquals(Optional.of(room101), roomCatalog.findByRoomId(room101.roomId()));
+        assertTrue(roomCatalog.findByNumber(1001).isEmpty());
+        verify(roomRepository, never()).findViewByRoomId(room101.roomId());
+    }
+
+    @Test
+    @DisplayName("Testa se a troca de numero libera a posicao antiga e publica a invalidacao para as outras instancias.")
+    void put_renumberedRoom_shouldMoveNumberAndPublish() {
+        var renumbered = new RoomView(room101.roomId(), 102, room101.dateLastChange(), room101.dateRegister());
+
+        roomCatalog.put(renumbered);
+
+        assertTrue(roomCatalog.findByNumber(101).isEmpty());
+        assertEquals(Optional.of(renumbered), roomCatalog.findByNumber(102));
+        verify(amqpTemplate).convertAndSend(eq(RoomCatalog.INVALIDATION_EXCHANGE), eq(""), anyString());
+    }
+
+    @Test
+    @DisplayName("Testa se a invalidacao vinda de outra instancia recarrega o quarto e limpa o cache de segundo nivel, ignorando a propria mensagem.")
+    void onInvalidation_shouldReloadOnlyMessagesFromOtherNodes() {
+        var message = ArgumentCaptor.forClass(String.class);
+        roomCatalog.remove(room101.roomId());
+        verify(amqpTemplate).convertAndSend(eq(RoomCatalog.INVALIDATION_EXCHANGE), eq(""), message.capture());
+
+        roomCatalog.onInvalidation(message.getValue());
+        verify(roomRepository, never()).findViewByRoomId(room101.roomId());
+        verify(secondLevelCacheService, never()).evictRoom(room101.roomId());
+
+        when(roomRepository.findViewByRoomId(room101.roomId())).thenReturn(Optional.of(room101));
+        roomCatalog.onInvalidation("other-node|" + room101.roomId());
+        assertEquals(Optional.of(room101), roomCatalog.findByNumber(101));
+        verify(secondLevelCacheService).evictRoom(room101.roomId());
+    }
+
+    @Test
+    @DisplayName("Testa se a indisponibilidade do broker nao impede a atualizacao local do catalogo.")
+    void put_brokerUnavailable_shouldKeepLocalUpdate() {
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused"))).when(amqpTemplate)
+                .convertAndSend(eq(RoomCatalog.INVALIDATION_EXCHANGE), eq(""), anyString());
+        var room202 = new RoomView(UUID.randomUUID(), 202, LocalDateTime.now(), LocalDateTime.now());
+
+        roomCatalog.put(room202);
+
+        assertEquals(Optional.of(room202), roomCatalog.findByNumber(202));
+    }
+
+    @Test
+    @DisplayName("Testa se alteracoes locais feitas durante a leitura da recarga nao sao perdidas na troca do snapshot.")
+    void reload_withConcurrentLocalChanges_shouldReplayThem() {
+        var room202 = new RoomView(UUID.randomUUID(), 202, LocalDateTime.now(), LocalDateTime.now());
+
+        // A leitura devolve o estado anterior as alteracoes feitas enquanto ela acontecia
+        when(roomRepository.findAllViews()).thenAnswer(invocation -> {
+            roomCatalog.putLocal(room202);
+            roomCatalog.remove(room101.roomId());
+            return List.of(room101);
+        });
+
+        roomCatalog.reload();
+
+        assertEquals(Optional.of(room202), roomCatalog.findByNumber(202));
+        assertTrue(roomCatalog.findByNumber(101).isEmpty());
+        assertTrue(roomCatalog.findByRoomId(room101.roomId()).isEmpty());
+    }
+}
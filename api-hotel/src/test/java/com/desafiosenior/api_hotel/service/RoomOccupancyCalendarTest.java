@@ -0,0 +1,128 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.desafiosenior.api_hotel.exception.InvalidRequestException;
+import com.desafiosenior.api_hotel.model.BookingInterval;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.model.RoomOccupancyDto;
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+import com.desafiosenior.api_hotel.repository.RoomRepository;
+
+class RoomOccupancyCalendarTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    private RoomOccupancyCalendar roomOccupancyCalendar;
+
+    private UUID roomId101;
+    private UUID roomId102;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomOccupancyCalendar = new RoomOccupancyCalendar(bookingRepository, roomRepository);
+        roomId101 = UUID.randomUUID();
+        roomId102 = UUID.randomUUID();
+        today = LocalDate.now();
+
+        when(roomRepository.findAllRoomDtos()).thenReturn(List.of(new RoomDto(roomId101, 101), new RoomDto(roomId102, 102)));
+        when(bookingRepository.findIntervalsByStatusIn(any())).thenReturn(List.of(
+                new BookingInterval(UUID.randomUUID(), roomId101, today.plusDays(1).atTime(14, 0), today.plusDays(3).atTime(12, 0))));
+        roomOccupancyCalendar.reload();
+    }
+
+    @Test
+    @DisplayName("Testa a grade quartos x noites, marcando as noites do checkin ate a vespera do checkout.")
+    void getGrid_shouldMarkOccupiedNights() {
+        List<RoomOccupancyDto> grid = roomOccupancyCalendar.getGrid(today, today.plusDays(4));
+
+        assertEquals(2, grid.size());
+        assertEquals(101, grid.get(0).number());
+        assertEquals("01100", grid.get(0).occupancy());
+        assertEquals(2, grid.get(0).occupiedNights());
+        assertEquals("00000", grid.get(1).occupancy());
+    }
+
+    @Test
+    @DisplayName("Testa que uma reserva sem checkout ocupa todas as noites ate o fim do horizonte e que o cancelamento libera as noites.")
+    void registerAndUnregister_withOpenEndedBooking_shouldUpdateGrid() {
+        UUID bookingId = UUID.randomUUID();
+        roomOccupancyCalendar.register(bookingId, roomId102, today.plusDays(2).atTime(10, 0), null);
+
+        assertEquals("00111", roomOccupancyCalendar.getGrid(today, today.plusDays(4)).get(1).occupancy());
+
+        roomOccupancyCalendar.unregister(bookingId);
+
+        assertEquals("00000", roomOccupancyCalendar.getGrid(today, today.plusDays(4)).get(1).occupancy());
+    }
+
+    @Test
+    @DisplayName("Testa que a grade fica em cache enquanto nao ha escritas e e recalculada apos uma alteracao.")
+    void getGrid_shouldBeCachedUntilNextWrite() {
+        List<RoomOccupancyDto> first = roomOccupancyCalendar.getGrid(today, today.plusDays(4));
+
+        assertSame(first, roomOccupancyCalendar.getGrid(today, today.plusDays(4)));
+
+        roomOccupancyCalendar.putRoom(UUID.randomUUID(), 103);
+
+        assertEquals(3, roomOccupancyCalendar.getGrid(today, today.plusDays(4)).size());
+    }
+
+    @Test
+    @DisplayName("Testa que a leitura da grade nao espera por uma escrita em andamento quando o horizonte ja e o de hoje.")
+    void getGrid_whileWriterHoldsMonitor_shouldNotBlock() throws Exception {
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var writer = new Thread(() -> {
+            synchronized (roomOccupancyCalendar) {
+                locked.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        writer.start();
+        locked.await();
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertEquals("01100", roomOccupancyCalendar.getGrid(today, today.plusDays(4)).get(0).occupancy()));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Testa a consulta de um periodo fora do horizonte do calendario, deve retornar InvalidRequestException.")
+    void getGrid_outsideHorizon_shouldThrowInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> roomOccupancyCalendar.getGrid(today.minusDays(1), today));
+        assertThrows(InvalidRequestException.class, () -> roomOccupancyCalendar.getGrid(today, today.plusYears(2)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.desafiosenior.api_hotel.exception.InvalidRequestException;
+import com.desafiosenior.api_hotel.model.BookingStatus;
+import com.desafiosenior.api_hotel.model.RoomDto;
+import com.desafiosenior.api_hotel.repository.RoomRepository;
+
+public class RoomServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RoomOccupancyCalendar roomOccupancyCalendar;
+
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @InjectMocks
+    private RoomService roomService;
+
+    private LocalDateTime from;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        from = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    @DisplayName("Testa se a busca de quartos livres consulta o repositorio apenas com os status ativos.")
+    void testFindAvailable() {
+        var to = from.plusDays(2);
+        var rooms = List.of(new RoomDto(UUID.randomUUID(), 101));
+        when(roomRepository.findAvailableRooms(from, to, BookingStatus.ACTIVE_STATUSES)).thenReturn(rooms);
+
+        assertEquals(rooms, roomService.findAvailable(from, to));
+    }
+
+    @Test
+    @DisplayName("Testa se a busca de quartos livres rejeita um periodo com a data final anterior a inicial.")
+    void testFindAvailable_ToBeforeFrom() {
+        assertThrows(InvalidRequestException.class, () -> roomService.findAvailable(from, from.minusHours(1)));
+
+        verify(roomRepository, never()).findAvailableRooms(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa se a busca de quartos livres rejeita um periodo vazio (data final igual a inicial).")
+    void testFindAvailable_ToEqualsFrom() {
+        assertThrows(InvalidRequestException.class, () -> roomService.findAvailable(from, from));
+
+        verify(roomRepository, never()).findAvailableRooms(any(), any(), any());
+    }
+}
@@ -0,0 +1,150 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.desafiosenior.api_hotel.repository.BookingRepository;
+
+class RoomWriteLockTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private AutoCloseable mocks;
+    private RoomWriteLock roomWriteLock;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        roomWriteLock = new RoomWriteLock(bookingRepository, 64, true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        mocks.close();
+    }
+
+    @Test
+    @DisplayName("Testa se o numero de listras e arredondado para potencia de 2.")
+    void constructor_shouldRoundStripesToPowerOfTwo() {
+        assertEquals(64, roomWriteLock.stripeCount());
+        assertEquals(128, new RoomWriteLock(bookingRepository, 100, false).stripeCount());
+        assertEquals(1, new RoomWriteLock(bookingRepository, 0, false).stripeCount());
+    }
+
+    @Test
+    @DisplayName("Testa se sem transacao o lock e liberado ao final da acao e o advisory lock nao e tomado.")
+    void executeLocked_withoutTransaction_shouldReleaseImmediately() {
+        var roomId = UUID.randomUUID();
+
+        var result = roomWriteLock.executeLocked(roomId, () -> roomWriteLock.stripeOf(roomId).isHeldByCurrentThread());
+
+        assertTrue(result);
+        assertFalse(roomWriteLock.stripeOf(roomId).isLocked());
+        verify(bookingRepository, never()).lockRoom(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Testa se em transacao o advisory lock do quarto e tomado e o lock local so e liberado ao final dela.")
+    void executeLocked_inTransaction_shouldHoldLockUntilCompletion() {
+        var roomId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        roomWriteLock.executeLocked(roomId, () -> null);
+
+        assertTrue(roomWriteLock.stripeOf(roomId).isHeldByCurrentThread());
+        verify(bookingRepository).lockRoom(RoomWriteLock.ADVISORY_LOCK_NAMESPACE, roomId.hashCode());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(roomWriteLock.stripeOf(roomId).isLocked());
+    }
+
+    @Test
+    @DisplayName("Testa se o lock e liberado quando a acao lanca excecao.")
+    void executeLocked_actionThrows_shouldReleaseLock() {
+        var roomId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> roomWriteLock.executeLocked(roomId, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        assertFalse(roomWriteLock.stripeOf(roomId).isLocked());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa se gravacoes do mesmo quarto esperam e as de quartos em outras listras seguem em paralelo.")
+    void executeLocked_sameRoomWaits_otherRoomProceeds() throws Exception {
+        var roomId = UUID.randomUUID();
+        var otherRoomId = roomInAnotherStripe(roomId);
+        var executor = Executors.newFixedThreadPool(2);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try {
+            executor.submit(() -> roomWriteLock.executeLocked(roomId, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            var otherRoom = executor.submit(() -> roomWriteLock.executeLocked(otherRoomId, () -> "ok"));
+            assertEquals("ok", otherRoom.get(5, TimeUnit.SECONDS));
+
+            var sameRoom = executor.submit(() -> roomWriteLock.executeLocked(roomId, () -> "ok"));
+            Thread.sleep(100);
+            assertFalse(sameRoom.isDone());
+
+            release.countDown();
+            assertEquals("ok", sameRoom.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private UUID roomInAnotherStripe(UUID roomId) {
+        var otherRoomId = UUID.randomUUID();
+
+        while (roomWriteLock.stripeOf(otherRoomId) == roomWriteLock.stripeOf(roomId))
+            otherRoomId = UUID.randomUUID();
+
+        return otherRoomId;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
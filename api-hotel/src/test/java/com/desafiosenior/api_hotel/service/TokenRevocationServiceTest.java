@@ -0,0 +1,96 @@
+package com.desafiosenior.api_hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.AmqpTemplate;
+
+import com.desafiosenior.api_hotel.model.RevokedToken;
+import com.desafiosenior.api_hotel.repository.RevokedTokenRepository;
+
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private AmqpTemplate amqpTemplate;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, amqpTemplate, 100);
+    }
+
+    @Test
+    @DisplayName("Testa se um jti revogado e reconhecido e persistido, sem afetar outros jtis.")
+    void revoke_shouldMarkOnlyThatJti() {
+        var jti = UUID.randomUUID().toString();
+        var expiresAt = Instant.now().plus(3, ChronoUnit.HOURS);
+
+        tokenRevocationService.revoke(jti, expiresAt);
+
+        assertTrue(tokenRevocationService.isRevoked(jti, expiresAt));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID().toString(), expiresAt));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Testa se um token ja expirado nao e persistido, pois a propria expiracao ja o invalida.")
+    void revoke_expiredToken_shouldBeIgnored() {
+        tokenRevocationService.revoke(UUID.randomUUID().toString(), Instant.now().minusSeconds(1));
+
+        verify(revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Testa se o filtro e reconstruido a partir da tabela revoked_tokens apos um restart.")
+    void reload_shouldRestoreRevokedTokens() {
+        var jti = UUID.randomUUID().toString();
+        var expiresAt = LocalDateTime.now().plusHours(2).withNano(0);
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(new RevokedToken(jti, expiresAt)));
+
+        tokenRevocationService.reload();
+
+        assertTrue(tokenRevocationService.isRevoked(jti, expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    @Test
+    @DisplayName("Testa se uma revogacao feita em outra instancia, recebida pelo exchange fanout, passa a valer nesta.")
+    void onRevocation_fromAnotherNode_shouldMarkJti() {
+        var otherNode = new TokenRevocationService(revokedTokenRepository, amqpTemplate, 100);
+        var jti = UUID.randomUUID().toString();
+        var expiresAt = Instant.now().plus(3, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+        otherNode.revoke(jti, expiresAt);
+
+        var message = ArgumentCaptor.forClass(String.class);
+        verify(amqpTemplate).convertAndSend(eq(TokenRevocationService.REVOCATION_EXCHANGE), eq(""), message.capture());
+        assertFalse(tokenRevocationService.isRevoked(jti, expiresAt));
+
+        tokenRevocationService.onRevocation(message.getValue());
+
+        assertTrue(tokenRevocationService.isRevoked(jti, expiresAt));
+    }
+}
@@ -11,24 +11,27 @@ import java.time.ZoneOffset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.amqp.core.AmqpTemplate;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.desafiosenior.api_hotel.model.User;
+import com.desafiosenior.api_hotel.repository.RevokedTokenRepository;
 
 class TokenServiceTest {
 
-    @InjectMocks
     private TokenService tokenService;
+
+    private TokenRevocationService tokenRevocationService;
     
     @BeforeEach
     void setUp() {
-        tokenService = new TokenService();
-        ReflectionTestUtils.setField(tokenService, "secret", "mySecretKey");
+        tokenRevocationService = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class),
+                Mockito.mock(AmqpTemplate.class), 100);
+        tokenService = new TokenService("mySecretKey", "k2", "k1:oldSecretKey", tokenRevocationService);
     }
 
     @Test
@@ -72,6 +75,60 @@ class TokenServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Testa se o token gerado carrega o kid da chave atual no header.")
+    void generateToken_shouldSetCurrentKeyId() {
+        User user = new User();
+        user.setLogin("testUser");
+
+        String token = tokenService.generateToken(user);
+
+        assertEquals("k2", JWT.decode(token).getKeyId());
+    }
+
+    @Test
+    @DisplayName("Testa a validacao de um token assinado com uma chave aposentada, ainda aceita durante a rotacao.")
+    void validateToken_withRetiredKey_shouldReturnValidSubject() {
+        String token = JWT.create().withKeyId("k1").withIssuer("auth-api").withSubject("testUser")
+                .sign(Algorithm.HMAC256("oldSecretKey"));
+
+        assertEquals("testUser", tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Testa a validacao de um token sem kid, emitido antes da rotacao com o segredo atual.")
+    void validateToken_withoutKeyId_shouldUseCurrentKey() {
+        String token = JWT.create().withIssuer("auth-api").withSubject("testUser").sign(Algorithm.HMAC256("mySecretKey"));
+
+        assertEquals("testUser", tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Testa a validacao de um token com kid desconhecido ou assinado com outro segredo, deve retornar um exception.")
+    void validateToken_withUnknownKeyIdOrWrongSecret_shouldThrowException() {
+        String unknownKid = JWT.create().withKeyId("k9").withIssuer("auth-api").withSubject("testUser")
+                .sign(Algorithm.HMAC256("mySecretKey"));
+        String wrongSecret = JWT.create().withKeyId("k1").withIssuer("auth-api").withSubject("testUser")
+                .sign(Algorithm.HMAC256("mySecretKey"));
+
+        assertThrows(JWTVerificationException.class, () -> tokenService.validateToken(unknownKid));
+        assertThrows(JWTVerificationException.class, () -> tokenService.validateToken(wrongSecret));
+    }
+
+    @Test
+    @DisplayName("Testa se um token revogado no logout deixa de ser aceito, sem afetar outros tokens do mesmo usuario.")
+    void validateToken_afterRevokeToken_shouldThrowException() {
+        User user = new User();
+        user.setLogin("testUser");
+
+        String revokedToken = tokenService.generateToken(user);
+        String otherToken = tokenService.generateToken(user);
+        tokenService.revokeToken(revokedToken);
+
+        assertThrows(JWTVerificationException.class, () -> tokenService.validateToken(revokedToken));
+        assertEquals("testUser", tokenService.validateToken(otherToken));
+    }
+
     @Test
     @DisplayName("Testa a recuperacao de uma data de expiracao de um token valido, deve retornar 3 horas de validade.")
     void genExpirationDate_shouldReturnCorrectExpirationTime() {
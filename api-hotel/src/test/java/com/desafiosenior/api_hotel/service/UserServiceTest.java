@@ -7,10 +7,14 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,15 +26,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.desafiosenior.api_hotel.model.Booking;
+import com.desafiosenior.api_hotel.model.GuestBookingView;
 import com.desafiosenior.api_hotel.model.User;
 import com.desafiosenior.api_hotel.model.UserDto;
 import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
 import com.desafiosenior.api_hotel.repository.UserRepository;
 import com.desafiosenior.api_hotel.util.AttributeChecker;
+import com.desafiosenior.api_hotel.util.NameNormalizer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class UserServiceTest {
 
@@ -40,6 +49,24 @@ public class UserServiceTest {
     @Mock
     private AttributeChecker attributeChecker;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RoomOccupancyCalendar roomOccupancyCalendar;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private GuestSuggestIndex guestSuggestIndex;
+
+    @Spy
+    private GuestSearchCache guestSearchCache = new GuestSearchCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(15));
+
     @InjectMocks
     private UserService userService;
 
@@ -81,6 +108,12 @@ public class UserServiceTest {
         user.setBookings(List.of(booking));
     }
     
+    private GuestBookingView toGuestBookingView(User user, Booking booking) {
+        return new GuestBookingView(user.getUserId(), user.getName(), user.getDocument(), user.getPhoneDdi(),
+                user.getPhoneDdd(), user.getPhone(), UUID.randomUUID(), UUID.randomUUID(), 101, booking.getDateCheckin(),
+                booking.getDateCheckout(), booking.getStatus());
+    }
+
     private void setUser() {
     	userId = UUID.randomUUID();
         user = new User();
@@ -267,43 +300,88 @@ public class UserServiceTest {
     void testFindByGuestStayingAtHotel_Success() {
     	setGuest(true);
     	userHostedDtoWithOnlyDocument = new UserFinderStandardParamsDto("12345678901234", null, null, null, null);
-    	when(userService.getUsersByAttributeChecker(userHostedDtoWithOnlyDocument, "G")).thenReturn(List.of(Optional.of(user)));
+    	when(userRepository.findHostedGuestsByDocument(eq("12345678901234"), eq("G"), eq("C"), any(LocalDateTime.class)))
+    			.thenReturn(List.of(toGuestBookingView(user, booking)));
 
-        List<Optional<User>> result = userService.findByGuestStayingAtHotel(userHostedDtoWithOnlyDocument, "G");
+        List<GuestBookingView> result = userService.findByGuestStayingAtHotel(userHostedDtoWithOnlyDocument, "G");
 
-        assertTrue(result.get(0).isPresent());
-        assertTrue(isTheDateToCheckIsBeforeToday(result.get(0).get().getBookings().get(0).getDateCheckin()));
-        assertNull(result.get(0).get().getBookings().get(0).getDateCheckout(), "O atributo dateCheckout deve ser NULL pois o hospede ainda esta no hotel.");
-        assertEquals("G", result.get(0).get().getRole());
+        assertEquals(1, result.size());
+        assertEquals(userId, result.get(0).userId());
+        assertTrue(isTheDateToCheckIsBeforeToday(result.get(0).dateCheckin()));
+        assertNull(result.get(0).dateCheckout(), "O atributo dateCheckout deve ser NULL pois o hospede ainda esta no hotel.");
+        verify(userRepository, never()).findByDocumentAndRole(anyString(), anyString());
     }
     
+    @Test
+    @DisplayName("Testa se buscas repetidas pelo mesmo hospede hospedado sao atendidas pelo cache sem nova consulta.")
+    void testFindByGuestStayingAtHotel_RepeatedSearch_ShouldQueryOnce() {
+    	setGuest(true);
+    	userHostedDtoWithOnlyDocument = new UserFinderStandardParamsDto("12345678901234", null, null, null, null);
+    	when(userRepository.findHostedGuestsByDocument(eq("12345678901234"), eq("G"), eq("C"), any(LocalDateTime.class)))
+    			.thenReturn(List.of(toGuestBookingView(user, booking)));
+
+        userService.findByGuestStayingAtHotel(userHostedDtoWithOnlyDocument, "G");
+        List<GuestBookingView> result = userService.findByGuestStayingAtHotel(userHostedDtoWithOnlyDocument, "G");
+
+        assertEquals(1, result.size());
+        verify(userRepository, times(1)).findHostedGuestsByDocument(eq("12345678901234"), eq("G"), eq("C"),
+                any(LocalDateTime.class));
+    }
+
     @Test
     @DisplayName("Deve procurar por um hospede por documento e o nao encontra hospede pois ele nao esta mais hospedado no hotel.")
     void testFindByGuestStayingAtHotel_NotFoundout() {
-    	setGuest(false);
     	userUnhostedDtoWithOnlyDocument = new UserFinderStandardParamsDto("12345678901234", null, null, null, null);
-        when(userService.getUsersByAttributeChecker(userUnhostedDtoWithOnlyDocument, "G")).thenReturn(List.of(Optional.of(user)));
+        when(userRepository.findHostedGuestsByDocument(eq("12345678901234"), eq("G"), eq("C"), any(LocalDateTime.class)))
+        		.thenReturn(List.of());
 
-        List<Optional<User>> result = userService.findByGuestStayingAtHotel(userUnhostedDtoWithOnlyDocument, "G");
+        List<GuestBookingView> result = userService.findByGuestStayingAtHotel(userUnhostedDtoWithOnlyDocument, "G");
 
-        assertFalse(result.get(0).isPresent());
-        assertTrue(isTheDateToCheckIsBeforeToday(user.getBookings().get(0).getDateCheckin()));
-        assertTrue(isTheDateToCheckIsBeforeToday(user.getBookings().get(0).getDateCheckout()));
+        assertTrue(result.isEmpty());
+        // O filtro de hospedagem e feito no SQL, com o status C e o momento da consulta como parametros
+        verify(userRepository).findHostedGuestsByDocument(eq("12345678901234"), eq("G"), eq("C"),
+                argThat(now -> !now.isAfter(LocalDateTime.now())));
+        verify(userRepository, never()).findByDocumentAndRole(anyString(), anyString());
     }
 
     @Test
     @DisplayName("Testa o salvamento de um novo usuario e verifica se os valores foram corretamente copiados.")
     void testSave() {
         when(userRepository.save(any(User.class))).thenReturn(user);
+        when(passwordHashingService.encode(userDto.password())).thenReturn("hash");
 
         User savedUser = userService.save(userDto);
 
         assertNotNull(savedUser);
         assertEquals(user.getUserId(), savedUser.getUserId());
         assertEquals(user.getDocument(), savedUser.getDocument());
+        verify(passwordHashingService).encode(userDto.password());
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Testa se o nome normalizado e gravado no salvamento do usuario.")
+    void testSave_ShouldFillNormalizedName() {
+        when(passwordHashingService.encode(userDto.password())).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User savedUser = userService.save(userDto);
+
+        assertEquals(NameNormalizer.normalize(userDto.name()), savedUser.getNormalizedName());
+    }
+
+    @Test
+    @DisplayName("Testa se a busca de hospedados por nome usa o prefixo normalizado, sem acentos e sem espacos.")
+    void testFindByGuestStayingAtHotel_ByName_ShouldSearchNormalizedPrefix() {
+        var userHostedDtoWithOnlyName = new UserFinderStandardParamsDto(null, "João Silv", null, null, null);
+        when(userRepository.findHostedGuestsByName(eq("joaosilv%"), eq("G"), eq("C"), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        userService.findByGuestStayingAtHotel(userHostedDtoWithOnlyName, "G");
+
+        verify(userRepository).findHostedGuestsByName(eq("joaosilv%"), eq("G"), eq("C"), any(LocalDateTime.class));
+    }
+
     @Test
     @DisplayName("Testa a atualizacao de um usuario existente.")
     void testUpdate_existingUser() {
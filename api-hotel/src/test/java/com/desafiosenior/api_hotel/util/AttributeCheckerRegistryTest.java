@@ -0,0 +1,40 @@
+package com.desafiosenior.api_hotel.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.desafiosenior.api_hotel.model.UserFinderStandardParamsDto;
+
+class AttributeCheckerRegistryTest {
+
+    private final AttributeChecker checker = new AttributeChecker();
+
+    @Test
+    @DisplayName("Testa se o accessor gerado de um record respeita a ordem dos atributos e ignora valores vazios.")
+    void getFirstAttributePresent_record_shouldSkipBlankValues() {
+        var dto = new UserFinderStandardParamsDto(" ", "User Name", null, null, null);
+
+        assertEquals("NAME", checker.getFirstAttributePresent(dto, "document", "name"));
+        assertEquals("NAME", checker.getFirstAttributePresent(dto, "document", "name"));
+    }
+
+    @Test
+    @DisplayName("Testa se o getter gerado de uma classe e reutilizado entre instancias diferentes.")
+    void getFirstAttributePresent_class_shouldReuseAccessorAcrossInstances() {
+        assertEquals("DOCUMENT", checker.getFirstAttributePresent(new TestClassData("333333333", null, null, null, null),
+                "document", "name"));
+        assertEquals("NAME", checker.getFirstAttributePresent(new TestClassData(null, "User Name", null, null, null),
+                "document", "name"));
+    }
+
+    @Test
+    @DisplayName("Testa se atributos inexistentes, enums e objetos nulos retornam null sem exception.")
+    void getFirstAttributePresent_unsupported_shouldReturnNull() {
+        assertNull(checker.getFirstAttributePresent(new TestClassData("333333333", null, null, null, null), "unknown"));
+        assertNull(checker.getFirstAttributePresent(TestEnumData.AVALUE, "value"));
+        assertNull(checker.getFirstAttributePresent(null, "document"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.desafiosenior.api_hotel.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameNormalizerTest {
+
+    @Test
+    @DisplayName("Testa se acentos, caixa e espacos sao removidos do nome.")
+    void normalize_shouldFoldAccentsCaseAndSpaces() {
+        assertEquals("joaodasilva", NameNormalizer.normalize("  João da  SILVA "));
+        assertEquals("joaodasilva", NameNormalizer.normalize("Joao da Silva"));
+        assertEquals("conceicao", NameNormalizer.normalize("Conceição"));
+        assertNull(NameNormalizer.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Testa se o padrao de prefixo termina em % e escapa os curingas digitados no nome.")
+    void toPrefixPattern_shouldEscapeWildcards() {
+        assertEquals("joaosilv%", NameNormalizer.toPrefixPattern("joão silv"));
+        assertEquals("a\\%b\\_c\\\\%", NameNormalizer.toPrefixPattern("a%b_c\\"));
+    }
+}
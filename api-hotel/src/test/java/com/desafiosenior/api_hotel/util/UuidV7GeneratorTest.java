@@ -0,0 +1,96 @@
+package com.desafiosenior.api_hotel.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Testa se o id gerado tem versao 7, variante RFC e o timestamp do relogio.")
+    void next_shouldSetVersionVariantAndTimestamp() {
+        var generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        UUID id = generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1_700_000_000_000L, UuidV7Generator.timestampOf(id));
+    }
+
+    @Test
+    @DisplayName("Testa se os ids gerados no mesmo milissegundo sao crescentes, inclusive apos estourar o contador.")
+    void next_sameMillisecond_shouldBeMonotonic() {
+        var generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+        UUID previous = generator.next();
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.next();
+            assertTrue(previous.compareTo(current) < 0, "id fora de ordem na iteracao " + i);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Testa se os ids continuam crescentes quando o relogio volta.")
+    void next_clockGoingBackwards_shouldKeepOrder() {
+        var clock = new AtomicLong(1_700_000_000_500L);
+        var generator = new UuidV7Generator(clock::get);
+        UUID before = generator.next();
+
+        clock.set(1_700_000_000_000L);
+        UUID after = generator.next();
+
+        assertTrue(before.compareTo(after) < 0);
+        assertEquals(1_700_000_000_500L, UuidV7Generator.timestampOf(after));
+    }
+
+    @Test
+    @DisplayName("Testa se varias threads geram ids unicos e crescentes por thread.")
+    void next_concurrentThreads_shouldGenerateUniqueIds() throws Exception {
+        var generator = new UuidV7Generator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        int threads = 4;
+        int idsPerThread = 20_000;
+
+        var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    UUID previous = null;
+                    boolean ordered = true;
+
+                    for (int i = 0; i < idsPerThread; i++) {
+                        UUID current = generator.next();
+                        ordered &= previous == null || previous.compareTo(current) < 0;
+                        ids.add(current);
+                        previous = current;
+                    }
+
+                    return ordered;
+                }));
+            }
+
+            for (var result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+}